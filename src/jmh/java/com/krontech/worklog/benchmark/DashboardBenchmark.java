@@ -0,0 +1,157 @@
+package com.krontech.worklog.benchmark;
+
+import com.krontech.worklog.WorklogApplication;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.dto.response.DashboardResponse;
+import com.krontech.worklog.dto.response.QuickStatsResponse;
+import com.krontech.worklog.dto.response.WorklogResponse;
+import com.krontech.worklog.service.DashboardService;
+import com.krontech.worklog.service.WorklogService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dashboard read paths per role, quick stats and worklog creation against an embedded PostgreSQL
+ * seeded with a synthetic organization. Run with -prof gc to get allocation rates next to throughput.
+ * The dashboard cache is off by default so every call measures the real assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardBenchmark {
+
+    @Param("4")
+    public int departments;
+
+    @Param("4")
+    public int teamLeadsPerDepartment;
+
+    @Param("8")
+    public int membersPerTeam;
+
+    @Param("6")
+    public int months;
+
+    @Param("30")
+    public int dashboardDays;
+
+    @Param("false")
+    public boolean dashboardCache;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private WorklogService worklogService;
+    private SyntheticOrganization organization;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        context = new SpringApplicationBuilder(WorklogApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.com.krontech.worklog=WARN",
+                        "worklog.dashboard-cache.max-size=" + (dashboardCache ? 1000 : 0)
+                )
+                .run();
+
+        dashboardService = context.getBean(DashboardService.class);
+        worklogService = context.getBean(WorklogService.class);
+        organization = SyntheticOrganization.generate(context, new SyntheticOrganization.Settings(
+                departments, teamLeadsPerDepartment, membersPerTeam, months, 42L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public DashboardResponse dashboardEmployee() {
+        return dashboardService.getDashboard(next(organization.memberIds()), dashboardFilters());
+    }
+
+    @Benchmark
+    public DashboardResponse dashboardTeamLead() {
+        return dashboardService.getDashboard(next(organization.teamLeadIds()), dashboardFilters());
+    }
+
+    @Benchmark
+    public DashboardResponse dashboardDirector() {
+        return dashboardService.getDashboard(next(organization.directorIds()), dashboardFilters());
+    }
+
+    @Benchmark
+    public QuickStatsResponse quickStatsEmployee() {
+        return dashboardService.getQuickStats(next(organization.memberIds()));
+    }
+
+    @Benchmark
+    public QuickStatsResponse quickStatsTeamLead() {
+        return dashboardService.getQuickStats(next(organization.teamLeadIds()));
+    }
+
+    @Benchmark
+    public QuickStatsResponse quickStatsDirector() {
+        return dashboardService.getQuickStats(next(organization.directorIds()));
+    }
+
+    // Closed weeks take no new worklogs, so each call logs on the latest Saturday (never seeded) and removes
+    // the entry again - the day stays empty and daily limits never trip
+    @Benchmark
+    public WorklogResponse createWorklog() {
+        int sequence = cursor.getAndIncrement();
+        List<Integer> members = organization.memberIds();
+        List<Integer> types = organization.worklogTypeIds();
+        Integer employeeId = members.get(sequence % members.size());
+
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorklogTypeId(types.get(sequence % types.size()));
+        request.setWorkDate(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SATURDAY)));
+        request.setHoursWorked(1 + sequence % 8);
+        request.setDescription("Benchmark entry " + sequence);
+        request.setProjectName("Benchmark");
+
+        WorklogResponse created = worklogService.createWorklog(employeeId, request);
+        worklogService.deleteWorklog(created.getId(), employeeId);
+        return created;
+    }
+
+    private DashboardFilterRequest dashboardFilters() {
+        DashboardFilterRequest filters = new DashboardFilterRequest();
+        filters.setEndDate(LocalDate.now());
+        filters.setStartDate(LocalDate.now().minusDays(dashboardDays - 1));
+        return filters;
+    }
+
+    private Integer next(List<Integer> ids) {
+        return ids.get(Math.floorMod(cursor.getAndIncrement(), ids.size()));
+    }
+}
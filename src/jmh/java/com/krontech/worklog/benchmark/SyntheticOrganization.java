@@ -0,0 +1,216 @@
+package com.krontech.worklog.benchmark;
+
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.cache.SealedWeekStore;
+import com.krontech.worklog.entity.Department;
+import com.krontech.worklog.entity.Employee;
+import com.krontech.worklog.entity.Grade;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.entity.WorklogType;
+import com.krontech.worklog.repository.DepartmentRepository;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.repository.GradeRepository;
+import com.krontech.worklog.repository.WorklogTypeRepository;
+import com.krontech.worklog.service.WorklogPartitionService;
+import com.krontech.worklog.service.WorklogRollupService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a deterministic organization: departments with a director, team leads and their members,
+ * plus months of worklogs for every employee on every weekday, then rebuilds the daily rollups
+ * and reloads the in-memory reference data.
+ * Small reference rows go through the repositories, worklogs through JDBC batches.
+ */
+public final class SyntheticOrganization {
+
+    private static final String[] WORKLOG_TYPES = {"Development", "Code Review", "Meetings", "Testing", "Support"};
+    private static final String[] PROJECTS = {"Atlas", "Beacon", "Comet", "Delta", null};
+    private static final int BATCH_SIZE = 1000;
+
+    private final List<Integer> directorIds = new ArrayList<>();
+    private final List<Integer> teamLeadIds = new ArrayList<>();
+    private final List<Integer> memberIds = new ArrayList<>();
+    private final List<Integer> worklogTypeIds = new ArrayList<>();
+    private LocalDate firstWorklogDate;
+    private long worklogCount;
+
+    public record Settings(int departments, int teamLeadsPerDepartment, int membersPerTeam, int months, long seed) {
+    }
+
+    private SyntheticOrganization() {
+    }
+
+    public static SyntheticOrganization generate(ApplicationContext context, Settings settings) {
+        SyntheticOrganization organization = new SyntheticOrganization();
+        organization.seed(context, settings);
+        return organization;
+    }
+
+    public List<Integer> directorIds() {
+        return directorIds;
+    }
+
+    public List<Integer> teamLeadIds() {
+        return teamLeadIds;
+    }
+
+    public List<Integer> memberIds() {
+        return memberIds;
+    }
+
+    public List<Integer> worklogTypeIds() {
+        return worklogTypeIds;
+    }
+
+    // Seeded worklogs start here; earlier dates are free for write benchmarks
+    public LocalDate firstWorklogDate() {
+        return firstWorklogDate;
+    }
+
+    public long worklogCount() {
+        return worklogCount;
+    }
+
+    private void seed(ApplicationContext context, Settings settings) {
+        GradeRepository gradeRepository = context.getBean(GradeRepository.class);
+        WorklogTypeRepository worklogTypeRepository = context.getBean(WorklogTypeRepository.class);
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        String password = context.getBean(PasswordEncoder.class).encode("benchmark");
+
+        List<Grade> grades = new ArrayList<>();
+        for (int level = 1; level <= 5; level++) {
+            Grade grade = new Grade();
+            grade.setGradeLevel(level);
+            grade.setTitle("Grade " + level);
+            grades.add(gradeRepository.save(grade));
+        }
+
+        for (int i = 0; i < WORKLOG_TYPES.length; i++) {
+            WorklogType type = new WorklogType();
+            type.setName(WORKLOG_TYPES[i]);
+            type.setCode("TYPE_" + i);
+            type.setIsActive(true);
+            worklogTypeIds.add(worklogTypeRepository.save(type).getId());
+        }
+
+        LocalDate startDate = LocalDate.now().minusYears(20);
+        int sequence = 0;
+
+        for (int d = 0; d < settings.departments(); d++) {
+            Department department = departmentRepository.save(Department.builder()
+                    .name("Department " + d)
+                    .code("DEPT_" + d)
+                    .employees(new ArrayList<>())
+                    .build());
+
+            Employee director = employeeRepository.save(employee(++sequence, "Director", Role.DIRECTOR,
+                    grades.get(4), department, null, startDate, password));
+            department.setDirector(director);
+            departmentRepository.save(department);
+            directorIds.add(director.getId());
+
+            for (int t = 0; t < settings.teamLeadsPerDepartment(); t++) {
+                Employee teamLead = employeeRepository.save(employee(++sequence, "Lead", Role.TEAM_LEAD,
+                        grades.get(3), department, null, startDate, password));
+                teamLeadIds.add(teamLead.getId());
+
+                for (int m = 0; m < settings.membersPerTeam(); m++) {
+                    Employee member = employeeRepository.save(employee(++sequence, "Member", Role.EMPLOYEE,
+                            grades.get(m % 3), department, teamLead, startDate, password));
+                    memberIds.add(member.getId());
+                }
+            }
+        }
+
+        firstWorklogDate = LocalDate.now().minusMonths(settings.months());
+        seedWorklogs(context.getBean(JdbcTemplate.class), new Random(settings.seed()));
+        context.getBean(WorklogPartitionService.class).maintain();
+
+        context.getBean(WorklogRollupService.class).rebuild();
+        context.getBean(SealedWeekStore.class).rebuild();
+        context.getBean(DailyComplianceTracker.class).reconcile();
+        context.getBean(ReferenceDataCache.class).refresh();
+    }
+
+    // One to three entries per employee and weekday, never more than 8 hours a day.
+    // Ids come straight from the pooled worklog sequence - sparse, but never in a block Hibernate hands out
+    private void seedWorklogs(JdbcTemplate jdbcTemplate, Random random) {
+        List<Integer> employees = new ArrayList<>(directorIds);
+        employees.addAll(teamLeadIds);
+        employees.addAll(memberIds);
+
+        String sql = """
+                INSERT INTO worklogs (id, employee_id, worklog_type_id, work_date, hours_worked,
+                                      description, project_name, created_at, updated_at)
+                VALUES (nextval('worklogs_seq'), ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (LocalDate date = firstWorklogDate; !date.isAfter(LocalDate.now()); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (Integer employeeId : employees) {
+                int remaining = 8;
+                int entries = 1 + random.nextInt(3);
+                for (int e = 0; e < entries && remaining > 0; e++) {
+                    int hours = e == entries - 1 ? remaining : 1 + random.nextInt(remaining);
+                    remaining -= hours;
+                    batch.add(new Object[]{
+                            employeeId,
+                            worklogTypeIds.get(random.nextInt(worklogTypeIds.size())),
+                            Date.valueOf(date),
+                            hours,
+                            "Synthetic entry " + e,
+                            PROJECTS[random.nextInt(PROJECTS.length)],
+                            now,
+                            now
+                    });
+                    if (batch.size() == BATCH_SIZE) {
+                        worklogCount += batch.size();
+                        jdbcTemplate.batchUpdate(sql, batch);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            worklogCount += batch.size();
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static Employee employee(int sequence, String kind, Role role, Grade grade, Department department,
+                                     Employee teamLead, LocalDate startDate, String password) {
+        return Employee.builder()
+                .employeeCode("EMP" + sequence)
+                .firstName(kind)
+                .lastName(String.valueOf(sequence))
+                .email("employee" + sequence + "@benchmark.local")
+                .password(password)
+                .grade(grade)
+                .department(department)
+                .teamLead(teamLead)
+                .role(role)
+                .startDate(startDate)
+                .isActive(true)
+                .subordinates(new ArrayList<>())
+                .worklogs(new ArrayList<>())
+                .build();
+    }
+}
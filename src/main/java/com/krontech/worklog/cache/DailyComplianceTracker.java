@@ -0,0 +1,239 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.dto.projection.EmployeeEntryCountProjection;
+import com.krontech.worklog.dto.response.ComplianceReconciliationResponse;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.repository.WorklogRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "has this employee logged work today?" from memory.
+ * Every employee gets a dense index and the logged flags live in a BitSet. Seeded from the database
+ * at startup and on day rollover, kept current by committed worklog changes and corrected by a
+ * periodic reconciliation.
+ * A change does not apply a delta: the employee's flag is re-read for the day, so a change the
+ * reconciliation already saw is harmless. Every read takes a ticket after the data it depends on
+ * was committed, and a flag is only replaced by a read with a later ticket. Queries never run
+ * while the lock is held - states are loaded first and swapped in. They always read the primary:
+ * a lagging replica would not show the commit a ticket was taken after.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyComplianceTracker {
+
+    private final EmployeeRepository employeeRepository;
+    private final WorklogRepository worklogRepository;
+    private final PrimaryReads primaryReads;
+
+    private final AtomicLong tickets = new AtomicLong();
+
+    // Replaced under "this"; a state's flags are only read or written under "this" too
+    private volatile DayState state;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        DayState seeded = swap(loadState(LocalDate.now()));
+        synchronized (this) {
+            log.info("Compliance tracker seeded for {} - {} of {} employees logged",
+                    seeded.day, seeded.logged.cardinality(), seeded.indexByEmployee.size());
+        }
+    }
+
+    public boolean hasLoggedToday(Integer employeeId) {
+        DayState today = currentState();
+        synchronized (this) {
+            return today.isLogged(employeeId);
+        }
+    }
+
+    public int countLoggedToday(Collection<Integer> employeeIds) {
+        DayState today = currentState();
+        int count = 0;
+        synchronized (this) {
+            for (Integer employeeId : employeeIds) {
+                if (today.isLogged(employeeId)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int countLoggedToday(int[] employeeIds) {
+        DayState today = currentState();
+        int count = 0;
+        synchronized (this) {
+            for (int employeeId : employeeIds) {
+                if (today.isLogged(employeeId)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Ahead of the listeners that read the tracker, such as the live quick stats feed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onWorklogChanged(WorklogChangedEvent event) {
+        DayState today = currentState();
+        if (!event.affectedDates().contains(today.day)) {
+            return;
+        }
+
+        // The change is committed, so a read after this ticket sees it
+        long ticket = tickets.incrementAndGet();
+        boolean logged = primaryReads.execute(status ->
+                worklogRepository.hasLoggedWorkForDate(event.employeeId(), today.day));
+
+        synchronized (this) {
+            // Applied to whichever state is current by now - a newer one ignores it if it was loaded later
+            if (state.day.equals(today.day)) {
+                state.set(event.employeeId(), logged, ticket);
+            }
+        }
+    }
+
+    // Compare the in-memory flags against the database and replace them
+    @Scheduled(fixedDelayString = "${worklog.compliance.reconcile-interval:5m}",
+            initialDelayString = "${worklog.compliance.reconcile-interval:5m}")
+    public ComplianceReconciliationResponse reconcile() {
+        DayState fresh = loadState(LocalDate.now());
+        int drifted = 0;
+        int logged;
+        int tracked;
+
+        synchronized (this) {
+            DayState previous = state;
+            if (previous != null && previous.day.equals(fresh.day)) {
+                for (Integer employeeId : fresh.indexByEmployee.keySet()) {
+                    if (previous.isLogged(employeeId) != fresh.isLogged(employeeId)) {
+                        drifted++;
+                    }
+                }
+            }
+            DayState current = swap(fresh);
+            logged = current.logged.cardinality();
+            tracked = current.indexByEmployee.size();
+        }
+
+        if (drifted > 0) {
+            log.warn("Compliance tracker drifted for {} employees on {}, replaced from database", drifted, fresh.day);
+        }
+
+        return ComplianceReconciliationResponse.builder()
+                .day(fresh.day)
+                .trackedEmployees(tracked)
+                .employeesLogged(logged)
+                .driftedEmployees(drifted)
+                .reconciledAt(LocalDateTime.now())
+                .build();
+    }
+
+    private DayState currentState() {
+        DayState current = state;
+        LocalDate today = LocalDate.now();
+        if (current != null && current.day.equals(today)) {
+            return current;
+        }
+        // Day rollover - nobody has logged anything for the new day until the database says so
+        return swap(loadState(today));
+    }
+
+    // Install a loaded state, keeping flags changes have set since it was read
+    private synchronized DayState swap(DayState fresh) {
+        DayState current = state;
+        if (current != null && current.day.equals(fresh.day)) {
+            if (current.loadedTicket > fresh.loadedTicket) {
+                // Another load finished first and is newer
+                return current;
+            }
+            current.carryNewerFlags(fresh);
+        }
+        state = fresh;
+        return fresh;
+    }
+
+    // Runs outside the lock
+    private DayState loadState(LocalDate day) {
+        long ticket = tickets.incrementAndGet();
+        return primaryReads.execute(status -> {
+            DayState loaded = new DayState(day, employeeRepository.findAllIds(), ticket);
+            for (EmployeeEntryCountProjection row : worklogRepository.countEntriesPerEmployeeForDate(day)) {
+                loaded.set(row.getEmployeeId(), row.getEntries() > 0, ticket);
+            }
+            return loaded;
+        });
+    }
+
+    private static final class DayState {
+
+        private final LocalDate day;
+        private final long loadedTicket;
+        private final Map<Integer, Integer> indexByEmployee;
+        private final BitSet logged;
+        // Ticket of the read each flag came from
+        private long[] flagTickets;
+
+        private DayState(LocalDate day, List<Integer> employeeIds, long loadedTicket) {
+            this.day = day;
+            this.loadedTicket = loadedTicket;
+            this.indexByEmployee = new HashMap<>(employeeIds.size() * 2);
+            for (Integer employeeId : employeeIds) {
+                indexByEmployee.put(employeeId, indexByEmployee.size());
+            }
+            this.flagTickets = new long[Math.max(16, employeeIds.size())];
+            Arrays.fill(flagTickets, loadedTicket);
+            this.logged = new BitSet(flagTickets.length);
+        }
+
+        private boolean isLogged(Integer employeeId) {
+            Integer index = indexByEmployee.get(employeeId);
+            return index != null && logged.get(index);
+        }
+
+        private void set(Integer employeeId, boolean isLogged, long ticket) {
+            Integer index = indexByEmployee.get(employeeId);
+            if (index == null) {
+                // Employee created after seeding
+                index = indexByEmployee.size();
+                indexByEmployee.put(employeeId, index);
+                if (index >= flagTickets.length) {
+                    int length = flagTickets.length;
+                    flagTickets = Arrays.copyOf(flagTickets, length * 2);
+                    Arrays.fill(flagTickets, length, flagTickets.length, loadedTicket);
+                }
+            }
+            if (ticket >= flagTickets[index]) {
+                flagTickets[index] = ticket;
+                logged.set(index, isLogged);
+            }
+        }
+
+        private void carryNewerFlags(DayState into) {
+            for (Map.Entry<Integer, Integer> employee : indexByEmployee.entrySet()) {
+                long ticket = flagTickets[employee.getValue()];
+                if (ticket > into.loadedTicket) {
+                    into.set(employee.getKey(), logged.get(employee.getValue()), ticket);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.dto.response.DashboardCacheStatsResponse;
+import com.krontech.worklog.dto.response.DashboardResponse;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogRollupsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of assembled dashboards.
+ * Entries are dropped after commit of any worklog change that falls inside their date range
+ * and belongs to the subject, the subject's team (team leads) or department (directors).
+ * Responses are mutable, so the cache keeps its own copy and hands out a fresh one per hit.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Access-ordered map, guarded by its own monitor
+    private final LinkedHashMap<DashboardCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation so dashboards built from pre-commit data are never stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DashboardCache(@Value("${worklog.dashboard-cache.max-size:1000}") int maxSize,
+                          @Value("${worklog.dashboard-cache.ttl:5m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public DashboardResponse get(DashboardCacheKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(ttlNanos)) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.response().copy();
+        }
+    }
+
+    // Capture before reading from the database, pass back to put()
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(DashboardCacheKey key, Integer departmentId, DashboardResponse response, long readGeneration) {
+        synchronized (entries) {
+            // A worklog changed while this dashboard was being built - it may already be stale
+            if (readGeneration != generation.get()) {
+                return;
+            }
+            entries.put(key, new Entry(response.copy(), departmentId, System.nanoTime()));
+
+            Iterator<Map.Entry<DashboardCacheKey, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // Dashboards read the rollups, so they go stale when the outbox has applied a change, not when it was made
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupsChanged(WorklogRollupsChangedEvent event) {
+        int removed = 0;
+
+        synchronized (entries) {
+            generation.incrementAndGet();
+
+            Iterator<Map.Entry<DashboardCacheKey, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<DashboardCacheKey, Entry> cached = iterator.next();
+                if (event.changes().stream().anyMatch(change ->
+                        isAffected(cached.getKey(), cached.getValue(), change, change.affectedDates()))) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+
+        invalidations.addAndGet(removed);
+        log.debug("{} worklog changes invalidated {} cached dashboards", event.changes().size(), removed);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public DashboardCacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+
+        return DashboardCacheStatsResponse.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .expirations(expirations.get())
+                .invalidations(invalidations.get())
+                .hitRate(lookups > 0 ? (hitCount * 100.0) / lookups : 0.0)
+                .build();
+    }
+
+    private boolean isAffected(DashboardCacheKey key, Entry entry, WorklogChangedEvent event, List<LocalDate> dates) {
+        boolean inRange = dates.stream()
+                .anyMatch(date -> !date.isBefore(key.startDate()) && !date.isAfter(key.endDate()));
+        if (!inRange) {
+            return false;
+        }
+
+        // Everyone's dashboard contains their own worklogs
+        if (key.employeeId().equals(event.employeeId())) {
+            return true;
+        }
+
+        // Team lead dashboards contain their direct reports
+        if (key.role() == Role.TEAM_LEAD) {
+            return key.employeeId().equals(event.teamLeadId());
+        }
+
+        // Director dashboards contain the whole department
+        return key.role() == Role.DIRECTOR
+                && entry.departmentId() != null
+                && entry.departmentId().equals(event.departmentId());
+    }
+
+    private record Entry(DashboardResponse response, Integer departmentId, long createdAt) {
+
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - createdAt > ttlNanos;
+        }
+    }
+}
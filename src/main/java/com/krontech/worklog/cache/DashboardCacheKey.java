@@ -0,0 +1,10 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.entity.Role;
+
+import java.time.LocalDate;
+
+// The organization version keeps dashboards built against an older hierarchy from being served after it changes
+public record DashboardCacheKey(Integer employeeId, Role role, LocalDate startDate, LocalDate endDate,
+                                long organizationVersion) {
+}
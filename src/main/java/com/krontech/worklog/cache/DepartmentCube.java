@@ -0,0 +1,301 @@
+package com.krontech.worklog.cache;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One department's daily rollups for a period, held column by column in primitive arrays:
+ * employee index, day offset, worklog type index, hours and entries - one element per
+ * (employee, day, type). Queries group, filter and rank by scanning the columns in parallel
+ * on the common fork/join pool. Immutable once built.
+ */
+public final class DepartmentCube {
+
+    // Rows per fork/join leaf at least; below this splitting costs more than it saves
+    private static final int MIN_LEAF_ROWS = 16_384;
+
+    public enum Dimension {
+        EMPLOYEE, TEAM, WORKLOG_TYPE, DATE, WEEK, MONTH
+    }
+
+    // A group: one key per requested dimension (ids, or the first day for DATE/WEEK/MONTH)
+    public record Group(List<Object> keys, long hours, long entries) {
+    }
+
+    public record Result(List<Group> groups, int matchedGroups, long totalHours, int rowsScanned) {
+    }
+
+    private final int departmentId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long organizationVersion;
+    private final LocalDateTime loadedAt;
+
+    // Dimension tables
+    private final int[] employeeIds;
+    private final int[] teamOfEmployee; // index into teamLeadIds
+    private final Integer[] teamLeadIds; // last slot is null - employees without a team lead
+    private final int[] worklogTypeIds;
+    private final int[] weekOfDay;
+    private final LocalDate[] weekStarts;
+    private final int[] monthOfDay;
+    private final LocalDate[] monthStarts;
+
+    // Fact columns
+    private final int rows;
+    private final int[] employee;
+    private final short[] day;
+    private final byte[] type;
+    private final byte[] hours;
+    private final byte[] entries;
+
+    DepartmentCube(int departmentId, LocalDate startDate, LocalDate endDate, long organizationVersion,
+                   int[] employeeIds, int[] teamOfEmployee, Integer[] teamLeadIds, int[] worklogTypeIds,
+                   int rows, int[] employee, short[] day, byte[] type, byte[] hours, byte[] entries) {
+        this.departmentId = departmentId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.organizationVersion = organizationVersion;
+        this.loadedAt = LocalDateTime.now();
+        this.employeeIds = employeeIds;
+        this.teamOfEmployee = teamOfEmployee;
+        this.teamLeadIds = teamLeadIds;
+        this.worklogTypeIds = worklogTypeIds;
+        this.rows = rows;
+        this.employee = employee;
+        this.day = day;
+        this.type = type;
+        this.hours = hours;
+        this.entries = entries;
+
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        List<LocalDate> weeks = new ArrayList<>();
+        List<LocalDate> months = new ArrayList<>();
+        this.weekOfDay = new int[days];
+        this.monthOfDay = new int[days];
+        for (int offset = 0; offset < days; offset++) {
+            LocalDate date = startDate.plusDays(offset);
+            LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate month = date.withDayOfMonth(1);
+            if (weeks.isEmpty() || !weeks.get(weeks.size() - 1).equals(week)) {
+                weeks.add(week);
+            }
+            if (months.isEmpty() || !months.get(months.size() - 1).equals(month)) {
+                months.add(month);
+            }
+            weekOfDay[offset] = weeks.size() - 1;
+            monthOfDay[offset] = months.size() - 1;
+        }
+        this.weekStarts = weeks.toArray(LocalDate[]::new);
+        this.monthStarts = months.toArray(LocalDate[]::new);
+    }
+
+    public int departmentId() {
+        return departmentId;
+    }
+
+    public LocalDate startDate() {
+        return startDate;
+    }
+
+    public LocalDate endDate() {
+        return endDate;
+    }
+
+    public long organizationVersion() {
+        return organizationVersion;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    /**
+     * Group the rows passing the filters by the dimensions, in order. Null filters accept everything.
+     * Groups are ranked by hours, highest first, and cut to topN (0 keeps all).
+     * Throws IllegalArgumentException when the dimensions allow more than maxGroups groups.
+     */
+    public Result query(List<Dimension> dimensions, Collection<Integer> employeeFilter,
+                        Collection<Integer> teamLeadFilter, Collection<Integer> worklogTypeFilter,
+                        int topN, int maxGroups) {
+        int[] cardinalities = new int[dimensions.size()];
+        long groupCount = 1;
+        for (int i = 0; i < cardinalities.length; i++) {
+            cardinalities[i] = cardinality(dimensions.get(i));
+            groupCount *= Math.max(1, cardinalities[i]);
+        }
+        if (groupCount > maxGroups) {
+            throw new IllegalArgumentException("Grouping by " + dimensions + " gives up to " + groupCount
+                    + " groups, the limit is " + maxGroups);
+        }
+
+        Scan scan = new Scan(dimensions.toArray(Dimension[]::new), cardinalities, (int) groupCount,
+                accepted(employeeFilter, employeeIds), acceptedTeams(teamLeadFilter), accepted(worklogTypeFilter, worklogTypeIds));
+        // Every leaf allocates dense partials of groupCount slots, so it scans at least as many rows -
+        // the partials then never outweigh the columns they summarize
+        int leafRows = Math.max(Math.max(MIN_LEAF_ROWS, (int) groupCount),
+                rows / (ForkJoinPool.getCommonPoolParallelism() * 4 + 1));
+        Partial total = ForkJoinPool.commonPool().invoke(new ScanTask(scan, 0, rows, leafRows));
+
+        List<Group> groups = new ArrayList<>();
+        long totalHours = 0;
+        for (int key = 0; key < total.hours.length; key++) {
+            if (total.entries[key] > 0) {
+                groups.add(new Group(keys(scan, key), total.hours[key], total.entries[key]));
+                totalHours += total.hours[key];
+            }
+        }
+        int matched = groups.size();
+        groups.sort(Comparator.comparingLong(Group::hours).reversed());
+        if (topN > 0 && groups.size() > topN) {
+            groups = new ArrayList<>(groups.subList(0, topN));
+        }
+        return new Result(groups, matched, totalHours, rows);
+    }
+
+    private int cardinality(Dimension dimension) {
+        return switch (dimension) {
+            case EMPLOYEE -> employeeIds.length;
+            case TEAM -> teamLeadIds.length;
+            case WORKLOG_TYPE -> worklogTypeIds.length;
+            case DATE -> weekOfDay.length;
+            case WEEK -> weekStarts.length;
+            case MONTH -> monthStarts.length;
+        };
+    }
+
+    // Decode a mixed-radix group key back into dimension keys
+    private List<Object> keys(Scan scan, int key) {
+        Object[] keys = new Object[scan.dimensions.length];
+        for (int i = scan.dimensions.length - 1; i >= 0; i--) {
+            int index = key % scan.cardinalities[i];
+            key /= scan.cardinalities[i];
+            keys[i] = switch (scan.dimensions[i]) {
+                case EMPLOYEE -> employeeIds[index];
+                case TEAM -> teamLeadIds[index];
+                case WORKLOG_TYPE -> worklogTypeIds[index];
+                case DATE -> startDate.plusDays(index);
+                case WEEK -> weekStarts[index];
+                case MONTH -> monthStarts[index];
+            };
+        }
+        return Arrays.asList(keys);
+    }
+
+    // Null when there is no filter; ids are sorted, as every dimension table is
+    private static boolean[] accepted(Collection<Integer> filter, int[] ids) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        boolean[] accepted = new boolean[ids.length];
+        for (Integer id : filter) {
+            int index = id != null ? Arrays.binarySearch(ids, id) : -1;
+            if (index >= 0) {
+                accepted[index] = true;
+            }
+        }
+        return accepted;
+    }
+
+    private boolean[] acceptedTeams(Collection<Integer> filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        boolean[] accepted = new boolean[teamLeadIds.length];
+        for (int index = 0; index < teamLeadIds.length; index++) {
+            accepted[index] = teamLeadIds[index] != null && filter.contains(teamLeadIds[index]);
+        }
+        return accepted;
+    }
+
+    private record Scan(Dimension[] dimensions, int[] cardinalities, int groupCount,
+                        boolean[] employees, boolean[] teams, boolean[] types) {
+    }
+
+    private record Partial(long[] hours, long[] entries) {
+    }
+
+    private final class ScanTask extends RecursiveTask<Partial> {
+
+        private final Scan scan;
+        private final int from;
+        private final int to;
+        private final int leafRows;
+
+        ScanTask(Scan scan, int from, int to, int leafRows) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= leafRows) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle, leafRows);
+            left.fork();
+            Partial right = new ScanTask(scan, middle, to, leafRows).compute();
+            Partial merged = left.join();
+            for (int key = 0; key < merged.hours.length; key++) {
+                merged.hours[key] += right.hours[key];
+                merged.entries[key] += right.entries[key];
+            }
+            return merged;
+        }
+
+        private Partial scan() {
+            long[] groupHours = new long[scan.groupCount];
+            long[] groupEntries = new long[scan.groupCount];
+            Dimension[] dimensions = scan.dimensions;
+            int[] cardinalities = scan.cardinalities;
+
+            for (int row = from; row < to; row++) {
+                int employeeIndex = employee[row];
+                int typeIndex = type[row] & 0xFF;
+                int teamIndex = teamOfEmployee[employeeIndex];
+                if ((scan.employees != null && !scan.employees[employeeIndex])
+                        || (scan.teams != null && !scan.teams[teamIndex])
+                        || (scan.types != null && !scan.types[typeIndex])) {
+                    continue;
+                }
+
+                int key = 0;
+                for (int i = 0; i < dimensions.length; i++) {
+                    int index = switch (dimensions[i]) {
+                        case EMPLOYEE -> employeeIndex;
+                        case TEAM -> teamIndex;
+                        case WORKLOG_TYPE -> typeIndex;
+                        case DATE -> day[row];
+                        case WEEK -> weekOfDay[day[row]];
+                        case MONTH -> monthOfDay[day[row]];
+                    };
+                    key = key * cardinalities[i] + index;
+                }
+                groupHours[key] += hours[row];
+                groupEntries[key] += entries[row];
+            }
+            return new Partial(groupHours, groupEntries);
+        }
+    }
+}
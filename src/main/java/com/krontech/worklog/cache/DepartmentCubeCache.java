@@ -0,0 +1,254 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogRollupsChangedEvent;
+import com.krontech.worklog.routing.PrimaryReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Department cubes (see DepartmentCube), bounded by the total number of rows they hold and
+ * evicted least recently used first. A cube is dropped after commit of any worklog change of its
+ * department inside its period, and treated as missing once the organization has changed.
+ * Only present in analytics mode (worklog.cube.enabled).
+ */
+@Component
+@ConditionalOnProperty(prefix = "worklog.cube", name = "enabled", havingValue = "true")
+@Slf4j
+public class DepartmentCubeCache {
+
+    private final OrganizationHierarchy organizationHierarchy;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PrimaryReads primaryReads;
+    private final long maxRows;
+
+    private record Key(int departmentId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    // Access-ordered, guarded by its own monitor
+    private final LinkedHashMap<Key, DepartmentCube> cubes = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedRows;
+
+    // Bumped on every invalidation so cubes loaded from pre-commit data are never stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public DepartmentCubeCache(OrganizationHierarchy organizationHierarchy,
+                               DataSource dataSource,
+                               PrimaryReads primaryReads,
+                               @Value("${worklog.cube.max-rows:5000000}") long maxRows,
+                               @Value("${worklog.export.fetch-size:500}") int fetchSize) {
+        this.organizationHierarchy = organizationHierarchy;
+
+        // Own template, so the cursor fetch size does not leak into the shared JdbcTemplate
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+
+        this.primaryReads = primaryReads;
+        this.maxRows = maxRows;
+    }
+
+    public DepartmentCube get(int departmentId, LocalDate startDate, LocalDate endDate) {
+        OrganizationSnapshot organization = organizationHierarchy.snapshot();
+        Key key = new Key(departmentId, startDate, endDate);
+        synchronized (cubes) {
+            DepartmentCube cube = cubes.get(key);
+            if (cube != null && cube.organizationVersion() == organization.version()) {
+                hits.incrementAndGet();
+                return cube;
+            }
+        }
+
+        long readGeneration = generation.get();
+        DepartmentCube cube = load(organization, departmentId, startDate, endDate);
+        loads.incrementAndGet();
+        put(key, cube, readGeneration);
+        return cube;
+    }
+
+    // Cubes are loaded from the rollups, so they go stale once the outbox has applied a change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRollupsChanged(WorklogRollupsChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (cubes) {
+            Iterator<Map.Entry<Key, DepartmentCube>> iterator = cubes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                DepartmentCube cube = iterator.next().getValue();
+                if (event.changes().stream().anyMatch(change -> affects(change, cube))) {
+                    iterator.remove();
+                    cachedRows -= cube.rows();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (cubes) {
+            cubes.clear();
+            cachedRows = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (cubes) {
+            return cubes.size();
+        }
+    }
+
+    public long cachedRows() {
+        synchronized (cubes) {
+            return cachedRows;
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long loads() {
+        return loads.get();
+    }
+
+    private void put(Key key, DepartmentCube cube, long readGeneration) {
+        if (cube.rows() > maxRows) {
+            return;
+        }
+        synchronized (cubes) {
+            // A worklog changed while the cube was loading - it may already be stale
+            if (readGeneration != generation.get()) {
+                return;
+            }
+            DepartmentCube previous = cubes.put(key, cube);
+            cachedRows += cube.rows() - (previous != null ? previous.rows() : 0);
+
+            Iterator<DepartmentCube> eldest = cubes.values().iterator();
+            while (cachedRows > maxRows && eldest.hasNext()) {
+                cachedRows -= eldest.next().rows();
+                eldest.remove();
+            }
+        }
+    }
+
+    // One pass over the department's rollups straight into primitive columns, read from the primary
+    private DepartmentCube load(OrganizationSnapshot organization, int departmentId,
+                                LocalDate startDate, LocalDate endDate) {
+        long started = System.currentTimeMillis();
+        int[] employeeIds = organization.departmentMembers(departmentId);
+
+        // Team leads of the members, sorted, plus a last slot for members without one
+        int[] leads = Arrays.stream(employeeIds)
+                .map(id -> organization.teamLeadId(id) != null ? organization.teamLeadId(id) : 0)
+                .filter(id -> id != 0)
+                .distinct()
+                .sorted()
+                .toArray();
+        Integer[] teamLeadIds = new Integer[leads.length + 1];
+        for (int i = 0; i < leads.length; i++) {
+            teamLeadIds[i] = leads[i];
+        }
+        int[] teamOfEmployee = new int[employeeIds.length];
+        for (int i = 0; i < employeeIds.length; i++) {
+            Integer lead = organization.teamLeadId(employeeIds[i]);
+            teamOfEmployee[i] = lead != null ? Arrays.binarySearch(leads, lead) : leads.length;
+        }
+
+        Columns columns = new Columns();
+        if (employeeIds.length > 0) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("employeeIds", Arrays.stream(employeeIds).boxed().toList())
+                    .addValue("startDate", startDate)
+                    .addValue("endDate", endDate);
+            primaryReads.executeWithoutResult(status -> jdbcTemplate.query("""
+                    SELECT employee_id, work_date, worklog_type_id, total_hours, entry_count
+                    FROM worklog_daily_rollups
+                    WHERE employee_id IN (:employeeIds)
+                        AND work_date BETWEEN :startDate AND :endDate
+                    """, parameters, resultSet -> {
+                columns.add(Arrays.binarySearch(employeeIds, resultSet.getInt(1)),
+                        (short) ChronoUnit.DAYS.between(startDate, resultSet.getObject(2, LocalDate.class)),
+                        resultSet.getInt(3), resultSet.getInt(4), resultSet.getInt(5));
+            }));
+        }
+
+        // Worklog type ids become a dense byte index
+        int[] worklogTypeIds = Arrays.stream(columns.typeIds, 0, columns.rows).distinct().sorted().toArray();
+        if (worklogTypeIds.length > 256) {
+            throw new IllegalStateException("Too many worklog types for a cube: " + worklogTypeIds.length);
+        }
+        byte[] type = new byte[columns.rows];
+        for (int row = 0; row < columns.rows; row++) {
+            type[row] = (byte) Arrays.binarySearch(worklogTypeIds, columns.typeIds[row]);
+        }
+
+        DepartmentCube cube = new DepartmentCube(departmentId, startDate, endDate, organization.version(),
+                employeeIds, teamOfEmployee, teamLeadIds, worklogTypeIds, columns.rows,
+                Arrays.copyOf(columns.employee, columns.rows), Arrays.copyOf(columns.day, columns.rows), type,
+                Arrays.copyOf(columns.hours, columns.rows), Arrays.copyOf(columns.entries, columns.rows));
+
+        log.info("Loaded cube for department {} from {} to {} - {} rows, took {} ms",
+                departmentId, startDate, endDate, cube.rows(), System.currentTimeMillis() - started);
+        return cube;
+    }
+
+    private static boolean affects(WorklogChangedEvent change, DepartmentCube cube) {
+        return change.departmentId() != null && cube.departmentId() == change.departmentId()
+                && change.affectedDates().stream().anyMatch(cube::covers);
+    }
+
+    // Growable columns for the load; type ids stay wide until the type index is known
+    private static final class Columns {
+
+        private int rows;
+        private int[] employee = new int[1024];
+        private short[] day = new short[1024];
+        private int[] typeIds = new int[1024];
+        private byte[] hours = new byte[1024];
+        private byte[] entries = new byte[1024];
+
+        void add(int employeeIndex, short dayOffset, int typeId, int totalHours, int entryCount) {
+            if (rows == employee.length) {
+                int capacity = rows * 2;
+                employee = Arrays.copyOf(employee, capacity);
+                day = Arrays.copyOf(day, capacity);
+                typeIds = Arrays.copyOf(typeIds, capacity);
+                hours = Arrays.copyOf(hours, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            employee[rows] = employeeIndex;
+            day[rows] = dayOffset;
+            typeIds[rows] = typeId;
+            hours[rows] = narrow(totalHours, "hours");
+            entries[rows] = narrow(entryCount, "entries");
+            rows++;
+        }
+
+        // A day is capped well below a byte, so a larger bucket means the rollups are broken
+        private static byte narrow(int value, String column) {
+            if (value < 0 || value > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Rollup " + column + " out of range for a cube: " + value);
+            }
+            return (byte) value;
+        }
+    }
+}
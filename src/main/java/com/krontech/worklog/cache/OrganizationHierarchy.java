@@ -0,0 +1,85 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.dto.projection.OrganizationFingerprintProjection;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current OrganizationSnapshot and swaps in a new one when employee data changes.
+ * Changes are detected by polling a count / last-updated fingerprint of the employees table;
+ * an id the snapshot has never seen also triggers a (rate limited) rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationHierarchy {
+
+    private static final long MIN_REBUILD_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final EmployeeRepository employeeRepository;
+    private final PrimaryReads primaryReads;
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile OrganizationSnapshot snapshot;
+    private volatile Fingerprint fingerprint;
+    private volatile long lastRebuildNanos;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    public OrganizationSnapshot snapshot() {
+        OrganizationSnapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // Snapshot guaranteed to know the employee if the database does - new hires show up without waiting for a poll
+    public OrganizationSnapshot snapshotContaining(int employeeId) {
+        OrganizationSnapshot current = snapshot();
+        if (current.contains(employeeId) || System.nanoTime() - lastRebuildNanos < MIN_REBUILD_INTERVAL_NANOS) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${worklog.organization.refresh-interval:30s}",
+            initialDelayString = "${worklog.organization.refresh-interval:30s}")
+    public void refreshIfChanged() {
+        if (!Objects.equals(fingerprint, readFingerprint())) {
+            rebuild();
+        }
+    }
+
+    public synchronized OrganizationSnapshot rebuild() {
+        Fingerprint before = readFingerprint();
+        OrganizationSnapshot rebuilt = OrganizationSnapshot.build(
+                versions.incrementAndGet(), primaryReads.execute(status -> employeeRepository.findHierarchyRows()));
+
+        snapshot = rebuilt;
+        fingerprint = before;
+        lastRebuildNanos = System.nanoTime();
+
+        log.info("Organization snapshot v{} built with {} employees", rebuilt.version(), rebuilt.size());
+        return rebuilt;
+    }
+
+    private Fingerprint readFingerprint() {
+        OrganizationFingerprintProjection projection =
+                primaryReads.execute(status -> employeeRepository.getOrganizationFingerprint());
+        return new Fingerprint(projection.getEmployeeCount(), projection.getLastUpdated());
+    }
+
+    private record Fingerprint(Long employeeCount, LocalDateTime lastUpdated) {
+    }
+}
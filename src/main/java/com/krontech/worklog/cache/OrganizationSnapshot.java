@@ -0,0 +1,200 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.dto.projection.EmployeeHierarchyRowProjection;
+import com.krontech.worklog.entity.Role;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable view of the org graph: role, active flag, department and team lead per employee,
+ * plus active members per department and per team lead.
+ * Employees are addressed through a sorted id array; everything else is parallel int arrays,
+ * so lookups are a binary search with no boxing. Ids of 0 stand for "none".
+ * Member arrays handed out are shared - callers must not modify them.
+ */
+public final class OrganizationSnapshot {
+
+    private static final Role[] ROLES = Role.values();
+    private static final int[] NONE = new int[0];
+
+    private final long version;
+
+    // Parallel arrays indexed by position in employeeIds
+    private final int[] employeeIds;
+    private final byte[] roles;
+    private final boolean[] active;
+    private final int[] departmentIds;
+    private final int[] teamLeadIds;
+
+    // Active members grouped by department / team lead, keys sorted for binary search
+    private final int[] departmentKeys;
+    private final int[][] departmentMembers;
+    private final int[] teamLeadKeys;
+    private final int[][] teamMembers;
+
+    private OrganizationSnapshot(long version, int[] employeeIds, byte[] roles, boolean[] active,
+                                 int[] departmentIds, int[] teamLeadIds) {
+        this.version = version;
+        this.employeeIds = employeeIds;
+        this.roles = roles;
+        this.active = active;
+        this.departmentIds = departmentIds;
+        this.teamLeadIds = teamLeadIds;
+
+        this.departmentKeys = activeKeys(departmentIds);
+        this.departmentMembers = groupActive(departmentKeys, departmentIds);
+        this.teamLeadKeys = activeKeys(teamLeadIds);
+        this.teamMembers = groupActive(teamLeadKeys, teamLeadIds);
+    }
+
+    // Rows must be ordered by employee id
+    static OrganizationSnapshot build(long version, List<EmployeeHierarchyRowProjection> rows) {
+        int size = rows.size();
+        int[] employeeIds = new int[size];
+        byte[] roles = new byte[size];
+        boolean[] active = new boolean[size];
+        int[] departmentIds = new int[size];
+        int[] teamLeadIds = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            EmployeeHierarchyRowProjection row = rows.get(i);
+            employeeIds[i] = row.getId();
+            roles[i] = (byte) row.getRole().ordinal();
+            active[i] = Boolean.TRUE.equals(row.getIsActive());
+            departmentIds[i] = row.getDepartmentId() != null ? row.getDepartmentId() : 0;
+            teamLeadIds[i] = row.getTeamLeadId() != null ? row.getTeamLeadId() : 0;
+        }
+        return new OrganizationSnapshot(version, employeeIds, roles, active, departmentIds, teamLeadIds);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return employeeIds.length;
+    }
+
+    public boolean contains(int employeeId) {
+        return indexOf(employeeId) >= 0;
+    }
+
+    public Role role(int employeeId) {
+        int index = indexOf(employeeId);
+        return index >= 0 ? ROLES[roles[index]] : null;
+    }
+
+    public boolean isActive(int employeeId) {
+        int index = indexOf(employeeId);
+        return index >= 0 && active[index];
+    }
+
+    public Integer departmentId(int employeeId) {
+        int index = indexOf(employeeId);
+        return index >= 0 && departmentIds[index] != 0 ? departmentIds[index] : null;
+    }
+
+    public Integer teamLeadId(int employeeId) {
+        int index = indexOf(employeeId);
+        return index >= 0 && teamLeadIds[index] != 0 ? teamLeadIds[index] : null;
+    }
+
+    public boolean isInDepartment(int employeeId, int departmentId) {
+        int index = indexOf(employeeId);
+        return index >= 0 && departmentIds[index] == departmentId;
+    }
+
+    // Active employees of a department, ascending ids
+    public int[] departmentMembers(int departmentId) {
+        int key = Arrays.binarySearch(departmentKeys, departmentId);
+        return key >= 0 ? departmentMembers[key] : NONE;
+    }
+
+    // Active direct reports of a team lead, ascending ids
+    public int[] teamMembers(int teamLeadId) {
+        int key = Arrays.binarySearch(teamLeadKeys, teamLeadId);
+        return key >= 0 ? teamMembers[key] : NONE;
+    }
+
+    // Same rules as Employee.canViewEmployee: yourself, your direct reports, or your department as director
+    public boolean canView(int viewerId, int targetId) {
+        if (viewerId == targetId) {
+            return true;
+        }
+        int viewer = indexOf(viewerId);
+        int target = indexOf(targetId);
+        if (viewer < 0 || target < 0) {
+            return false;
+        }
+
+        Role viewerRole = ROLES[roles[viewer]];
+        if (viewerRole == Role.DIRECTOR && departmentIds[viewer] != 0) {
+            return departmentIds[viewer] == departmentIds[target];
+        }
+        return viewerRole == Role.TEAM_LEAD && teamLeadIds[target] == viewerId;
+    }
+
+    // Same rules as EmployeeRepository.findEmployeesVisibleToUser: active employees only
+    public int[] visibleEmployees(int viewerId) {
+        int viewer = indexOf(viewerId);
+        if (viewer < 0) {
+            return NONE;
+        }
+        if (ROLES[roles[viewer]] == Role.DIRECTOR && departmentIds[viewer] != 0) {
+            return departmentMembers(departmentIds[viewer]);
+        }
+
+        int[] team = teamMembers(viewerId);
+        if (!active[viewer]) {
+            return team;
+        }
+        int[] visible = Arrays.copyOf(team, team.length + 1);
+        visible[team.length] = viewerId;
+        Arrays.sort(visible);
+        return visible;
+    }
+
+    private int indexOf(int employeeId) {
+        return Arrays.binarySearch(employeeIds, employeeId);
+    }
+
+    private int[] activeKeys(int[] groupIds) {
+        return Arrays.stream(groupIdsOfActive(groupIds)).distinct().sorted().toArray();
+    }
+
+    private int[] groupIdsOfActive(int[] groupIds) {
+        int[] keys = new int[groupIds.length];
+        int count = 0;
+        for (int i = 0; i < groupIds.length; i++) {
+            if (active[i] && groupIds[i] != 0) {
+                keys[count++] = groupIds[i];
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    // Two passes: count members per key, then fill - employee ids come out ascending
+    private int[][] groupActive(int[] keys, int[] groupIds) {
+        int[] counts = new int[keys.length];
+        for (int i = 0; i < groupIds.length; i++) {
+            if (active[i] && groupIds[i] != 0) {
+                counts[Arrays.binarySearch(keys, groupIds[i])]++;
+            }
+        }
+
+        int[][] groups = new int[keys.length][];
+        for (int k = 0; k < keys.length; k++) {
+            groups[k] = new int[counts[k]];
+        }
+
+        int[] filled = new int[keys.length];
+        for (int i = 0; i < groupIds.length; i++) {
+            if (active[i] && groupIds[i] != 0) {
+                int k = Arrays.binarySearch(keys, groupIds[i]);
+                groups[k][filled[k]++] = employeeIds[i];
+            }
+        }
+        return groups;
+    }
+}
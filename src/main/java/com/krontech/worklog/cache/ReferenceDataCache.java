@@ -0,0 +1,187 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.entity.Department;
+import com.krontech.worklog.entity.Grade;
+import com.krontech.worklog.entity.WorklogType;
+import com.krontech.worklog.repository.DepartmentRepository;
+import com.krontech.worklog.repository.GradeRepository;
+import com.krontech.worklog.repository.WorklogTypeRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Worklog types, grades and departments held in memory. They change a few times a year, so entities
+ * keep them as lazy references and names are resolved here instead of joined on every load.
+ * Copy-on-write: a refresh builds a complete new snapshot and swaps it in, readers never lock.
+ * Code that changes reference data should call refreshAfterCommit(); edits made directly in the database
+ * are picked up by the admin refresh endpoint, or by a (rate limited) refresh when an unknown id is looked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private static final long MIN_RELOAD_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final WorklogTypeRepository worklogTypeRepository;
+    private final GradeRepository gradeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PrimaryReads primaryReads;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastReloadNanos;
+
+    public record WorklogTypeInfo(Integer id, String name, String code, boolean active) {
+
+        static WorklogTypeInfo of(WorklogType type) {
+            return new WorklogTypeInfo(type.getId(), type.getName(), type.getCode(),
+                    Boolean.TRUE.equals(type.getIsActive()));
+        }
+    }
+
+    public record GradeInfo(Integer id, Integer gradeLevel, String title) {
+
+        static GradeInfo of(Grade grade) {
+            return new GradeInfo(grade.getId(), grade.getGradeLevel(), grade.getTitle());
+        }
+    }
+
+    public record DepartmentInfo(Integer id, String name, String code) {
+
+        static DepartmentInfo of(Department department) {
+            return new DepartmentInfo(department.getId(), department.getName(), department.getCode());
+        }
+    }
+
+    private record Snapshot(Map<Integer, WorklogTypeInfo> worklogTypes,
+                            List<WorklogTypeInfo> activeWorklogTypes,
+                            Map<Integer, GradeInfo> grades,
+                            Map<Integer, DepartmentInfo> departments,
+                            LocalDateTime loadedAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    // Null when the type does not exist
+    public WorklogTypeInfo worklogType(Integer id) {
+        WorklogTypeInfo type = snapshot().worklogTypes().get(id);
+        return type != null || !mayReload() ? type : reload().worklogTypes().get(id);
+    }
+
+    public List<WorklogTypeInfo> activeWorklogTypes() {
+        return snapshot().activeWorklogTypes();
+    }
+
+    public GradeInfo grade(Integer id) {
+        GradeInfo grade = snapshot().grades().get(id);
+        return grade != null || !mayReload() ? grade : reload().grades().get(id);
+    }
+
+    public DepartmentInfo department(Integer id) {
+        DepartmentInfo department = snapshot().departments().get(id);
+        return department != null || !mayReload() ? department : reload().departments().get(id);
+    }
+
+    // Name lookups for responses; null ids (and ids that do not exist) give null
+    public String worklogTypeName(Integer id) {
+        WorklogTypeInfo type = id != null ? worklogType(id) : null;
+        return type != null ? type.name() : null;
+    }
+
+    public String gradeTitle(Integer id) {
+        GradeInfo grade = id != null ? grade(id) : null;
+        return grade != null ? grade.title() : null;
+    }
+
+    public String departmentName(Integer id) {
+        DepartmentInfo department = id != null ? department(id) : null;
+        return department != null ? department.name() : null;
+    }
+
+    public int worklogTypeCount() {
+        return snapshot().worklogTypes().size();
+    }
+
+    public int gradeCount() {
+        return snapshot().grades().size();
+    }
+
+    public int departmentCount() {
+        return snapshot().departments().size();
+    }
+
+    public LocalDateTime loadedAt() {
+        return snapshot().loadedAt();
+    }
+
+    // Refresh once the writing transaction commits, so readers never see uncommitted reference data
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    public void refresh() {
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot loaded = primaryReads.execute(status -> read());
+        snapshot = loaded;
+        lastReloadNanos = System.nanoTime();
+
+        log.info("Reference data loaded: {} worklog types, {} grades, {} departments",
+                loaded.worklogTypes().size(), loaded.grades().size(), loaded.departments().size());
+        return loaded;
+    }
+
+    private Snapshot read() {
+        Map<Integer, WorklogTypeInfo> worklogTypes = worklogTypeRepository.findAll().stream()
+                .map(WorklogTypeInfo::of)
+                .collect(Collectors.toUnmodifiableMap(WorklogTypeInfo::id, Function.identity()));
+        List<WorklogTypeInfo> activeWorklogTypes = worklogTypes.values().stream()
+                .filter(WorklogTypeInfo::active)
+                .sorted(Comparator.comparing(WorklogTypeInfo::id))
+                .toList();
+        Map<Integer, GradeInfo> grades = gradeRepository.findAll().stream()
+                .map(GradeInfo::of)
+                .collect(Collectors.toUnmodifiableMap(GradeInfo::id, Function.identity()));
+        Map<Integer, DepartmentInfo> departments = departmentRepository.findAll().stream()
+                .map(DepartmentInfo::of)
+                .collect(Collectors.toUnmodifiableMap(DepartmentInfo::id, Function.identity()));
+
+        return new Snapshot(worklogTypes, activeWorklogTypes, grades, departments, LocalDateTime.now());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private boolean mayReload() {
+        return System.nanoTime() - lastReloadNanos >= MIN_RELOAD_INTERVAL_NANOS;
+    }
+}
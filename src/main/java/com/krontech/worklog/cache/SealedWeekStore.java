@@ -0,0 +1,291 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.entity.Worklog;
+import com.krontech.worklog.entity.WorklogWeeklyAggregate;
+import com.krontech.worklog.repository.WorklogWeeklyAggregateRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * Aggregates of closed weeks, sealed into worklog_weekly_aggregates by a nightly job.
+ * Dashboards read whole sealed weeks from here and only aggregate the rest of their range live.
+ * Nothing can change a closed week (see Worklog.isInClosedWeek), so a cached week is only ever
+ * evicted for size - worklog writes never invalidate it. Only a rebuild replaces sealed weeks.
+ */
+@Component
+@Slf4j
+public class SealedWeekStore {
+
+    private final WorklogWeeklyAggregateRepository aggregateRepository;
+    private final TransactionTemplate transaction;
+    private final PrimaryReads primaryReads;
+    private final int maxCachedWeeks;
+
+    // Access-ordered, guarded by its own monitor
+    private final LinkedHashMap<LocalDate, Map<Integer, EmployeeWeek>> weeks = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Monday of the newest sealed week, every week up to it is sealed; null before the first seal
+    private volatile LocalDate sealedThrough;
+
+    // Bumped around every rebuild so weeks loaded from the aggregates it replaces are never stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public SealedWeekStore(WorklogWeeklyAggregateRepository aggregateRepository,
+                           PlatformTransactionManager transactionManager,
+                           PrimaryReads primaryReads,
+                           @Value("${worklog.sealed-weeks.cache-weeks:104}") int maxCachedWeeks) {
+        this.aggregateRepository = aggregateRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.primaryReads = primaryReads;
+        this.maxCachedWeeks = maxCachedWeeks;
+    }
+
+    // One employee's week: total hours, days with any hours (bit 0 = Monday) and hours per worklog type
+    public record EmployeeWeek(int totalHours, int dayMask, Map<Integer, Integer> hoursByType) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        seal();
+    }
+
+    // Runs a while after midnight, so writes checked against the old day have committed before their week is sealed
+    @Scheduled(cron = "${worklog.sealed-weeks.seal-cron:0 30 0 * * *}")
+    public synchronized int seal() {
+        LocalDate lastClosed = Worklog.lastClosedWeek();
+
+        int[] sealed = transaction.execute(status -> {
+            LocalDate current = aggregateRepository.findSealedThrough();
+            LocalDate from;
+            if (current != null) {
+                from = current.plusWeeks(1);
+            } else {
+                LocalDate firstWorkDate = aggregateRepository.findFirstWorkDate();
+                from = firstWorkDate != null && firstWorkDate.isBefore(lastClosed)
+                        ? firstWorkDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                        : lastClosed;
+            }
+            if (from.isAfter(lastClosed)) {
+                return new int[]{0, 0};
+            }
+            int rows = aggregateRepository.sealWeeks(from, lastClosed.plusWeeks(1));
+            int sealedWeeks = aggregateRepository.markSealed(from, lastClosed);
+            return new int[]{sealedWeeks, rows};
+        });
+
+        sealedThrough = lastClosed;
+        if (sealed[0] > 0) {
+            log.info("Sealed {} closed weeks through {} - {} aggregate rows", sealed[0], lastClosed, sealed[1]);
+        }
+        return sealed[0];
+    }
+
+    // Re-seal everything from the daily rollups, e.g. after they were rebuilt
+    public synchronized int rebuild() {
+        sealedThrough = null;
+        clear();
+        transaction.executeWithoutResult(status -> {
+            aggregateRepository.deleteAllAggregates();
+            aggregateRepository.deleteAllSealedWeeks();
+        });
+        int sealed = seal();
+        // Loads that started before the new aggregates committed may have read the old or none at all
+        clear();
+        return sealed;
+    }
+
+    private void clear() {
+        synchronized (weeks) {
+            generation.incrementAndGet();
+            weeks.clear();
+        }
+    }
+
+    public LocalDate sealedThrough() {
+        return sealedThrough;
+    }
+
+    public int cachedWeeks() {
+        synchronized (weeks) {
+            return weeks.size();
+        }
+    }
+
+    /**
+     * The sealed whole weeks inside a date range. Days of the range outside period.from()..period.to()
+     * (partial weeks at the edges and everything not sealed yet) still have to be read live.
+     */
+    public SealedPeriod period(LocalDate startDate, LocalDate endDate) {
+        LocalDate firstWeek = startDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        LocalDate lastWeek = endDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY)).minusDays(6);
+        LocalDate through = sealedThrough;
+        if (through == null || through.isBefore(lastWeek)) {
+            lastWeek = through;
+        }
+        if (lastWeek == null || lastWeek.isBefore(firstWeek)) {
+            return SealedPeriod.empty(endDate);
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            starts.add(week);
+        }
+        return new SealedPeriod(firstWeek, lastWeek.plusDays(6), weeks(starts));
+    }
+
+    private List<Map<Integer, EmployeeWeek>> weeks(List<LocalDate> starts) {
+        List<Map<Integer, EmployeeWeek>> found = new ArrayList<>(starts.size());
+        List<LocalDate> missing = new ArrayList<>();
+        synchronized (weeks) {
+            for (LocalDate start : starts) {
+                Map<Integer, EmployeeWeek> week = weeks.get(start);
+                if (week == null) {
+                    missing.add(start);
+                } else {
+                    found.add(week);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long readGeneration = generation.get();
+        Map<LocalDate, Map<Integer, EmployeeWeek>> loaded = load(missing);
+        synchronized (weeks) {
+            // A rebuild that ran while the weeks were loading may have replaced them
+            if (readGeneration == generation.get()) {
+                loaded.forEach(weeks::putIfAbsent);
+                while (weeks.size() > maxCachedWeeks) {
+                    weeks.remove(weeks.keySet().iterator().next());
+                }
+            }
+        }
+        found.addAll(loaded.values());
+        return found;
+    }
+
+    private Map<LocalDate, Map<Integer, EmployeeWeek>> load(List<LocalDate> starts) {
+        Map<LocalDate, Map<Integer, Map<Integer, Integer>>> hoursByType = new HashMap<>();
+        Map<LocalDate, Map<Integer, Integer>> dayMasks = new HashMap<>();
+        for (LocalDate start : starts) {
+            hoursByType.put(start, new HashMap<>());
+            dayMasks.put(start, new HashMap<>());
+        }
+
+        for (WorklogWeeklyAggregate aggregate : primaryReads.execute(status -> aggregateRepository.findByWeeks(starts))) {
+            LocalDate week = aggregate.getId().getWeekStart();
+            Integer employeeId = aggregate.getId().getEmployeeId();
+            hoursByType.get(week).computeIfAbsent(employeeId, id -> new HashMap<>())
+                    .merge(aggregate.getId().getWorklogTypeId(), aggregate.getTotalHours(), Integer::sum);
+            dayMasks.get(week).merge(employeeId, aggregate.getDayMask(), (a, b) -> a | b);
+        }
+
+        Map<LocalDate, Map<Integer, EmployeeWeek>> loaded = new LinkedHashMap<>();
+        for (LocalDate start : starts) {
+            Map<Integer, EmployeeWeek> employees = new HashMap<>();
+            hoursByType.get(start).forEach((employeeId, types) -> employees.put(employeeId, new EmployeeWeek(
+                    types.values().stream().mapToInt(Integer::intValue).sum(),
+                    dayMasks.get(start).get(employeeId),
+                    Map.copyOf(types))));
+            loaded.put(start, Map.copyOf(employees));
+        }
+        return loaded;
+    }
+
+    /**
+     * Sealed weeks of a range, summed on demand. from()/to() are the days they cover - for an empty
+     * period both lie past the end of the range, so "not between from and to" keeps every day live.
+     */
+    public static final class SealedPeriod {
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final List<Map<Integer, EmployeeWeek>> weeks;
+
+        private SealedPeriod(LocalDate from, LocalDate to, List<Map<Integer, EmployeeWeek>> weeks) {
+            this.from = from;
+            this.to = to;
+            this.weeks = weeks;
+        }
+
+        static SealedPeriod empty(LocalDate endDate) {
+            return new SealedPeriod(endDate.plusDays(1), endDate.plusDays(1), List.of());
+        }
+
+        public LocalDate from() {
+            return from;
+        }
+
+        public LocalDate to() {
+            return to;
+        }
+
+        public boolean isEmpty() {
+            return weeks.isEmpty();
+        }
+
+        public long hours(int employeeId) {
+            long hours = 0;
+            for (Map<Integer, EmployeeWeek> week : weeks) {
+                EmployeeWeek employee = week.get(employeeId);
+                hours += employee != null ? employee.totalHours() : 0;
+            }
+            return hours;
+        }
+
+        public long daysWorked(int employeeId) {
+            long days = 0;
+            for (Map<Integer, EmployeeWeek> week : weeks) {
+                EmployeeWeek employee = week.get(employeeId);
+                days += employee != null ? Integer.bitCount(employee.dayMask()) : 0;
+            }
+            return days;
+        }
+
+        // Hours per employee, for every employee the predicate accepts
+        public Map<Integer, Long> hoursByEmployee(IntPredicate employees) {
+            Map<Integer, Long> hours = new HashMap<>();
+            for (Map<Integer, EmployeeWeek> week : weeks) {
+                week.forEach((employeeId, employee) -> {
+                    if (employees.test(employeeId)) {
+                        hours.merge(employeeId, (long) employee.totalHours(), Long::sum);
+                    }
+                });
+            }
+            return hours;
+        }
+
+        // Hours per worklog type id, summed over every employee the predicate accepts
+        public Map<Integer, Long> hoursByType(IntPredicate employees) {
+            Map<Integer, Long> hours = new HashMap<>();
+            for (Map<Integer, EmployeeWeek> week : weeks) {
+                week.forEach((employeeId, employee) -> {
+                    if (employees.test(employeeId)) {
+                        employee.hoursByType().forEach((typeId, typeHours) ->
+                                hours.merge(typeId, (long) typeHours, Long::sum));
+                    }
+                });
+            }
+            return hours;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.krontech.worklog.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    // worklogs is a partitioned table (see WorklogPartitionService); schema update and validation skip those otherwise
+    @Bean
+    public HibernatePropertiesCustomizer partitionedTables() {
+        return properties -> properties.put(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES, "PARTITIONED TABLE");
+    }
+}
@@ -1,6 +1,9 @@
 package com.krontech.worklog.config;
 
+import com.krontech.worklog.security.BoundedPasswordEncoder;
+import com.krontech.worklog.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -34,9 +37,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // Raising the strength upgrades stored hashes on each user's next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor,
+                                           @Value("${worklog.auth.bcrypt-strength:10}") int strength) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashingExecutor);
     }
 
     @Bean
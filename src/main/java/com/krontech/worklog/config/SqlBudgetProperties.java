@@ -0,0 +1,30 @@
+package com.krontech.worklog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budgets, e.g.
+ * worklog.sql-budget.endpoints.DashboardController#getDashboard=12
+ * Off unless worklog.sql-budget.enabled=true, as counting proxies every JDBC call.
+ */
+@Component
+@ConfigurationProperties(prefix = "worklog.sql-budget")
+@Data
+public class SqlBudgetProperties {
+
+    private boolean enabled = false;
+
+    // Applies to every endpoint without its own entry
+    private int defaultStatements = 25;
+
+    // Same statement with this many different bind values in one request is reported as a likely N+1
+    private int repeatedStatementThreshold = 3;
+
+    // Keyed by ControllerSimpleName#methodName
+    private Map<String, Integer> endpoints = new HashMap<>();
+}
@@ -0,0 +1,35 @@
+package com.krontech.worklog.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves worklogs_seq past the highest existing worklog id before anything is inserted.
+ * Worklog ids used to come from an identity column, so on an existing database the sequence
+ * Hibernate creates starts below rows that are already there. Never moves the sequence backwards.
+ */
+@Component
+@Slf4j
+public class WorklogIdSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Taking the EntityManagerFactory makes sure the schema (and the sequence) exists first
+    public WorklogIdSequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        Long value = jdbcTemplate.queryForObject("""
+                SELECT setval('worklogs_seq', GREATEST(
+                    (SELECT COALESCE(MAX(id), 0) FROM worklogs),
+                    (SELECT last_value FROM worklogs_seq),
+                    1))
+                """, Long.class);
+        log.info("Worklog id sequence at {}", value);
+    }
+}
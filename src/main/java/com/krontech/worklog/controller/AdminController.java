@@ -0,0 +1,259 @@
+package com.krontech.worklog.controller;
+
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.cache.SealedWeekStore;
+import com.krontech.worklog.dto.request.HolidayCreateRequest;
+import com.krontech.worklog.dto.response.ComplianceReconciliationResponse;
+import com.krontech.worklog.dto.response.DashboardCacheStatsResponse;
+import com.krontech.worklog.dto.response.HolidayResponse;
+import com.krontech.worklog.dto.response.OrganizationSnapshotResponse;
+import com.krontech.worklog.dto.response.OutboxStatusResponse;
+import com.krontech.worklog.dto.response.PasswordHashingStatsResponse;
+import com.krontech.worklog.dto.response.ReferenceDataResponse;
+import com.krontech.worklog.dto.response.ReplicaStatusResponse;
+import com.krontech.worklog.dto.response.RollupConsistencyResponse;
+import com.krontech.worklog.dto.response.RollupRebuildResponse;
+import com.krontech.worklog.dto.response.SealedWeeksResponse;
+import com.krontech.worklog.dto.response.WorklogPartitionsResponse;
+import com.krontech.worklog.routing.ReplicaPool;
+import com.krontech.worklog.security.PasswordHashingExecutor;
+import com.krontech.worklog.security.SecurityUtils;
+import com.krontech.worklog.service.BusinessCalendarService;
+import com.krontech.worklog.service.WorklogOutboxService;
+import com.krontech.worklog.service.WorklogPartitionService;
+import com.krontech.worklog.service.WorklogRollupService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final WorklogRollupService worklogRollupService;
+    private final DashboardCache dashboardCache;
+    private final DailyComplianceTracker complianceTracker;
+    private final BusinessCalendarService businessCalendar;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final ReferenceDataCache referenceData;
+    private final WorklogPartitionService worklogPartitionService;
+    private final SealedWeekStore sealedWeeks;
+    private final ObjectProvider<ReplicaPool> replicaPool;
+    private final WorklogOutboxService worklogOutbox;
+
+    /**
+     * Recompute all daily rollups from the raw worklogs table, then re-seal the closed weeks from them
+     * Blocks worklog writes for the duration of the rebuild
+     */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<RollupRebuildResponse> rebuildRollups() {
+        log.info("Rebuilding worklog rollups");
+        RollupRebuildResponse response = worklogRollupService.rebuild();
+        // Sealed weeks were summed from the old rollups
+        response.setWeeksResealed(sealedWeeks.rebuild());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Compare daily rollups against a fresh aggregation of the worklogs table
+     */
+    @GetMapping("/rollups/consistency")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<RollupConsistencyResponse> checkRollupConsistency() {
+        log.info("Checking worklog rollup consistency");
+        // Changes still in the outbox are not in the rollups yet and would show up as drift
+        worklogOutbox.drain();
+        return ResponseEntity.ok(worklogRollupService.checkConsistency());
+    }
+
+    /**
+     * Re-seal every closed week from the daily rollups, e.g. after rebuilding them
+     */
+    @PostMapping("/sealed-weeks/rebuild")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<SealedWeeksResponse> rebuildSealedWeeks() {
+        log.info("Rebuilding sealed weekly aggregates");
+        int sealed = sealedWeeks.rebuild();
+        return ResponseEntity.ok(SealedWeeksResponse.builder()
+                .weeksSealed(sealed)
+                .sealedThrough(sealedWeeks.sealedThrough())
+                .cachedWeeks(sealedWeeks.cachedWeeks())
+                .sealedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Dashboard cache hit/miss/eviction counters
+     */
+    @GetMapping("/cache/dashboard")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<DashboardCacheStatsResponse> getDashboardCacheStats() {
+        log.info("Getting dashboard cache stats");
+        return ResponseEntity.ok(dashboardCache.stats());
+    }
+
+    /**
+     * Drop every cached dashboard
+     */
+    @DeleteMapping("/cache/dashboard")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clearDashboardCache() {
+        log.info("Clearing dashboard cache");
+        dashboardCache.clear();
+    }
+
+    /**
+     * Re-seed today's "logged today" flags from the database and report drift
+     */
+    @PostMapping("/compliance/reconcile")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<ComplianceReconciliationResponse> reconcileCompliance() {
+        log.info("Reconciling compliance tracker");
+        return ResponseEntity.ok(complianceTracker.reconcile());
+    }
+
+    /**
+     * Holidays of a year - company-wide and the director's own department
+     */
+    @GetMapping("/calendar/holidays")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<List<HolidayResponse>> getHolidays(@RequestParam(required = false) Integer year) {
+        int targetYear = year != null ? year : LocalDate.now().getYear();
+        log.info("Getting holidays for {}", targetYear);
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(businessCalendar.getHolidays(currentUserId, targetYear));
+    }
+
+    /**
+     * Add a holiday, company-wide unless a department is given
+     * - Directors add holidays for their own department
+     * - Company-wide holidays are limited to worklog.calendar.company-editors
+     */
+    @PostMapping("/calendar/holidays")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<HolidayResponse> addHoliday(@Valid @RequestBody HolidayCreateRequest request) {
+        log.info("Adding holiday on {}", request.getDate());
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.status(HttpStatus.CREATED).body(businessCalendar.addHoliday(currentUserId, request));
+    }
+
+    @DeleteMapping("/calendar/holidays/{id}")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteHoliday(@PathVariable Integer id) {
+        log.info("Deleting holiday: {}", id);
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        businessCalendar.deleteHoliday(currentUserId, id);
+    }
+
+    /**
+     * Rebuild the in-memory organization snapshot right away, e.g. after editing employees directly in the database
+     */
+    @PostMapping("/organization/refresh")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<OrganizationSnapshotResponse> refreshOrganization() {
+        log.info("Rebuilding organization snapshot");
+        OrganizationSnapshot snapshot = organizationHierarchy.rebuild();
+        return ResponseEntity.ok(OrganizationSnapshotResponse.builder()
+                .version(snapshot.version())
+                .employees(snapshot.size())
+                .rebuiltAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Reload worklog types, grades and departments into the reference cache, e.g. after editing them in the database
+     */
+    @PostMapping("/reference-data/refresh")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<ReferenceDataResponse> refreshReferenceData() {
+        log.info("Refreshing reference data cache");
+        referenceData.refresh();
+        return ResponseEntity.ok(ReferenceDataResponse.builder()
+                .worklogTypes(referenceData.worklogTypeCount())
+                .grades(referenceData.gradeCount())
+                .departments(referenceData.departmentCount())
+                .loadedAt(referenceData.loadedAt())
+                .build());
+    }
+
+    /**
+     * Login hashing pool: queue depth, hash times and how many logins were turned away
+     */
+    @GetMapping("/auth/hashing")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<PasswordHashingStatsResponse> getPasswordHashingStats() {
+        log.info("Getting password hashing stats");
+        return ResponseEntity.ok(passwordHashingExecutor.stats());
+    }
+
+    /**
+     * Hot and archived worklog months, and how many rows are waiting in the default partition
+     */
+    @GetMapping("/partitions")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<WorklogPartitionsResponse> getWorklogPartitions() {
+        log.info("Getting worklog partitions");
+        return ResponseEntity.ok(worklogPartitionService.status());
+    }
+
+    /**
+     * Run partition maintenance now instead of waiting for the nightly run
+     */
+    @PostMapping("/partitions/maintain")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<WorklogPartitionsResponse> maintainWorklogPartitions() {
+        log.info("Running worklog partition maintenance");
+        return ResponseEntity.ok(worklogPartitionService.maintain());
+    }
+
+    /**
+     * Read replicas with their last measured lag; empty when replica routing is off
+     */
+    @GetMapping("/datasource/replicas")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<List<ReplicaStatusResponse>> getReplicas() {
+        log.info("Getting read replica status");
+        ReplicaPool pool = replicaPool.getIfAvailable();
+        return ResponseEntity.ok(pool != null ? pool.stats() : List.of());
+    }
+
+    /**
+     * Worklog change outbox: events waiting for dispatch and the listeners they go to
+     */
+    @GetMapping("/outbox")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<OutboxStatusResponse> getOutboxStatus() {
+        log.info("Getting worklog outbox status");
+        return ResponseEntity.ok(worklogOutbox.status());
+    }
+
+    /**
+     * Dispatch pending outbox events now, e.g. after fixing a failing listener
+     */
+    @PostMapping("/outbox/drain")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<OutboxStatusResponse> drainOutbox() {
+        log.info("Draining worklog outbox");
+        worklogOutbox.drain();
+        return ResponseEntity.ok(worklogOutbox.status());
+    }
+}
@@ -0,0 +1,38 @@
+package com.krontech.worklog.controller;
+
+import com.krontech.worklog.dto.request.CubeQueryRequest;
+import com.krontech.worklog.dto.response.CubeQueryResponse;
+import com.krontech.worklog.security.SecurityUtils;
+import com.krontech.worklog.service.AnalyticsCubeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+// Only mapped in analytics mode (worklog.cube.enabled)
+@RestController
+@RequestMapping("/api/analytics")
+@ConditionalOnProperty(prefix = "worklog.cube", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final AnalyticsCubeService analyticsCubeService;
+
+    /**
+     * Slice the director's department over a period from the in-memory cube
+     * - groupBy: employee, team, worklogType, date, week, month - comma separated for several levels
+     * - employeeIds / teamLeadIds / worklogTypeIds filter, topN keeps the groups with the most hours
+     * - Defaults to the current month up to today
+     */
+    @GetMapping("/cube")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<CubeQueryResponse> queryCube(@ModelAttribute CubeQueryRequest request) {
+        log.info("Querying department cube by {} from {} to {}",
+                request.getGroupBy(), request.getStartDate(), request.getEndDate());
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(analyticsCubeService.query(currentUserId, request));
+    }
+}
@@ -3,6 +3,7 @@ package com.krontech.worklog.controller;
 import com.krontech.worklog.dto.request.LoginRequest;
 import com.krontech.worklog.dto.response.LoginResponse;
 import com.krontech.worklog.security.CustomUserDetails;
+import com.krontech.worklog.security.UserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -39,7 +40,13 @@ public class AuthController {
                     );
 
             // Authenticate
-            Authentication authentication = authenticationManager.authenticate(authToken);
+            CustomUserDetails userDetails =
+                    (CustomUserDetails) authenticationManager.authenticate(authToken).getPrincipal();
+
+            // Only the slim principal goes into the session - no entity, no password hash
+            UserPrincipal principal = userDetails.principal();
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, null, CustomUserDetails.authorities(principal));
 
             // Create and save context
             SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -67,16 +74,16 @@ public class AuthController {
     }
 
     private LoginResponse buildLoginResponse(Authentication authentication) {
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
         return LoginResponse.builder()
-                .id(userDetails.employee().getId())
-                .email(userDetails.employee().getEmail())
-                .firstName(userDetails.employee().getFirstName())
-                .lastName(userDetails.employee().getLastName())
-                .role(userDetails.employee().getRole().name())
-                .departmentId(userDetails.employee().getDepartment().getId())
-                .departmentName(userDetails.employee().getDepartment().getName())
+                .id(principal.id())
+                .email(principal.email())
+                .firstName(principal.firstName())
+                .lastName(principal.lastName())
+                .role(principal.role().name())
+                .departmentId(principal.departmentId())
+                .departmentName(principal.departmentName())
                 .build();
     }
 }
\ No newline at end of file
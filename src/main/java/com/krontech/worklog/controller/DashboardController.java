@@ -3,14 +3,25 @@
     import com.krontech.worklog.dto.request.DashboardFilterRequest;
     import com.krontech.worklog.dto.response.DashboardResponse;
     import com.krontech.worklog.dto.response.QuickStatsResponse;
+    import com.krontech.worklog.dto.response.UtilizationTrendResponse;
     import com.krontech.worklog.security.SecurityUtils;
+    import com.krontech.worklog.security.UserPrincipal;
+    import com.krontech.worklog.service.DashboardPivotService;
     import com.krontech.worklog.service.DashboardService;
+    import com.krontech.worklog.service.QuickStatsFeed;
+    import com.krontech.worklog.service.UtilizationTrendService;
+    import com.krontech.worklog.service.WorklogExportService;
     import lombok.RequiredArgsConstructor;
     import lombok.extern.slf4j.Slf4j;
     import org.springframework.format.annotation.DateTimeFormat;
+    import org.springframework.http.ContentDisposition;
+    import org.springframework.http.HttpHeaders;
+    import org.springframework.http.MediaType;
     import org.springframework.http.ResponseEntity;
     import org.springframework.security.access.prepost.PreAuthorize;
     import org.springframework.web.bind.annotation.*;
+    import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+    import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
     import java.time.LocalDate;
 
@@ -21,6 +32,9 @@
     public class DashboardController {
 
         private final DashboardService dashboardService;
+        private final QuickStatsFeed quickStatsFeed;
+        private final UtilizationTrendService utilizationTrendService;
+        private final DashboardPivotService dashboardPivotService;
 
         /**
          * Get dashboard data for current user
@@ -43,8 +57,7 @@
             filters.setEndDate(endDate);
             filters.setGroupBy(groupBy);
 
-            Integer currentUserId = SecurityUtils.getCurrentUserId();
-            return ResponseEntity.ok(dashboardService.getDashboard(currentUserId, filters));
+            return ResponseEntity.ok(dashboardService.getDashboard(SecurityUtils.getCurrentUser(), filters));
         }
 
         /**
@@ -82,6 +95,70 @@
             return ResponseEntity.ok(dashboardService.getQuickStats(currentUserId));
         }
 
+        /**
+         * Live quick statistics as Server-Sent Events, replacing polling of /stats/quick
+         * - "quick-stats": the full stats, sent once on connect
+         * - "quick-stats-delta": own hour changes for today and this week
+         * - "team-compliance": team (Team Lead) or department (Director) logged-today counts
+         */
+        @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @PreAuthorize("isAuthenticated()")
+        public SseEmitter streamQuickStats() {
+            UserPrincipal user = SecurityUtils.getCurrentUser();
+            log.info("Opening quick stats stream for user: {}", user.id());
+
+            // Read after subscribing, so no change committed while the initial stats are read is missed
+            return quickStatsFeed.subscribe(user, () -> dashboardService.getQuickStats(user.id()));
+        }
+
+        /**
+         * Hours, days worked and utilization per week or month, as parallel arrays
+         * - Own trend by default, or one employee / team / department the caller can see
+         * - Defaults to the last 52 weeks or 12 months
+         */
+        @GetMapping("/trend")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<UtilizationTrendResponse> getTrend(
+                @RequestParam(defaultValue = "week") String granularity,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                @RequestParam(required = false) Integer employeeId,
+                @RequestParam(required = false) Integer teamLeadId,
+                @RequestParam(required = false) Integer departmentId) {
+
+            log.info("Getting {} trend from {} to {}", granularity, startDate, endDate);
+
+            Integer currentUserId = SecurityUtils.getCurrentUserId();
+            return ResponseEntity.ok(utilizationTrendService.getTrend(currentUserId,
+                    UtilizationTrendService.Granularity.from(granularity),
+                    startDate, endDate, employeeId, teamLeadId, departmentId));
+        }
+
+        /**
+         * Hours, entries and days worked grouped by groupBy, streamed as CSV or NDJSON rows
+         * - groupBy: employee, worklogType, date, team - comma separated for several levels, e.g. team,worklogType
+         * - employeeId / teamLeadId narrow to one employee or team the caller can see
+         */
+        @GetMapping("/pivot")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<StreamingResponseBody> getPivot(
+                @ModelAttribute DashboardFilterRequest filters,
+                @RequestParam(defaultValue = "ndjson") String format) {
+
+            log.info("Getting dashboard pivot by {} from {} to {}",
+                    filters.getGroupBy(), filters.getStartDate(), filters.getEndDate());
+
+            Integer currentUserId = SecurityUtils.getCurrentUserId();
+            WorklogExportService.Format outputFormat = WorklogExportService.Format.from(format);
+            DashboardPivotService.PivotQuery query = dashboardPivotService.prepare(currentUserId, filters);
+
+            return ResponseEntity.ok()
+                    .contentType(outputFormat.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                            .filename(dashboardPivotService.fileName(query, outputFormat)).build().toString())
+                    .body(dashboardPivotService.stream(query, outputFormat));
+        }
+
         /**
          * Get team dashboard (Team Lead and Director)
          */
@@ -99,7 +176,6 @@
             filters.setEndDate(endDate);
             filters.setTeamLeadId(teamLeadId);
 
-            Integer currentUserId = SecurityUtils.getCurrentUserId();
-            return ResponseEntity.ok(dashboardService.getDashboard(currentUserId, filters));
+            return ResponseEntity.ok(dashboardService.getDashboard(SecurityUtils.getCurrentUser(), filters));
         }
     }
\ No newline at end of file
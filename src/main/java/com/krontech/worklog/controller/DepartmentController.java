@@ -61,7 +61,6 @@ public class DepartmentController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserDepartmentResponse> getMyDepartment() {
         log.info("Getting current user's department");
-        Integer currentUserId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(departmentService.getUserDepartment(currentUserId));
+        return ResponseEntity.ok(departmentService.getUserDepartment(SecurityUtils.getCurrentUser().departmentId()));
     }
 }
\ No newline at end of file
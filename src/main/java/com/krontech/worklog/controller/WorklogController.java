@@ -1,18 +1,25 @@
 package com.krontech.worklog.controller;
 
+import com.krontech.worklog.dto.request.WorklogBatchCreateRequest;
 import com.krontech.worklog.dto.request.WorklogCreateRequest;
 import com.krontech.worklog.dto.request.WorklogUpdateRequest;
+import com.krontech.worklog.dto.response.WorklogBatchResponse;
+import com.krontech.worklog.dto.response.WorklogPageResponse;
 import com.krontech.worklog.dto.response.WorklogResponse;
 import com.krontech.worklog.security.SecurityUtils;
+import com.krontech.worklog.service.WorklogExportService;
 import com.krontech.worklog.service.WorklogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,6 +31,7 @@ import java.util.List;
 public class WorklogController {
 
     private final WorklogService worklogService;
+    private final WorklogExportService worklogExportService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'TEAM_LEAD', 'DIRECTOR')")
@@ -34,6 +42,17 @@ public class WorklogController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // A whole timesheet at once: 201 when every entry was saved, 400 with per-entry errors when none was
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'TEAM_LEAD', 'DIRECTOR')")
+    public ResponseEntity<WorklogBatchResponse> createWorklogs(@Valid @RequestBody WorklogBatchCreateRequest request) {
+        log.info("Creating {} worklogs in one batch", request.getEntries().size());
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        WorklogBatchResponse response = worklogService.createWorklogs(currentUserId, request);
+        HttpStatus status = response.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/my")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<WorklogResponse>> getMyWorklogs(
@@ -44,6 +63,17 @@ public class WorklogController {
         return ResponseEntity.ok(worklogService.getEmployeeWorklogs(currentUserId, startDate, endDate));
     }
 
+    @GetMapping("/archive")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<WorklogResponse>> getArchivedWorklogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer employeeId) {
+        log.info("Getting archived worklogs from {} to {}", startDate, endDate);
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(worklogService.getArchivedWorklogs(currentUserId, employeeId, startDate, endDate));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<WorklogResponse> getWorklogById(@PathVariable Integer id) {
@@ -82,29 +112,76 @@ public class WorklogController {
         worklogService.deleteWorklog(id, currentUserId);
     }
 
-    // Get team worklogs (Team Lead and Director)
+    // Get team worklogs (Team Lead and Director), newest first, one page per call
     @GetMapping("/team")
     @PreAuthorize("hasAnyRole('TEAM_LEAD', 'DIRECTOR')")
-    public ResponseEntity<List<WorklogResponse>> getTeamWorklogs(
+    public ResponseEntity<WorklogPageResponse> getTeamWorklogs(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Integer employeeId) {
+            @RequestParam(required = false) Integer employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int pageSize) {
         log.info("Getting team worklogs from {} to {}", startDate, endDate);
         Integer currentUserId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(worklogService.getTeamWorklogs(currentUserId, startDate, endDate, employeeId));
+        return ResponseEntity.ok(worklogService.getTeamWorklogs(
+                currentUserId, startDate, endDate, employeeId, cursor, pageSize));
     }
 
-    // Get department worklogs (Director only)
+    // Get department worklogs (Director only), newest first, one page per call
     @GetMapping("/department")
     @PreAuthorize("hasRole('DIRECTOR')")
-    public ResponseEntity<List<WorklogResponse>> getDepartmentWorklogs(
+    public ResponseEntity<WorklogPageResponse> getDepartmentWorklogs(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) Integer teamLeadId,
-            @RequestParam(required = false) Integer employeeId) {
+            @RequestParam(required = false) Integer employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int pageSize) {
         log.info("Getting department worklogs from {} to {}", startDate, endDate);
         Integer currentUserId = SecurityUtils.getCurrentUserId();
         return ResponseEntity.ok(worklogService.getDepartmentWorklogs(
-                currentUserId, startDate, endDate, teamLeadId, employeeId));
+                currentUserId, startDate, endDate, teamLeadId, employeeId, cursor, pageSize));
+    }
+
+    // Stream team worklogs as CSV or NDJSON (Team Lead and Director)
+    @GetMapping("/team/export")
+    @PreAuthorize("hasAnyRole('TEAM_LEAD', 'DIRECTOR')")
+    public ResponseEntity<StreamingResponseBody> exportTeamWorklogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer employeeId,
+            @RequestParam(defaultValue = "csv") String format) {
+        log.info("Exporting team worklogs from {} to {} as {}", startDate, endDate, format);
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        WorklogExportService.Scope scope = worklogExportService.resolveTeamScope(currentUserId, employeeId);
+        return export(scope, startDate, endDate, WorklogExportService.Format.from(format));
+    }
+
+    // Stream department worklogs as CSV or NDJSON (Director only)
+    @GetMapping("/department/export")
+    @PreAuthorize("hasRole('DIRECTOR')")
+    public ResponseEntity<StreamingResponseBody> exportDepartmentWorklogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer teamLeadId,
+            @RequestParam(required = false) Integer employeeId,
+            @RequestParam(defaultValue = "csv") String format) {
+        log.info("Exporting department worklogs from {} to {} as {}", startDate, endDate, format);
+        Integer currentUserId = SecurityUtils.getCurrentUserId();
+        WorklogExportService.Scope scope = worklogExportService.resolveDepartmentScope(
+                currentUserId, teamLeadId, employeeId);
+        return export(scope, startDate, endDate, WorklogExportService.Format.from(format));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(WorklogExportService.Scope scope, LocalDate startDate,
+                                                         LocalDate endDate, WorklogExportService.Format format) {
+        StreamingResponseBody body = worklogExportService.export(scope, startDate, endDate, format);
+        String fileName = worklogExportService.fileName(scope, startDate, endDate, format);
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDate;
+
+// A worklog read from worklogs_archive - archived rows are never loaded as entities
+public interface ArchivedWorklogProjection {
+    Integer getId();
+    Integer getEmployeeId();
+    String getEmployeeName();
+    Integer getWorklogTypeId();
+    LocalDate getWorkDate();
+    Integer getHoursWorked();
+    String getDescription();
+    String getProjectName();
+}
@@ -0,0 +1,10 @@
+package com.krontech.worklog.dto.projection;
+
+import com.krontech.worklog.entity.Role;
+
+public interface DepartmentMemberProjection {
+    Integer getId();
+    String getFirstName();
+    String getLastName();
+    Role getRole();
+}
@@ -0,0 +1,16 @@
+package com.krontech.worklog.dto.projection;
+
+import com.krontech.worklog.entity.Role;
+
+public interface EmployeeAccountProjection {
+    Integer getId();
+    String getEmail();
+    String getPassword();
+    Role getRole();
+    Boolean getIsActive();
+    String getFirstName();
+    String getLastName();
+    Integer getDepartmentId();
+    String getDepartmentName();
+    Integer getTeamLeadId();
+}
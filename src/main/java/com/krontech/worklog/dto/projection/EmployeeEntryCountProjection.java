@@ -0,0 +1,6 @@
+package com.krontech.worklog.dto.projection;
+
+public interface EmployeeEntryCountProjection {
+    Integer getEmployeeId();
+    Long getEntries();
+}
@@ -0,0 +1,11 @@
+package com.krontech.worklog.dto.projection;
+
+import com.krontech.worklog.entity.Role;
+
+public interface EmployeeHierarchyRowProjection {
+    Integer getId();
+    Role getRole();
+    Boolean getIsActive();
+    Integer getDepartmentId();
+    Integer getTeamLeadId();
+}
@@ -0,0 +1,8 @@
+package com.krontech.worklog.dto.projection;
+
+public interface EmployeeHoursProjection {
+    Integer getEmployeeId();
+    Integer getTeamLeadId();
+    Long getTotalHours();
+    Long getDaysWorked();
+}
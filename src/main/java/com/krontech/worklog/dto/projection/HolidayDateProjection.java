@@ -0,0 +1,8 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDate;
+
+public interface HolidayDateProjection {
+    LocalDate getHolidayDate();
+    Integer getDepartmentId(); // null for company-wide holidays
+}
@@ -0,0 +1,8 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface OrganizationFingerprintProjection {
+    Long getEmployeeCount();
+    LocalDateTime getLastUpdated();
+}
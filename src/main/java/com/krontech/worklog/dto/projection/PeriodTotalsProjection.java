@@ -0,0 +1,6 @@
+package com.krontech.worklog.dto.projection;
+
+public interface PeriodTotalsProjection {
+    Long getTotalHours();
+    Long getDaysWorked();
+}
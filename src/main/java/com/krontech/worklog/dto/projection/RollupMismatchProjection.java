@@ -0,0 +1,13 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDate;
+
+public interface RollupMismatchProjection {
+    Integer getEmployeeId();
+    LocalDate getWorkDate();
+    Integer getWorklogTypeId();
+    Integer getRollupHours();
+    Integer getRollupEntries();
+    Integer getActualHours();
+    Integer getActualEntries();
+}
@@ -4,6 +4,7 @@ public interface TeamMemberProjection {
     Integer getId();
     String getFirstName();
     String getLastName();
+    String getGradeTitle();
     Long getTotalHours();
     Long getDaysWorked();
 }
\ No newline at end of file
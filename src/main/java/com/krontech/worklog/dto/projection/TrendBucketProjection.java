@@ -0,0 +1,10 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDate;
+
+// One week or month of a trend; buckets without any hours are not returned
+public interface TrendBucketProjection {
+    LocalDate getBucketStart();
+    Long getTotalHours();
+    Long getDaysWorked();
+}
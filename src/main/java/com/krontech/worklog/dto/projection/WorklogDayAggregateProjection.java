@@ -0,0 +1,16 @@
+package com.krontech.worklog.dto.projection;
+
+import java.time.LocalDate;
+
+// Everything createWorklog validates against, for one employee and day, in a single row
+public interface WorklogDayAggregateProjection {
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    String getFirstName();
+    String getLastName();
+    Integer getTeamLeadId();
+    Integer getDepartmentId();
+    Long getDayHours();
+    Long getSameTypeEntries();
+    Long getDuplicates();
+}
@@ -0,0 +1,22 @@
+package com.krontech.worklog.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Flat, unmanaged worklog row for exports - never enters the persistence context
+@Data
+@AllArgsConstructor
+public class WorklogExportRow {
+    private Integer id;
+    private LocalDate workDate;
+    private Integer employeeId;
+    private String employeeCode;
+    private String employeeName;
+    private Integer teamLeadId;
+    private String worklogTypeName;
+    private Integer hoursWorked;
+    private String projectName;
+    private String description;
+}
@@ -0,0 +1,22 @@
+package com.krontech.worklog.dto.request;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class CubeQueryRequest {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private String groupBy; // "employee", "team", "worklogType", "date", "week", "month" - comma separated
+    private List<Integer> employeeIds; // Filters, empty means all
+    private List<Integer> teamLeadIds;
+    private List<Integer> worklogTypeIds;
+    private Integer topN; // Highest hours first, all groups when not set
+}
@@ -14,5 +14,5 @@ public class DashboardFilterRequest {
 
     private Integer employeeId; // For team lead/director filtering
     private Integer teamLeadId; // For director filtering by team
-    private String groupBy; // "employee", "worklogType", "date", "team"
+    private String groupBy; // "employee", "worklogType", "date", "team" - comma separated for several levels
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.krontech.worklog.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class HolidayCreateRequest {
+    @NotNull(message = "Holiday date is required")
+    private LocalDate date;
+
+    @NotBlank(message = "Holiday name is required")
+    @Size(max = 200, message = "Holiday name cannot exceed 200 characters")
+    private String name;
+
+    private Integer departmentId; // Leave empty for a company-wide holiday
+}
@@ -0,0 +1,15 @@
+package com.krontech.worklog.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WorklogBatchCreateRequest {
+    // Entries are validated one by one so every problem can be reported against its index
+    @NotEmpty(message = "At least one worklog entry is required")
+    @Size(max = 100, message = "A batch cannot contain more than 100 entries")
+    private List<WorklogCreateRequest> entries;
+}
@@ -0,0 +1,21 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplianceReconciliationResponse {
+    private LocalDate day;
+    private Integer trackedEmployees;
+    private Integer employeesLogged;
+    private Integer driftedEmployees; // Employees whose in-memory flag disagreed with the database
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,35 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeQueryResponse {
+    private Integer departmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<String> groupBy;
+    private List<Group> groups; // Highest hours first
+    private Integer matchedGroups; // Before topN
+    private Long totalHours; // Of every matched group
+    private Integer rowsScanned;
+    private LocalDateTime cubeLoadedAt;
+    private Long durationMs;
+
+    @Data
+    @Builder
+    public static class Group {
+        private List<Object> keys; // One per groupBy level: employee/team lead/type id, or first day of the date bucket
+        private Long hours;
+        private Long entries;
+    }
+}
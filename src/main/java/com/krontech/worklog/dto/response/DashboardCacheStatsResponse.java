@@ -0,0 +1,21 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardCacheStatsResponse {
+    private Integer size;
+    private Integer maxSize;
+    private Long hits;
+    private Long misses;
+    private Long evictions; // Removed to stay within maxSize
+    private Long expirations; // Removed after exceeding the time-to-live
+    private Long invalidations; // Removed because a worklog in scope changed
+    private Double hitRate;
+}
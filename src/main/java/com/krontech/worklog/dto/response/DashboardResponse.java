@@ -6,10 +6,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DashboardResponse {
@@ -27,8 +29,35 @@ public class DashboardResponse {
     private DepartmentStatistics departmentStats;
     private TeamPerformanceInsights teamPerformanceInsights;
 
+    // Deep copy - cached dashboards are shared, callers get their own mutable instance
+    public DashboardResponse copy() {
+        return toBuilder()
+                .currentUser(currentUser != null ? currentUser.toBuilder().build() : null)
+                .periodSummary(periodSummary != null ? periodSummary.toBuilder().build() : null)
+                .worklogTypeBreakdown(copyOf(worklogTypeBreakdown, breakdown -> breakdown.toBuilder().build()))
+                .recentWorklogs(copyOf(recentWorklogs, worklog -> worklog.toBuilder().build()))
+                .teamMembers(copyOf(teamMembers, member -> member.toBuilder().build()))
+                .teamStats(teamStats != null ? teamStats.toBuilder().build() : null)
+                .teamLeads(copyOf(teamLeads, lead -> lead.toBuilder().build()))
+                .departmentStats(departmentStats != null ? departmentStats.toBuilder().build() : null)
+                .teamPerformanceInsights(teamPerformanceInsights != null
+                        ? teamPerformanceInsights.toBuilder().build() : null)
+                .build();
+    }
+
+    private static <T> List<T> copyOf(List<T> items, UnaryOperator<T> copier) {
+        if (items == null) {
+            return null;
+        }
+        List<T> copy = new ArrayList<>(items.size());
+        for (T item : items) {
+            copy.add(copier.apply(item));
+        }
+        return copy;
+    }
+
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class EmployeeSummary {
         private Integer id;
         private String name;
@@ -37,7 +66,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class PeriodSummary {
         private Integer totalHours;
         private Double totalDays;
@@ -48,7 +77,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class WorklogTypeBreakdown {
         private String typeName;
         private Integer hours;
@@ -56,7 +85,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class RecentWorklog {
         private LocalDate date;
         private String type;
@@ -66,7 +95,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class TeamMemberSummary {
         private Integer id;
         private String name;
@@ -77,7 +106,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class TeamStatistics {
         private Integer teamSize;
         private Integer totalTeamHours;
@@ -86,7 +115,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class TeamLeadSummary {
         private Integer id;
         private String name;
@@ -97,7 +126,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class DepartmentStatistics {
         private Integer totalEmployees;
         private Integer totalTeamLeads;
@@ -108,7 +137,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class TeamPerformanceInsights {
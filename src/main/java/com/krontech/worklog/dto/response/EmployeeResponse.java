@@ -1,5 +1,6 @@
 package com.krontech.worklog.dto.response;
 
+import com.krontech.worklog.cache.ReferenceDataCache;
 import com.krontech.worklog.entity.Employee;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +30,10 @@ public class EmployeeResponse {
     private LocalDate startDate;
     private LocalDate endDate;
 
-    public static EmployeeResponse from(Employee employee) {
+    // Grade and department names through the reference cache instead of loading either entity
+    public static EmployeeResponse from(Employee employee, ReferenceDataCache referenceData) {
+        Integer departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+
         return EmployeeResponse.builder()
                 .id(employee.getId())
                 .employeeCode(employee.getEmployeeCode())
@@ -37,12 +41,12 @@ public class EmployeeResponse {
                 .lastName(employee.getLastName())
                 .fullName(employee.getFullName())
                 .email(employee.getEmail())
-                .grade(employee.getGrade().getTitle())
+                .grade(referenceData.gradeTitle(employee.getGrade().getId()))
                 .role(employee.getRole().getDisplayName())
                 .teamLeadId(employee.getTeamLead() != null ? employee.getTeamLead().getId() : null)
                 .teamLeadName(employee.getTeamLead() != null ? employee.getTeamLead().getFullName() : null)
-                .departmentId(employee.getDepartment().getId())
-                .departmentName(employee.getDepartment().getName())
+                .departmentId(departmentId)
+                .departmentName(referenceData.departmentName(departmentId))
                 .isActive(employee.getIsActive())
                 .startDate(employee.getStartDate())
                 .endDate(employee.getEndDate())
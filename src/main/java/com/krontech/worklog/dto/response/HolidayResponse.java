@@ -0,0 +1,31 @@
+package com.krontech.worklog.dto.response;
+
+import com.krontech.worklog.entity.Holiday;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayResponse {
+    private Integer id;
+    private LocalDate date;
+    private String name;
+    private Integer departmentId;
+    private String departmentName;
+
+    public static HolidayResponse from(Holiday holiday) {
+        return HolidayResponse.builder()
+                .id(holiday.getId())
+                .date(holiday.getHolidayDate())
+                .name(holiday.getName())
+                .departmentId(holiday.getDepartment() != null ? holiday.getDepartment().getId() : null)
+                .departmentName(holiday.getDepartment() != null ? holiday.getDepartment().getName() : null)
+                .build();
+    }
+}
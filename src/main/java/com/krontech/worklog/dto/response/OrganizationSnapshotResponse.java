@@ -0,0 +1,18 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationSnapshotResponse {
+    private Long version;
+    private Integer employees;
+    private LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,23 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatusResponse {
+    private Long pendingEvents;
+    private LocalDateTime oldestPendingAt;
+    private LocalDateTime lastDispatchedAt;
+    private Long dispatchedSinceStart;
+    private Long failedBatchesSinceStart;
+    private List<String> listeners;
+    private LocalDateTime checkedAt;
+}
@@ -0,0 +1,23 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStatsResponse {
+    private Integer threads;
+    private Integer queueCapacity;
+    private Integer queued; // Waiting for a hashing thread right now
+    private Integer active; // Hashing right now
+    private Long completed;
+    private Long rejected; // Turned away with 503 because the queue was full
+    private Long timedOut; // Gave up waiting for a hashing thread
+    private Double averageHashMillis;
+    private Double maxHashMillis;
+    private Double averageQueueWaitMillis;
+}
@@ -0,0 +1,29 @@
+package com.krontech.worklog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.krontech.worklog.event.WorklogChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pushed over the quick stats stream; only the fields that apply to the receiving group are set
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuickStatsDeltaResponse {
+    private Integer employeeId;
+    private ChangeType changeType;
+
+    // Own stats - add to the last quick stats received
+    private Integer todayHoursDelta;
+    private Integer weekHoursDelta;
+    private Boolean hasLoggedToday;
+
+    // Team / department compliance - current totals, not deltas
+    private Boolean employeeLoggedToday;
+    private Integer teamSize;
+    private Integer teamMembersLoggedToday;
+}
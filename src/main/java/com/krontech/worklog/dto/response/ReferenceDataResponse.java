@@ -0,0 +1,19 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataResponse {
+    private Integer worklogTypes;
+    private Integer grades;
+    private Integer departments;
+    private LocalDateTime loadedAt;
+}
@@ -0,0 +1,18 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaStatusResponse {
+    private String name;
+    private String url;
+    private Boolean available;
+    private Long lagMs;
+    private Integer activeConnections;
+}
@@ -0,0 +1,33 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupConsistencyResponse {
+    private Boolean consistent;
+    private Integer mismatchCount; // Capped at the check limit
+    private List<Mismatch> mismatches;
+    private LocalDateTime checkedAt;
+
+    @Data
+    @Builder
+    public static class Mismatch {
+        private Integer employeeId;
+        private LocalDate workDate;
+        private Integer worklogTypeId;
+        private Integer rollupHours;
+        private Integer rollupEntries;
+        private Integer actualHours;
+        private Integer actualEntries;
+    }
+}
@@ -0,0 +1,20 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResponse {
+    private Integer rowsRemoved;
+    private Integer rowsWritten;
+    private Integer weeksResealed;
+    private Long durationMs;
+    private LocalDateTime rebuiltAt;
+}
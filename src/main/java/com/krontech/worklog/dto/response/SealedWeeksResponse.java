@@ -0,0 +1,20 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SealedWeeksResponse {
+    private Integer weeksSealed;
+    private LocalDate sealedThrough;
+    private Integer cachedWeeks;
+    private LocalDateTime sealedAt;
+}
@@ -0,0 +1,27 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Parallel arrays, one element per bucket - bucketStarts[i] is the first day of bucket i inside the range
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationTrendResponse {
+    private String scope; // "employee", "team", "department"
+    private Integer scopeId;
+    private String granularity; // "week", "month"
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer headcount;
+    private LocalDate[] bucketStarts;
+    private long[] hours;
+    private long[] daysWorked;
+    private long[] workingDays;
+    private double[] utilization;
+}
@@ -0,0 +1,25 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogBatchResponse {
+    // All entries are saved or none: created is empty whenever errors is not
+    private List<WorklogResponse> created;
+    private List<EntryError> errors;
+
+    @Data
+    @Builder
+    public static class EntryError {
+        private Integer index; // Position in the submitted entries
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogPageResponse {
+    private List<WorklogResponse> items;
+    private String nextCursor; // Opaque, pass back as "cursor" for the next page; null on the last page
+    private Boolean hasMore;
+}
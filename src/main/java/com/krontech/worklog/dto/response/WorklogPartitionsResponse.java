@@ -0,0 +1,22 @@
+package com.krontech.worklog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogPartitionsResponse {
+    private List<String> hotMonths;
+    private List<String> archivedMonths;
+    private Long defaultPartitionRows;
+    private Integer monthsAhead;
+    private Integer retentionMonths;
+    private LocalDateTime checkedAt;
+}
@@ -1,5 +1,6 @@
 package com.krontech.worklog.dto.response;
 
+import com.krontech.worklog.cache.ReferenceDataCache;
 import com.krontech.worklog.entity.Worklog;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,13 +25,20 @@ public class WorklogResponse {
     private String projectName;
     private Boolean isEditable;
 
-    public static WorklogResponse from(Worklog worklog) {
+    // Type name through the reference cache, the worklog type itself is never loaded
+    public static WorklogResponse from(Worklog worklog, ReferenceDataCache referenceData) {
+        return from(worklog, worklog.getEmployee().getFullName(),
+                referenceData.worklogTypeName(worklog.getWorklogType().getId()));
+    }
+
+    // Names supplied by the caller, so unloaded employee / type references stay unloaded
+    public static WorklogResponse from(Worklog worklog, String employeeName, String worklogTypeName) {
         return WorklogResponse.builder()
                 .id(worklog.getId())
                 .employeeId(worklog.getEmployee().getId())
-                .employeeName(worklog.getEmployee().getFullName())
+                .employeeName(employeeName)
                 .worklogTypeId(worklog.getWorklogType().getId())
-                .worklogTypeName(worklog.getWorklogType().getName())
+                .worklogTypeName(worklogTypeName)
                 .workDate(worklog.getWorkDate())
                 .hoursWorked(worklog.getHoursWorked())
                 .daysWorked(worklog.getWorkDays())
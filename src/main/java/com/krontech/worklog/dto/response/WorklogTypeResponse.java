@@ -1,6 +1,6 @@
 package com.krontech.worklog.dto.response;
 
-import com.krontech.worklog.entity.WorklogType;
+import com.krontech.worklog.cache.ReferenceDataCache;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,12 +16,12 @@ public class WorklogTypeResponse {
     private String code;
     private Boolean isActive;
 
-    public static WorklogTypeResponse from(WorklogType type) {
+    public static WorklogTypeResponse from(ReferenceDataCache.WorklogTypeInfo type) {
         return WorklogTypeResponse.builder()
-                .id(type.getId())
-                .name(type.getName())
-                .code(type.getCode())
-                .isActive(type.getIsActive())
+                .id(type.id())
+                .name(type.name())
+                .code(type.code())
+                .isActive(type.active())
                 .build();
     }
-}
\ No newline at end of file
+}
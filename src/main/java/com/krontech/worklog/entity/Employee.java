@@ -36,7 +36,8 @@ public class Employee {
     @Column(nullable = false)
     private String password;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Reference data - names come from ReferenceDataCache, only the id is read here
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "grade_id", nullable = false)
     private Grade grade;
 
@@ -47,7 +48,7 @@ public class Employee {
     @OneToMany(mappedBy = "teamLead", fetch = FetchType.LAZY)
     private List<Employee> subordinates = new ArrayList<>();
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
@@ -0,0 +1,47 @@
+package com.krontech.worklog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A non-working day on top of the weekend.
+ * Holidays without a department apply company-wide, the rest only to their department.
+ * uk_holidays_date_department treats NULL departments as distinct, so company-wide dates are kept
+ * unique by the partial index uk_holidays_company_date, created by BusinessCalendarService.
+ */
+@Entity
+@Table(name = "holidays",
+        uniqueConstraints = @UniqueConstraint(name = "uk_holidays_date_department",
+                columnNames = {"holiday_date", "department_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(exclude = {"department"})
+@ToString(exclude = {"department"})
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    private Department department; // null for company-wide holidays
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.*;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 
 @Entity
-@Table(name = "worklogs")
+@Table(name = "worklogs",
+        indexes = {
+                // Keyset pagination walks (work_date, id) backwards, per employee or across a range
+                @Index(name = "idx_worklogs_employee_work_date_id", columnList = "employee_id, work_date, id"),
+                @Index(name = "idx_worklogs_work_date_id", columnList = "work_date, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,15 +24,20 @@ import java.time.LocalDateTime;
 @ToString(exclude = {"employee", "worklogType"})
 public class Worklog {
 
+    public static final int EDIT_WINDOW_DAYS = 7;
+
+    // Pooled sequence instead of IDENTITY: ids are known before the INSERT, so inserts can be JDBC-batched.
+    // Sized to match the sequence's INCREMENT BY; WorklogIdSequence keeps it ahead of existing rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "worklog_id")
+    @SequenceGenerator(name = "worklog_id", sequenceName = "worklogs_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @ManyToOne(fetch = FetchType.EAGER) // Always load worklog type
+    @ManyToOne(fetch = FetchType.LAZY) // Name comes from ReferenceDataCache
     @JoinColumn(name = "worklog_type_id", nullable = false)
     private WorklogType worklogType;
 
@@ -66,6 +78,22 @@ public class Worklog {
 
     // Check if worklog is editable (e.g., within last 7 days)
     public boolean isEditable() {
-        return workDate.isAfter(LocalDate.now().minusDays(7));
+        return isEditable(workDate);
+    }
+
+    public static boolean isEditable(LocalDate workDate) {
+        return workDate.isAfter(LocalDate.now().minusDays(EDIT_WINDOW_DAYS));
+    }
+
+    // A week is closed once its Sunday has left the edit window - nothing in it can change any more
+    public static boolean isInClosedWeek(LocalDate workDate) {
+        return !isEditable(workDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+    }
+
+    // Monday of the most recent closed week
+    public static LocalDate lastClosedWeek() {
+        return LocalDate.now().minusDays(EDIT_WINDOW_DAYS)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY))
+                .minusDays(6);
     }
 }
\ No newline at end of file
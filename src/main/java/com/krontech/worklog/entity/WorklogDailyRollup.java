@@ -0,0 +1,40 @@
+package com.krontech.worklog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Pre-aggregated hours per (employee, work date, worklog type).
+ * Maintained by WorklogRollupService from the worklog outbox, shortly after every worklog write,
+ * so dashboards can sum a few small rows instead of re-scanning raw worklogs.
+ */
+@Entity
+@Table(name = "worklog_daily_rollups",
+        indexes = @Index(name = "idx_worklog_daily_rollups_work_date", columnList = "work_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(exclude = {"employee", "worklogType"})
+@ToString(exclude = {"employee", "worklogType"})
+public class WorklogDailyRollup {
+
+    @EmbeddedId
+    private WorklogDailyRollupId id;
+
+    @MapsId("employeeId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @MapsId("worklogTypeId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "worklog_type_id", nullable = false)
+    private WorklogType worklogType;
+
+    @Column(name = "total_hours", nullable = false)
+    private Integer totalHours;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+}
@@ -0,0 +1,96 @@
+package com.krontech.worklog.entity;
+
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A worklog change written in the same transaction as the change itself, flat so the row stays small
+@Entity
+@Table(name = "worklog_outbox",
+        indexes = @Index(name = "idx_worklog_outbox_pending", columnList = "dispatched_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorklogOutboxEvent {
+
+    // Identity on purpose: the id is drawn at INSERT time, after the per-employee lock, so it follows commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    @Column(name = "worklog_id", nullable = false)
+    private Integer worklogId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Integer employeeId;
+
+    @Column(name = "team_lead_id")
+    private Integer teamLeadId;
+
+    @Column(name = "department_id")
+    private Integer departmentId;
+
+    @Column(name = "before_work_date")
+    private LocalDate beforeWorkDate;
+
+    @Column(name = "before_worklog_type_id")
+    private Integer beforeWorklogTypeId;
+
+    @Column(name = "before_hours")
+    private Integer beforeHours;
+
+    @Column(name = "after_work_date")
+    private LocalDate afterWorkDate;
+
+    @Column(name = "after_worklog_type_id")
+    private Integer afterWorklogTypeId;
+
+    @Column(name = "after_hours")
+    private Integer afterHours;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    public static WorklogOutboxEvent of(WorklogChangedEvent event) {
+        WorklogChangedEvent.State before = event.before();
+        WorklogChangedEvent.State after = event.after();
+        return WorklogOutboxEvent.builder()
+                .changeType(event.changeType())
+                .worklogId(event.worklogId())
+                .employeeId(event.employeeId())
+                .teamLeadId(event.teamLeadId())
+                .departmentId(event.departmentId())
+                .beforeWorkDate(before != null ? before.workDate() : null)
+                .beforeWorklogTypeId(before != null ? before.worklogTypeId() : null)
+                .beforeHours(before != null ? before.hoursWorked() : null)
+                .afterWorkDate(after != null ? after.workDate() : null)
+                .afterWorklogTypeId(after != null ? after.worklogTypeId() : null)
+                .afterHours(after != null ? after.hoursWorked() : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public WorklogChangedEvent toEvent() {
+        return new WorklogChangedEvent(
+                changeType,
+                worklogId,
+                employeeId,
+                teamLeadId,
+                departmentId,
+                beforeWorkDate != null ? new WorklogChangedEvent.State(beforeWorkDate, beforeWorklogTypeId, beforeHours) : null,
+                afterWorkDate != null ? new WorklogChangedEvent.State(afterWorkDate, afterWorklogTypeId, afterHours) : null
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.krontech.worklog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per sealed week, so weeks without any hours count as sealed too
+@Entity
+@Table(name = "worklog_sealed_weeks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorklogSealedWeek {
+
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    @Column(name = "sealed_at", nullable = false)
+    private LocalDateTime sealedAt;
+}
@@ -0,0 +1,31 @@
+package com.krontech.worklog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Hours per (week, employee, worklog type) of a closed week, sealed once from the daily rollups.
+ * Closed weeks cannot change (see Worklog.isInClosedWeek), so these rows are never updated.
+ * Team and department figures are summed from them at read time, against current membership.
+ */
+@Entity
+@Table(name = "worklog_weekly_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorklogWeeklyAggregate {
+
+    @EmbeddedId
+    private WorklogWeeklyAggregateId id;
+
+    @Column(name = "total_hours", nullable = false)
+    private Integer totalHours;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    // Bit 0 = Monday ... bit 6 = Sunday, set for every day with hours of this type
+    @Column(name = "day_mask", nullable = false)
+    private Integer dayMask;
+}
@@ -0,0 +1,15 @@
+package com.krontech.worklog.event;
+
+import java.util.List;
+
+/**
+ * Receives worklog changes from the outbox, asynchronously and in commit order per employee.
+ * Called inside the dispatching transaction: database writes made here commit together with the
+ * events being marked dispatched, so they happen exactly once. If any listener throws, the batch
+ * is rolled back for every listener and delivered again later. In-memory effects should wait for
+ * commit (or be rebuildable), since a rolled back batch is redelivered.
+ */
+public interface WorklogChangeListener {
+
+    void onWorklogChanges(List<WorklogChangedEvent> events);
+}
@@ -0,0 +1,48 @@
+package com.krontech.worklog.event;
+
+import com.krontech.worklog.entity.Worklog;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by WorklogService whenever a worklog is created, updated or deleted.
+ * Carries the organisational scope of the owner so listeners never need to reload the employee.
+ *
+ * @param before state prior to the change, null for CREATED
+ * @param after  state after the change, null for DELETED
+ */
+public record WorklogChangedEvent(ChangeType changeType,
+                                  Integer worklogId,
+                                  Integer employeeId,
+                                  Integer teamLeadId,
+                                  Integer departmentId,
+                                  State before,
+                                  State after) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public record State(LocalDate workDate, Integer worklogTypeId, Integer hoursWorked) {
+
+        public static State of(Worklog worklog) {
+            return new State(worklog.getWorkDate(), worklog.getWorklogType().getId(), worklog.getHoursWorked());
+        }
+    }
+
+    // Every work date touched by this change (one for create/delete, up to two for update)
+    public List<LocalDate> affectedDates() {
+        List<LocalDate> dates = new ArrayList<>(2);
+        if (before != null) {
+            dates.add(before.workDate());
+        }
+        if (after != null && (before == null || !after.workDate().equals(before.workDate()))) {
+            dates.add(after.workDate());
+        }
+        return dates;
+    }
+}
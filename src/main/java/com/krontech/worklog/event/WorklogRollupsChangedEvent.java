@@ -0,0 +1,11 @@
+package com.krontech.worklog.event;
+
+import java.util.List;
+
+/**
+ * Published by WorklogRollupService inside the outbox transaction that applied a batch of changes
+ * to the daily rollups. Caches built from the rollups drop what the changes touch once it commits -
+ * before that, a reload would still read the old rollups.
+ */
+public record WorklogRollupsChangedEvent(List<WorklogChangedEvent> changes) {
+}
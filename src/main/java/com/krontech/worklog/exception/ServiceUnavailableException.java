@@ -0,0 +1,15 @@
+package com.krontech.worklog.exception;
+
+import lombok.Getter;
+
+// Temporary overload - answered with 503 and a Retry-After hint instead of queueing without bound
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
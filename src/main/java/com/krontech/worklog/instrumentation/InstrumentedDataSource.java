@@ -0,0 +1,138 @@
+package com.krontech.worklog.instrumentation;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Counts statements, fetched rows and execution time into the calling thread's SqlStatementStats.
+ * Statements created while nothing is being counted are handed out unwrapped.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public InstrumentedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Identity of the proxy itself, pools and transaction managers compare connections
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+
+            SqlStatementStats stats = SqlStatements.current();
+            if (stats == null || !(result instanceof Statement statement)) {
+                return result;
+            }
+
+            // prepareStatement / prepareCall carry their SQL up front, createStatement gets it on execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, sql, stats));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final SqlStatementStats stats;
+        private Object[] binds = new Object[8];
+
+        private StatementHandler(Statement target, String sql, SqlStatementStats stats) {
+            this.target = target;
+            this.sql = sql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                remember(index, args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(binds, null);
+            }
+
+            if (!EXECUTE_METHODS.contains(name)) {
+                Object result = InstrumentedDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") ? wrap(result) : result;
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long started = System.nanoTime();
+            try {
+                return wrap(InstrumentedDataSource.invoke(target, method, args));
+            } finally {
+                stats.recordExecution(executed, Arrays.deepHashCode(binds), System.nanoTime() - started);
+            }
+        }
+
+        private void remember(int index, Object value) {
+            if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            }
+            binds[index] = value;
+        }
+
+        private Object wrap(Object result) {
+            if (!(result instanceof ResultSet resultSet)) {
+                return result;
+            }
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                        Object value = InstrumentedDataSource.invoke(resultSet, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(value)) {
+                            stats.recordRow();
+                        }
+                        return value;
+                    });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.krontech.worklog.instrumentation;
+
+import com.krontech.worklog.config.SqlBudgetProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL behind every controller invocation, including response serialization,
+ * and warns when an endpoint goes over its statement budget or repeats a statement with
+ * different bind values (a likely N+1).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STATS_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".stats";
+    private static final String PREVIOUS_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".previous";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        SqlStatementStats stats = new SqlStatementStats();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        request.setAttribute(PREVIOUS_ATTRIBUTE, SqlStatements.begin(stats));
+        return true;
+    }
+
+    // Streaming responses continue on another thread - stop counting here so nothing leaks into the pool
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        SqlStatementStats stats = release(request);
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        int budget = properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultStatements());
+
+        if (stats.statements() > budget) {
+            log.warn("SQL budget exceeded by {} {}: {} (budget {} statements)",
+                    request.getMethod(), endpoint, stats, budget);
+        } else {
+            log.debug("SQL for {} {}: {}", request.getMethod(), endpoint, stats);
+        }
+
+        Map<String, Integer> repeated = stats.repeatedStatements(properties.getRepeatedStatementThreshold());
+        repeated.forEach((sql, distinctBinds) ->
+                log.warn("Possible N+1 in {}: statement executed with {} different bind values: {}",
+                        endpoint, distinctBinds, sql));
+    }
+
+    private SqlStatementStats release(HttpServletRequest request) {
+        SqlStatementStats stats = (SqlStatementStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null || SqlStatements.current() != stats) {
+            return null;
+        }
+        SqlStatements.end((SqlStatementStats) request.getAttribute(PREVIOUS_ATTRIBUTE));
+        return stats;
+    }
+}
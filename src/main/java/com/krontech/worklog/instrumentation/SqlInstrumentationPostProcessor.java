@@ -0,0 +1,22 @@
+package com.krontech.worklog.instrumentation;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Puts statement counting in front of the pooled DataSource - only when asked for, since every connection,
+// statement and result set then goes through a reflection proxy
+@Component
+@ConditionalOnProperty(name = "worklog.sql-budget.enabled", havingValue = "true")
+public class SqlInstrumentationPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,63 @@
+package com.krontech.worklog.instrumentation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC work done on behalf of one request (or one captured block in tests).
+ * Thread-safe, so concurrently loaded dashboard sections can report into the same instance.
+ */
+public final class SqlStatementStats {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong dbNanos = new AtomicLong();
+
+    // Distinct bind-value fingerprints seen per SQL string
+    private final Map<String, Set<Integer>> bindsBySql = new ConcurrentHashMap<>();
+
+    void recordExecution(String sql, int bindFingerprint, long nanos) {
+        statements.incrementAndGet();
+        dbNanos.addAndGet(nanos);
+        if (sql != null) {
+            bindsBySql.computeIfAbsent(sql, s -> ConcurrentHashMap.newKeySet()).add(bindFingerprint);
+        }
+    }
+
+    void recordRow() {
+        rows.incrementAndGet();
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public long rows() {
+        return rows.get();
+    }
+
+    public Duration dbTime() {
+        return Duration.ofNanos(dbNanos.get());
+    }
+
+    // Same SQL executed with at least threshold different bind values - the N+1 signature
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        bindsBySql.forEach((sql, binds) -> {
+            if (binds.size() >= threshold) {
+                repeated.put(sql, binds.size());
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return statements() + " statements, " + rows() + " rows, " + dbTime().toMillis() + " ms";
+    }
+}
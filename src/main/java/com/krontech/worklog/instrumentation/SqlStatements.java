@@ -0,0 +1,96 @@
+package com.krontech.worklog.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Entry point to the per-thread statement counters.
+ * The web layer opens a scope per request; tests can wrap any block with capture() or
+ * pin its statement count with assertStatementCount().
+ */
+public final class SqlStatements {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatements() {
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    // Start counting on this thread, returns whatever was being counted before so it can be restored
+    static SqlStatementStats begin(SqlStatementStats stats) {
+        SqlStatementStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    static void end(SqlStatementStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // Carry the caller's counters over to work that runs on another thread
+    public static <T> Callable<T> propagate(Callable<T> work) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return work;
+        }
+        return () -> {
+            SqlStatementStats previous = begin(stats);
+            try {
+                return work.call();
+            } finally {
+                end(previous);
+            }
+        };
+    }
+
+    public static <T> Captured<T> capture(Supplier<T> work) {
+        SqlStatementStats stats = new SqlStatementStats();
+        SqlStatementStats previous = begin(stats);
+        try {
+            return new Captured<>(work.get(), stats);
+        } finally {
+            end(previous);
+        }
+    }
+
+    public static SqlStatementStats captureStats(Runnable work) {
+        return capture(() -> {
+            work.run();
+            return null;
+        }).stats();
+    }
+
+    // Test helper - fails with the repeated statements listed, which usually point at the N+1
+    public static <T> T assertStatementCount(int expected, Supplier<T> work) {
+        Captured<T> captured = capture(work);
+        int actual = captured.stats().statements();
+        if (actual != expected) {
+            Map<String, Integer> repeated = captured.stats().repeatedStatements(2);
+            throw new AssertionError("Expected " + expected + " SQL statements but " + actual + " were executed"
+                    + (repeated.isEmpty() ? "" : ", repeated: " + repeated));
+        }
+        return captured.result();
+    }
+
+    public static <T> T assertStatementCountAtMost(int budget, Supplier<T> work) {
+        Captured<T> captured = capture(work);
+        int actual = captured.stats().statements();
+        if (actual > budget) {
+            Map<String, Integer> repeated = captured.stats().repeatedStatements(2);
+            throw new AssertionError("Expected at most " + budget + " SQL statements but " + actual + " were executed"
+                    + (repeated.isEmpty() ? "" : ", repeated: " + repeated));
+        }
+        return captured.result();
+    }
+
+    public record Captured<T>(T result, SqlStatementStats stats) {
+    }
+}
@@ -1,9 +1,14 @@
 package com.krontech.worklog.repository;
 
+import com.krontech.worklog.dto.projection.DepartmentMemberProjection;
+import com.krontech.worklog.dto.projection.EmployeeAccountProjection;
 import com.krontech.worklog.dto.projection.EmployeeHierarchyProjection;
+import com.krontech.worklog.dto.projection.EmployeeHierarchyRowProjection;
+import com.krontech.worklog.dto.projection.OrganizationFingerprintProjection;
 import com.krontech.worklog.entity.Employee;
 import com.krontech.worklog.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,6 +28,48 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
     boolean existsByEmployeeCode(String employeeCode);
 
+    // Login and session data in one flat row, without loading the entity graph
+    @Query("""
+    SELECT e.id as id,
+           e.email as email,
+           e.password as password,
+           e.role as role,
+           e.isActive as isActive,
+           e.firstName as firstName,
+           e.lastName as lastName,
+           d.id as departmentId,
+           d.name as departmentName,
+           tl.id as teamLeadId
+    FROM Employee e
+    LEFT JOIN e.department d
+    LEFT JOIN e.teamLead tl
+    WHERE e.email = :email
+    """)
+    Optional<EmployeeAccountProjection> findAccountByEmail(@Param("email") String email);
+
+    @Query("""
+    SELECT e.id as id,
+           e.email as email,
+           e.password as password,
+           e.role as role,
+           e.isActive as isActive,
+           e.firstName as firstName,
+           e.lastName as lastName,
+           d.id as departmentId,
+           d.name as departmentName,
+           tl.id as teamLeadId
+    FROM Employee e
+    LEFT JOIN e.department d
+    LEFT JOIN e.teamLead tl
+    WHERE e.id = :id
+    """)
+    Optional<EmployeeAccountProjection> findAccountById(@Param("id") Integer id);
+
+    // Only the hash changes - the organization snapshot does not need to notice
+    @Modifying
+    @Query("UPDATE Employee e SET e.password = :password WHERE e.id = :id")
+    int updatePassword(@Param("id") Integer id, @Param("password") String password);
+
     // Find all active employees
     List<Employee> findByIsActiveTrue();
 
@@ -32,9 +79,40 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
     // Find all employees under a specific team lead
     List<Employee> findByTeamLeadIdAndIsActiveTrue(Integer teamLeadId);
 
+    // Ids of every employee, active or not
+    @Query("SELECT e.id FROM Employee e ORDER BY e.id")
+    List<Integer> findAllIds();
+
+    // Role, active flag, department and team lead of every employee (builds the organization snapshot)
+    @Query("""
+    SELECT e.id as id,
+           e.role as role,
+           e.isActive as isActive,
+           d.id as departmentId,
+           tl.id as teamLeadId
+    FROM Employee e
+    LEFT JOIN e.department d
+    LEFT JOIN e.teamLead tl
+    ORDER BY e.id
+    """)
+    List<EmployeeHierarchyRowProjection> findHierarchyRows();
+
+    // Cheap change detection for the organization snapshot
+    @Query("SELECT COUNT(e) as employeeCount, MAX(e.updatedAt) as lastUpdated FROM Employee e")
+    OrganizationFingerprintProjection getOrganizationFingerprint();
+
     // Find all employees in a department
     List<Employee> findByDepartmentIdAndIsActiveTrue(Integer departmentId);
 
+    // Active department members as plain columns - loading entities would also load every
+    // director's department through the inverse one-to-one, one query per employee
+    @Query("""
+    SELECT e.id as id, e.firstName as firstName, e.lastName as lastName, e.role as role
+    FROM Employee e
+    WHERE e.department.id = :deptId AND e.isActive = true
+    """)
+    List<DepartmentMemberProjection> findActiveMembersByDepartmentId(@Param("deptId") Integer departmentId);
+
     // Find all team leads in a department
     @Query("SELECT e FROM Employee e WHERE e.department.id = :deptId AND e.role = 'TEAM_LEAD' AND e.isActive = true")
     List<Employee> findTeamLeadsByDepartment(@Param("deptId") Long departmentId);
@@ -0,0 +1,36 @@
+package com.krontech.worklog.repository;
+
+import com.krontech.worklog.dto.projection.HolidayDateProjection;
+import com.krontech.worklog.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Integer> {
+
+    // Every holiday date, used to build the business calendar in one go
+    @Query("""
+    SELECT h.holidayDate as holidayDate,
+           d.id as departmentId
+    FROM Holiday h
+    LEFT JOIN h.department d
+    """)
+    List<HolidayDateProjection> findAllHolidayDates();
+
+    @Query("""
+    SELECT h FROM Holiday h
+    LEFT JOIN FETCH h.department
+    WHERE h.holidayDate BETWEEN :startDate AND :endDate
+    ORDER BY h.holidayDate
+    """)
+    List<Holiday> findByHolidayDateBetweenWithDepartment(@Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    // The unique constraint cannot catch a second company-wide holiday - NULL departments never collide
+    boolean existsByHolidayDateAndDepartmentIsNull(LocalDate holidayDate);
+}
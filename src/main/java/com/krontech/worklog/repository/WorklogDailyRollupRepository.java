@@ -0,0 +1,236 @@
+package com.krontech.worklog.repository;
+
+import com.krontech.worklog.dto.projection.*;
+import com.krontech.worklog.entity.WorklogDailyRollup;
+import com.krontech.worklog.entity.WorklogDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorklogDailyRollupRepository extends JpaRepository<WorklogDailyRollup, WorklogDailyRollupId> {
+
+    // Write path - add a delta to a single (employee, date, type) bucket, creating it if missing
+    @Modifying
+    @Query(value = """
+    INSERT INTO worklog_daily_rollups (employee_id, work_date, worklog_type_id, total_hours, entry_count)
+    VALUES (:employeeId, :workDate, :typeId, :hoursDelta, :entryDelta)
+    ON CONFLICT (employee_id, work_date, worklog_type_id) DO UPDATE
+        SET total_hours = worklog_daily_rollups.total_hours + EXCLUDED.total_hours,
+            entry_count = worklog_daily_rollups.entry_count + EXCLUDED.entry_count
+    """, nativeQuery = true)
+    int applyDelta(@Param("employeeId") Integer employeeId,
+                   @Param("workDate") LocalDate workDate,
+                   @Param("typeId") Integer worklogTypeId,
+                   @Param("hoursDelta") int hoursDelta,
+                   @Param("entryDelta") int entryDelta);
+
+    // Write path - drop a bucket once its last worklog is gone
+    @Modifying
+    @Query(value = """
+    DELETE FROM worklog_daily_rollups
+    WHERE employee_id = :employeeId
+        AND work_date = :workDate
+        AND worklog_type_id = :typeId
+        AND entry_count <= 0
+    """, nativeQuery = true)
+    int deleteIfEmpty(@Param("employeeId") Integer employeeId,
+                      @Param("workDate") LocalDate workDate,
+                      @Param("typeId") Integer worklogTypeId);
+
+    // Rebuild - block concurrent worklog writes while the rollups are recomputed
+    @Modifying
+    @Query(value = "LOCK TABLE worklogs IN SHARE MODE", nativeQuery = true)
+    void lockWorklogsForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM worklog_daily_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    // Archived months keep their rollups, dashboards over old ranges do not need the archive
+    @Modifying
+    @Query(value = """
+    INSERT INTO worklog_daily_rollups (employee_id, work_date, worklog_type_id, total_hours, entry_count)
+    SELECT employee_id, work_date, worklog_type_id, SUM(hours_worked), COUNT(*)
+    FROM (
+        SELECT employee_id, work_date, worklog_type_id, hours_worked FROM worklogs
+        UNION ALL
+        SELECT employee_id, work_date, worklog_type_id, hours_worked FROM worklogs_archive
+    ) w
+    GROUP BY employee_id, work_date, worklog_type_id
+    """, nativeQuery = true)
+    int backfillFromWorklogs();
+
+    // Consistency check - buckets that differ from a fresh aggregation of the raw table (archived months included)
+    @Query(value = """
+    SELECT COALESCE(r.employee_id, w.employee_id) AS employeeId,
+           COALESCE(r.work_date, w.work_date) AS workDate,
+           COALESCE(r.worklog_type_id, w.worklog_type_id) AS worklogTypeId,
+           r.total_hours AS rollupHours,
+           r.entry_count AS rollupEntries,
+           CAST(w.total_hours AS INTEGER) AS actualHours,
+           CAST(w.entry_count AS INTEGER) AS actualEntries
+    FROM worklog_daily_rollups r
+    FULL OUTER JOIN (
+        SELECT employee_id, work_date, worklog_type_id,
+               SUM(hours_worked) AS total_hours, COUNT(*) AS entry_count
+        FROM (
+            SELECT employee_id, work_date, worklog_type_id, hours_worked FROM worklogs
+            UNION ALL
+            SELECT employee_id, work_date, worklog_type_id, hours_worked FROM worklogs_archive
+        ) a
+        GROUP BY employee_id, work_date, worklog_type_id
+    ) w ON r.employee_id = w.employee_id
+        AND r.work_date = w.work_date
+        AND r.worklog_type_id = w.worklog_type_id
+    WHERE r.employee_id IS NULL
+        OR w.employee_id IS NULL
+        OR r.total_hours <> w.total_hours
+        OR r.entry_count <> w.entry_count
+    ORDER BY 2, 1, 3
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<RollupMismatchProjection> findMismatches(@Param("limit") int limit);
+
+    // Dashboard queries skip the days between sealedFrom and sealedTo - those come from SealedWeekStore
+
+    // Dashboard query - Total hours and distinct days worked by employee in date range
+    @Query("""
+    SELECT COALESCE(SUM(r.totalHours), 0) as totalHours,
+           COUNT(DISTINCT r.id.workDate) as daysWorked
+    FROM WorklogDailyRollup r
+    WHERE r.id.employeeId = :employeeId
+        AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    """)
+    PeriodTotalsProjection getPeriodTotalsByEmployee(@Param("employeeId") Integer employeeId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate,
+                                                     @Param("sealedFrom") LocalDate sealedFrom,
+                                                     @Param("sealedTo") LocalDate sealedTo);
+
+    // Dashboard query - Hours grouped by worklog type for an employee
+    @Query("""
+    SELECT wt.name as typeName, SUM(r.totalHours) as hours
+    FROM WorklogDailyRollup r
+    JOIN r.worklogType wt
+    WHERE r.id.employeeId = :employeeId
+        AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    GROUP BY wt.name
+    ORDER BY SUM(r.totalHours) DESC
+    """)
+    List<WorklogTypeHoursProjection> getHoursByTypeForEmployee(@Param("employeeId") Integer employeeId,
+                                                               @Param("startDate") LocalDate startDate,
+                                                               @Param("endDate") LocalDate endDate,
+                                                               @Param("sealedFrom") LocalDate sealedFrom,
+                                                               @Param("sealedTo") LocalDate sealedTo);
+
+    // Team Lead Dashboard - Summary by team member, including grade title
+    @Query("""
+    SELECT
+        e.id as id,
+        e.firstName as firstName,
+        e.lastName as lastName,
+        g.title as gradeTitle,
+        COALESCE(SUM(r.totalHours), 0) as totalHours,
+        COUNT(DISTINCT r.id.workDate) as daysWorked
+    FROM Employee e
+    JOIN e.grade g
+    LEFT JOIN WorklogDailyRollup r ON r.employee = e AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    WHERE e.teamLead.id = :teamLeadId
+        AND e.isActive = true
+    GROUP BY e.id, e.firstName, e.lastName, g.title
+    ORDER BY e.firstName
+    """)
+    List<TeamMemberProjection> getTeamSummary(@Param("teamLeadId") Integer teamLeadId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              @Param("sealedFrom") LocalDate sealedFrom,
+                                              @Param("sealedTo") LocalDate sealedTo);
+
+    // Director Dashboard - Hours of every active department employee
+    @Query("""
+    SELECT
+        e.id as employeeId,
+        tl.id as teamLeadId,
+        COALESCE(SUM(r.totalHours), 0) as totalHours,
+        COUNT(DISTINCT r.id.workDate) as daysWorked
+    FROM Employee e
+    LEFT JOIN e.teamLead tl
+    LEFT JOIN WorklogDailyRollup r ON r.employee = e AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    WHERE e.department.id = :deptId
+        AND e.isActive = true
+    GROUP BY e.id, tl.id
+    """)
+    List<EmployeeHoursProjection> getDepartmentEmployeeHours(@Param("deptId") Integer departmentId,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate,
+                                                             @Param("sealedFrom") LocalDate sealedFrom,
+                                                             @Param("sealedTo") LocalDate sealedTo);
+
+    // Director Dashboard - Summary by team
+    @Query("""
+    SELECT new com.krontech.worklog.dto.projection.DepartmentTeamSummaryProjection(
+        tl.id,
+        tl.firstName,
+        tl.lastName,
+        COUNT(DISTINCT e.id),
+        CAST(COALESCE(SUM(r.totalHours), 0) AS LONG)
+    )
+    FROM Employee e
+    LEFT JOIN WorklogDailyRollup r ON r.employee = e AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    JOIN e.teamLead tl
+    WHERE e.department.id = :deptId
+    GROUP BY tl.id, tl.firstName, tl.lastName
+    ORDER BY tl.firstName
+    """)
+    List<DepartmentTeamSummaryProjection> getDepartmentTeamSummary(@Param("deptId") Integer departmentId,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate,
+                                                                   @Param("sealedFrom") LocalDate sealedFrom,
+                                                                   @Param("sealedTo") LocalDate sealedTo);
+
+    // Director Dashboard - Summary by worklog type for entire department
+    @Query("""
+    SELECT wt.name as typeName, SUM(r.totalHours) as hours
+    FROM WorklogDailyRollup r
+    JOIN r.worklogType wt
+    JOIN r.employee e
+    WHERE e.department.id = :deptId
+        AND r.id.workDate BETWEEN :startDate AND :endDate
+        AND r.id.workDate NOT BETWEEN :sealedFrom AND :sealedTo
+    GROUP BY wt.name
+    ORDER BY SUM(r.totalHours) DESC
+    """)
+    List<WorklogTypeHoursProjection> getDepartmentWorklogTypeSummary(@Param("deptId") Integer departmentId,
+                                                                     @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate,
+                                                                     @Param("sealedFrom") LocalDate sealedFrom,
+                                                                     @Param("sealedTo") LocalDate sealedTo);
+
+    // Trend - hours and person-days per week or month ('week' / 'month') for a set of employees
+    @Query(value = """
+    SELECT CAST(date_trunc(:unit, r.work_date) AS DATE) AS bucketStart,
+           SUM(r.total_hours) AS totalHours,
+           COUNT(DISTINCT (r.employee_id, r.work_date)) AS daysWorked
+    FROM worklog_daily_rollups r
+    WHERE r.employee_id IN (:employeeIds)
+        AND r.work_date BETWEEN :startDate AND :endDate
+    GROUP BY 1
+    ORDER BY 1
+    """, nativeQuery = true)
+    List<TrendBucketProjection> getTrend(@Param("unit") String unit,
+                                         @Param("employeeIds") Collection<Integer> employeeIds,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+}
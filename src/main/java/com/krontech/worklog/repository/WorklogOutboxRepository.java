@@ -0,0 +1,49 @@
+package com.krontech.worklog.repository;
+
+import com.krontech.worklog.entity.WorklogOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorklogOutboxRepository extends JpaRepository<WorklogOutboxEvent, Long> {
+
+    // Serializes outbox writes of one employee until commit, so their ids follow commit order
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(:lockClass, :employeeId) AS VARCHAR)", nativeQuery = true)
+    String lockEmployee(@Param("lockClass") int lockClass, @Param("employeeId") int employeeId);
+
+    // Only one dispatcher at a time, across every instance; released at commit
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, 0)", nativeQuery = true)
+    boolean tryLockDispatcher(@Param("lockClass") int lockClass);
+
+    // Same lock, waiting for a running dispatcher to commit
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(:lockClass, 0) AS VARCHAR)", nativeQuery = true)
+    String lockDispatcher(@Param("lockClass") int lockClass);
+
+    @Query("SELECT o FROM WorklogOutboxEvent o WHERE o.dispatchedAt IS NULL ORDER BY o.id")
+    List<WorklogOutboxEvent> findPending(Limit limit);
+
+    @Modifying
+    @Query("UPDATE WorklogOutboxEvent o SET o.dispatchedAt = :dispatchedAt WHERE o.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Query("SELECT COUNT(o) FROM WorklogOutboxEvent o WHERE o.dispatchedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT MIN(o.createdAt) FROM WorklogOutboxEvent o WHERE o.dispatchedAt IS NULL")
+    LocalDateTime findOldestPending();
+
+    @Query("SELECT MAX(o.dispatchedAt) FROM WorklogOutboxEvent o")
+    LocalDateTime findLastDispatched();
+
+    @Modifying
+    @Query("DELETE FROM WorklogOutboxEvent o WHERE o.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,12 +2,14 @@ package com.krontech.worklog.repository;
 
 import com.krontech.worklog.dto.projection.*;
 import com.krontech.worklog.entity.Worklog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,65 +20,45 @@ public interface WorklogRepository extends JpaRepository<Worklog, Integer> {
     List<Worklog> findByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
             Integer employeeId, LocalDate startDate, LocalDate endDate);
 
-    // Find all worklogs for a specific date
-    List<Worklog> findByEmployeeIdAndWorkDate(Integer employeeId, LocalDate workDate);
+    // Most recent worklogs of an employee inside a date range
+    List<Worklog> findTop5ByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
+            Integer employeeId, LocalDate startDate, LocalDate endDate);
 
-    // Dashboard query - Total hours by employee in date range
+    // Single employee worklogs, one keyset page on (workDate, id) descending
     @Query("""
-    SELECT SUM(w.hoursWorked) FROM Worklog w
-        WHERE w.employee.id = :employeeId
+    SELECT w FROM Worklog w
+    JOIN FETCH w.employee e
+    WHERE e.id = :employeeId
         AND w.workDate BETWEEN :startDate AND :endDate
+        AND (w.workDate < :cursorDate OR (w.workDate = :cursorDate AND w.id < :cursorId))
+    ORDER BY w.workDate DESC, w.id DESC
     """)
-    Integer getTotalHoursByEmployee(@Param("employeeId") Integer employeeId,
-                                    @Param("startDate") LocalDate startDate,
-                                    @Param("endDate") LocalDate endDate);
+    List<Worklog> findPageByEmployeeId(@Param("employeeId") Integer employeeId,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate,
+                                       @Param("cursorDate") LocalDate cursorDate,
+                                       @Param("cursorId") Integer cursorId,
+                                       Limit limit);
 
-    // Dashboard query - Hours grouped by worklog type for an employee
-    // Using interface projection instead of Object[]
-    @Query("""
-    SELECT w.worklogType.name as typeName, SUM(w.hoursWorked) as hours
-    FROM Worklog w
-    WHERE w.employee.id = :employeeId
-        AND w.workDate BETWEEN :startDate AND :endDate
-    GROUP BY w.worklogType.name
-    ORDER BY SUM(w.hoursWorked) DESC
-    """)
-    List<WorklogTypeHoursProjection> getHoursByTypeForEmployee(@Param("employeeId") Integer employeeId,
-                                                               @Param("startDate") LocalDate startDate,
-                                                               @Param("endDate") LocalDate endDate);
+    // Find all worklogs for a specific date
+    List<Worklog> findByEmployeeIdAndWorkDate(Integer employeeId, LocalDate workDate);
 
-    // Team Lead Dashboard - Get all worklogs for team members
+    // Team worklogs, one keyset page on (workDate, id) descending.
+    // Rows strictly after the cursor are returned; pass endDate + 1 day as cursorDate for the first page
     @Query("""
     SELECT w FROM Worklog w
     JOIN FETCH w.employee e
-    JOIN FETCH w.worklogType
     WHERE e.teamLead.id = :teamLeadId
         AND w.workDate BETWEEN :startDate AND :endDate
-    ORDER BY w.workDate DESC, e.firstName
+        AND (w.workDate < :cursorDate OR (w.workDate = :cursorDate AND w.id < :cursorId))
+    ORDER BY w.workDate DESC, w.id DESC
     """)
     List<Worklog> findByTeamLeadId(@Param("teamLeadId") Integer teamLeadId,
                                    @Param("startDate") LocalDate startDate,
-                                   @Param("endDate") LocalDate endDate);
-
-    // Team Lead Dashboard - Summary by team member
-    // Using interface projection
-    @Query("""
-    SELECT
-        e.id as id,
-        e.firstName as firstName,
-        e.lastName as lastName,
-        COALESCE(SUM(w.hoursWorked), 0) as totalHours,
-        COUNT(DISTINCT w.workDate) as daysWorked
-    FROM Employee e
-    LEFT JOIN e.worklogs w ON w.workDate BETWEEN :startDate AND :endDate
-    WHERE e.teamLead.id = :teamLeadId
-        AND e.isActive = true
-    GROUP BY e.id, e.firstName, e.lastName
-    ORDER BY e.firstName
-    """)
-    List<TeamMemberProjection> getTeamSummary(@Param("teamLeadId") Integer teamLeadId,
-                                              @Param("startDate") LocalDate startDate,
-                                              @Param("endDate") LocalDate endDate);
+                                   @Param("endDate") LocalDate endDate,
+                                   @Param("cursorDate") LocalDate cursorDate,
+                                   @Param("cursorId") Integer cursorId,
+                                   Limit limit);
 
     // Get all team members for a team lead
     @Query("""
@@ -86,60 +68,25 @@ public interface WorklogRepository extends JpaRepository<Worklog, Integer> {
     """)
     Long getActiveTeamMemberCount(@Param("teamLeadId") Integer teamLeadId);
 
-    // Director Dashboard - Department-wide worklogs
+    // Department worklogs, one keyset page on (workDate, id) descending
     @Query("""
     SELECT w FROM Worklog w
     JOIN FETCH w.employee e
-    JOIN FETCH w.worklogType
     WHERE e.department.id = :deptId
         AND w.workDate BETWEEN :startDate AND :endDate
-    ORDER BY w.workDate DESC
+        AND (w.workDate < :cursorDate OR (w.workDate = :cursorDate AND w.id < :cursorId))
+    ORDER BY w.workDate DESC, w.id DESC
     """)
     List<Worklog> findByDepartmentId(@Param("deptId") Integer departmentId,
                                      @Param("startDate") LocalDate startDate,
-                                     @Param("endDate") LocalDate endDate);
-
-    // Director Dashboard - Summary by worklog type for entire department
-    // Using interface projection
-    @Query("""
-    SELECT wt.name as typeName, SUM(w.hoursWorked) as hours
-    FROM Worklog w
-    JOIN w.worklogType wt
-    JOIN w.employee e
-    WHERE e.department.id = :deptId
-        AND w.workDate BETWEEN :startDate AND :endDate
-    GROUP BY wt.name
-    ORDER BY SUM(w.hoursWorked) DESC
-    """)
-    List<WorklogTypeHoursProjection> getDepartmentWorklogTypeSummary(@Param("deptId") Integer departmentId,
-                                                                     @Param("startDate") LocalDate startDate,
-                                                                     @Param("endDate") LocalDate endDate);
-
-    // Director Dashboard - Summary by team
-    // Using DTO projection with constructor expression
-    @Query("""
-    SELECT new com.krontech.worklog.dto.projection.DepartmentTeamSummaryProjection(
-        tl.id,
-        tl.firstName,
-        tl.lastName,
-        COUNT(DISTINCT e.id),
-        CAST(COALESCE(SUM(w.hoursWorked), 0) AS LONG)
-    )
-    FROM Employee e
-    LEFT JOIN e.worklogs w ON w.workDate BETWEEN :startDate AND :endDate
-    JOIN e.teamLead tl
-    WHERE e.department.id = :deptId
-    GROUP BY tl.id, tl.firstName, tl.lastName
-    ORDER BY tl.firstName
-    """)
-    List<DepartmentTeamSummaryProjection> getDepartmentTeamSummary(@Param("deptId") Integer departmentId,
-                                                                   @Param("startDate") LocalDate startDate,
-                                                                   @Param("endDate") LocalDate endDate);
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Integer cursorId,
+                                     Limit limit);
 
     // Get recent worklogs for an employee
     @Query("""
     SELECT w FROM Worklog w
-    JOIN FETCH w.worklogType
     WHERE w.employee.id = :employeeId
     ORDER BY w.workDate DESC, w.createdAt DESC
     """)
@@ -149,6 +96,15 @@ public interface WorklogRepository extends JpaRepository<Worklog, Integer> {
     @Query("SELECT COUNT(w) > 0 FROM Worklog w WHERE w.employee.id = :employeeId AND w.workDate = :date")
     boolean hasLoggedWorkForDate(@Param("employeeId") Integer employeeId, @Param("date") LocalDate date);
 
+    // Number of worklogs per employee on a single date (seeds the in-memory compliance tracker)
+    @Query("""
+    SELECT w.employee.id as employeeId, COUNT(w) as entries
+    FROM Worklog w
+    WHERE w.workDate = :date
+    GROUP BY w.employee.id
+    """)
+    List<EmployeeEntryCountProjection> countEntriesPerEmployeeForDate(@Param("date") LocalDate date);
+
     @Query("""
     SELECT COUNT(w) FROM Worklog w
     JOIN w.employee e
@@ -161,15 +117,29 @@ public interface WorklogRepository extends JpaRepository<Worklog, Integer> {
                                         @Param("endDate") LocalDate endDate,
                                         @Param("deptId") Integer departmentId);
 
+    // Employee dates plus day total, same-type count and exact duplicates for a new entry - one row,
+    // empty only when the employee does not exist. Only that day's few rows are compared by text
     @Query("""
-    SELECT w FROM Worklog w
-    WHERE w.employee.id = :employeeId
-        AND w.workDate = :workDate
-        AND w.worklogType.id = :typeId
-        AND (:projectName IS NULL AND w.projectName IS NULL OR w.projectName = :projectName)
-        AND (:description IS NULL AND w.description IS NULL OR w.description = :description)
+    SELECT e.startDate as startDate,
+           e.endDate as endDate,
+           e.firstName as firstName,
+           e.lastName as lastName,
+           tl.id as teamLeadId,
+           d.id as departmentId,
+           COALESCE(SUM(w.hoursWorked), 0) as dayHours,
+           COALESCE(SUM(CASE WHEN w.worklogType.id = :typeId THEN 1 ELSE 0 END), 0) as sameTypeEntries,
+           COALESCE(SUM(CASE WHEN w.worklogType.id = :typeId
+                    AND (:projectName IS NULL AND w.projectName IS NULL OR w.projectName = :projectName)
+                    AND (:description IS NULL AND w.description IS NULL OR w.description = :description)
+                THEN 1 ELSE 0 END), 0) as duplicates
+    FROM Employee e
+    LEFT JOIN e.teamLead tl
+    LEFT JOIN e.department d
+    LEFT JOIN Worklog w ON w.employee = e AND w.workDate = :workDate
+    WHERE e.id = :employeeId
+    GROUP BY e.id, e.startDate, e.endDate, e.firstName, e.lastName, tl.id, d.id
     """)
-    Optional<Worklog> findDuplicate(
+    Optional<WorklogDayAggregateProjection> getDayAggregate(
             @Param("employeeId") Integer employeeId,
             @Param("workDate") LocalDate workDate,
             @Param("typeId") Integer typeId,
@@ -177,14 +147,37 @@ public interface WorklogRepository extends JpaRepository<Worklog, Integer> {
             @Param("description") String description
     );
 
+    // Every worklog on the given days - one read validates a whole batch submission
     @Query("""
     SELECT w FROM Worklog w
     WHERE w.employee.id = :employeeId
-        AND w.workDate = :workDate
-    ORDER BY w.createdAt
+        AND w.workDate IN :workDates
+    ORDER BY w.workDate, w.createdAt
     """)
-    List<Worklog> findAllByEmployeeAndDate(
+    List<Worklog> findAllByEmployeeAndDates(
+            @Param("employeeId") Integer employeeId,
+            @Param("workDates") Collection<LocalDate> workDates
+    );
+
+    // Archived months (see WorklogPartitionService) - only the historical endpoint reads these
+    @Query(value = """
+    SELECT a.id AS id,
+           a.employee_id AS employeeId,
+           e.first_name || ' ' || e.last_name AS employeeName,
+           a.worklog_type_id AS worklogTypeId,
+           a.work_date AS workDate,
+           a.hours_worked AS hoursWorked,
+           a.description AS description,
+           a.project_name AS projectName
+    FROM worklogs_archive a
+    JOIN employees e ON e.id = a.employee_id
+    WHERE a.employee_id = :employeeId
+        AND a.work_date BETWEEN :startDate AND :endDate
+    ORDER BY a.work_date DESC, a.id DESC
+    """, nativeQuery = true)
+    List<ArchivedWorklogProjection> findArchived(
             @Param("employeeId") Integer employeeId,
-            @Param("workDate") LocalDate workDate
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
-}
\ No newline at end of file
+}
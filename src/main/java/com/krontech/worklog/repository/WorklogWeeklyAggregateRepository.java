@@ -0,0 +1,55 @@
+package com.krontech.worklog.repository;
+
+import com.krontech.worklog.entity.WorklogWeeklyAggregate;
+import com.krontech.worklog.entity.WorklogWeeklyAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorklogWeeklyAggregateRepository extends JpaRepository<WorklogWeeklyAggregate, WorklogWeeklyAggregateId> {
+
+    @Query("SELECT MAX(s.weekStart) FROM WorklogSealedWeek s")
+    LocalDate findSealedThrough();
+
+    @Query("SELECT MIN(r.id.workDate) FROM WorklogDailyRollup r")
+    LocalDate findFirstWorkDate();
+
+    @Query("SELECT a FROM WorklogWeeklyAggregate a WHERE a.id.weekStart IN :weeks")
+    List<WorklogWeeklyAggregate> findByWeeks(@Param("weeks") Collection<LocalDate> weeks);
+
+    // Seal - aggregate the daily rollups of whole weeks, [fromWeek, toWeek)
+    @Modifying
+    @Query(value = """
+    INSERT INTO worklog_weekly_aggregates (week_start, employee_id, worklog_type_id, total_hours, entry_count, day_mask)
+    SELECT CAST(date_trunc('week', work_date) AS DATE), employee_id, worklog_type_id,
+           SUM(total_hours), SUM(entry_count),
+           BIT_OR(1 << (CAST(EXTRACT(ISODOW FROM work_date) AS INTEGER) - 1))
+    FROM worklog_daily_rollups
+    WHERE work_date >= :fromWeek AND work_date < :toWeek
+    GROUP BY 1, 2, 3
+    """, nativeQuery = true)
+    int sealWeeks(@Param("fromWeek") LocalDate fromWeek, @Param("toWeek") LocalDate toWeek);
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO worklog_sealed_weeks (week_start, sealed_at)
+    SELECT CAST(week AS DATE), now()
+    FROM generate_series(CAST(:fromWeek AS DATE), CAST(:lastWeek AS DATE), INTERVAL '7 days') week
+    """, nativeQuery = true)
+    int markSealed(@Param("fromWeek") LocalDate fromWeek, @Param("lastWeek") LocalDate lastWeek);
+
+    @Modifying
+    @Query(value = "DELETE FROM worklog_weekly_aggregates", nativeQuery = true)
+    int deleteAllAggregates();
+
+    @Modifying
+    @Query(value = "DELETE FROM worklog_sealed_weeks", nativeQuery = true)
+    int deleteAllSealedWeeks();
+}
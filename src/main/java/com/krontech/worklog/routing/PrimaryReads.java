@@ -0,0 +1,68 @@
+package com.krontech.worklog.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Read-only transactions that always go to the primary, for loads that fill an in-memory cache.
+ * A cache is only invalidated when something commits, so a fill read from a replica that had not
+ * replayed that commit yet would keep serving the old state long after the replica caught up.
+ * Reads that are not cached can still go to a replica, and so can dashboards, which are only cached
+ * when no replica served them (see ReplicaReads).
+ */
+@Component
+public class PrimaryReads {
+
+    private static final String TRANSACTION_NAME = PrimaryReads.class.getName();
+
+    private final TransactionTemplate joining;
+    private final TransactionTemplate separate;
+    private final boolean routing;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager,
+                        @Value("${worklog.datasource.replicas.enabled:false}") boolean routing) {
+        this.joining = template(transactionManager, TransactionDefinition.PROPAGATION_REQUIRED);
+        this.separate = template(transactionManager, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.routing = routing;
+    }
+
+    // Joins the caller's transaction unless that one may be reading from a replica
+    public <T> T execute(TransactionCallback<T> action) {
+        return template().execute(action);
+    }
+
+    public void executeWithoutResult(Consumer<TransactionStatus> action) {
+        template().executeWithoutResult(action);
+    }
+
+    // Checked by ReplicaRoutingDataSource as a read-only transaction takes its connection
+    static boolean isCurrent() {
+        return TRANSACTION_NAME.equals(TransactionSynchronizationManager.getCurrentTransactionName());
+    }
+
+    private TransactionTemplate template() {
+        return routing && onReplica() ? separate : joining;
+    }
+
+    private static boolean onReplica() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !isCurrent();
+    }
+
+    private static TransactionTemplate template(PlatformTransactionManager transactionManager, int propagation) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName(TRANSACTION_NAME);
+        template.setPropagationBehavior(propagation);
+        return template;
+    }
+}
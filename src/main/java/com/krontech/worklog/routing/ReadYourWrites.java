@@ -0,0 +1,57 @@
+package com.krontech.worklog.routing;
+
+import com.krontech.worklog.security.SecurityUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after each of their commits,
+ * so a worklog they just saved is not missing from the dashboard they load next.
+ */
+public class ReadYourWrites {
+
+    private final long windowNanos;
+
+    // User id -> System.nanoTime() until which their reads go to the primary
+    private final Map<Integer, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(long windowNanos) {
+        this.windowNanos = windowNanos;
+    }
+
+    public boolean requiresPrimary() {
+        Integer userId = SecurityUtils.getCurrentUserId();
+        Long until = userId != null ? primaryUntil.get(userId) : null;
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        primaryUntil.remove(userId, until);
+        return false;
+    }
+
+    // Called as a read-write transaction takes its connection; the window starts once it commits
+    public void stickAfterCommit() {
+        Integer userId = SecurityUtils.getCurrentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntil.put(userId, System.nanoTime() + windowNanos);
+            }
+        });
+    }
+
+    public int stickyUsers() {
+        long now = System.nanoTime();
+        primaryUntil.values().removeIf(until -> now - until >= 0);
+        return primaryUntil.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.krontech.worklog.routing;
+
+import com.krontech.worklog.dto.response.ReplicaStatusResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary and replica connection pools. Replicas are handed out round-robin, skipping any that
+ * could not be reached or were more than max-lag behind at the last lag check.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    // 0 on a primary or a standby that has replayed everything it received
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(HikariDataSource primary, List<HikariDataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean available = true;
+        private volatile long lagMillis;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    // Lookup keys of ReplicaRoutingDataSource
+    public List<String> replicaNames() {
+        return replicas.stream().map(Replica::name).toList();
+    }
+
+    public DataSource replica(String name) {
+        return replicas.stream()
+                .filter(replica -> replica.name().equals(name))
+                .findFirst()
+                .map(replica -> (DataSource) replica.dataSource)
+                .orElseThrow();
+    }
+
+    // Name of the next usable replica, null when none is
+    public String pick() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.available) {
+                return replica.name();
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${worklog.datasource.replicas.lag-check-interval:5s}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = (long) resultSet.getDouble(1);
+                replica.available = replica.lagMillis <= maxLagMillis;
+            } catch (SQLException e) {
+                replica.available = false;
+                log.debug("Lag check of replica {} failed", replica.name(), e);
+            }
+
+            if (wasAvailable && !replica.available) {
+                log.warn("Replica {} taken out of rotation - lag {} ms", replica.name(), replica.lagMillis);
+            } else if (!wasAvailable && replica.available) {
+                log.info("Replica {} back in rotation - lag {} ms", replica.name(), replica.lagMillis);
+            }
+        }
+    }
+
+    public List<ReplicaStatusResponse> stats() {
+        return replicas.stream()
+                .map(replica -> ReplicaStatusResponse.builder()
+                        .name(replica.name())
+                        .url(replica.dataSource.getJdbcUrl())
+                        .available(replica.available)
+                        .lagMs(replica.lagMillis)
+                        .activeConnections(replica.dataSource.getHikariPoolMXBean() != null
+                                ? replica.dataSource.getHikariPoolMXBean().getActiveConnections() : 0)
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.krontech.worklog.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions, e.g.
+ * worklog.datasource.replicas.enabled=true
+ * worklog.datasource.replicas.urls[0]=jdbc:postgresql://localhost:5433/worklog
+ * Username and password default to spring.datasource's.
+ */
+@ConfigurationProperties(prefix = "worklog.datasource.replicas")
+@Data
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    // Per replica
+    private int maximumPoolSize = 10;
+
+    // A user's reads stay on the primary for this long after each of their commits
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    // Replicas further behind than this get no reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(10);
+}
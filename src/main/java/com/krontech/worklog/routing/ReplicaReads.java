@@ -0,0 +1,65 @@
+package com.krontech.worklog.routing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Tells whether a block of work read from a replica. Results built from replica reads may lag
+ * behind the primary, so they are fine to return but not to cache: a cache is only invalidated
+ * when something commits, and a stale fill would outlive the lag.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<AtomicBoolean> CURRENT = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static <T> Tracked<T> track(Supplier<T> work) {
+        AtomicBoolean served = new AtomicBoolean();
+        AtomicBoolean previous = CURRENT.get();
+        CURRENT.set(served);
+        try {
+            return new Tracked<>(work.get(), served.get());
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Carry the caller's tracking over to work that runs on another thread
+    public static <T> Callable<T> propagate(Callable<T> work) {
+        AtomicBoolean served = CURRENT.get();
+        if (served == null) {
+            return work;
+        }
+        return () -> {
+            AtomicBoolean previous = CURRENT.get();
+            CURRENT.set(served);
+            try {
+                return work.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // Called by ReplicaRoutingDataSource as it hands out a replica connection
+    static void servedByReplica() {
+        AtomicBoolean served = CURRENT.get();
+        if (served != null) {
+            served.set(true);
+        }
+    }
+
+    private static void restore(AtomicBoolean previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public record Tracked<T>(T result, boolean fromReplica) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.krontech.worklog.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing when replicas are enabled.
+ * To try it locally, point the urls at a second PostgreSQL instance with the same schema - reads
+ * then visibly come from there (a plain instance reports no lag).
+ * spring.datasource.hikari.* applies to every pool; replicas then get their own size and are read-only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "worklog.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                   Environment environment) {
+        // What Boot's own DataSource auto-configuration would bind, now that it backs off
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaProperties.getUrls().get(i));
+            replica.setUsername(replicaProperties.getUsername() != null
+                    ? replicaProperties.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(replicaProperties.getPassword() != null
+                    ? replicaProperties.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(primary, replicas, replicaProperties.getMaxLag().toMillis());
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties replicaProperties) {
+        return new ReadYourWrites(replicaProperties.getStickyWindow().toNanos());
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPool replicaPool, ReadYourWrites readYourWrites) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaPool, readYourWrites));
+    }
+}
@@ -0,0 +1,46 @@
+package com.krontech.worklog.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only transactions go to a replica, everything else - including PrimaryReads - to the primary.
+ * Has to sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before the transaction is marked read-only, the proxy defers that until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaPool pool;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(ReplicaPool pool, ReadYourWrites readYourWrites) {
+        this.pool = pool;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        pool.replicaNames().forEach(name -> targets.put(name, pool.replica(name)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pool.primary());
+        afterPropertiesSet();
+    }
+
+    // Null selects the primary
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.stickAfterCommit();
+            return null;
+        }
+        if (PrimaryReads.isCurrent() || readYourWrites.requiresPrimary()) {
+            return null;
+        }
+        String replica = pool.pick();
+        if (replica != null) {
+            ReplicaReads.servedByReplica();
+        }
+        return replica;
+    }
+}
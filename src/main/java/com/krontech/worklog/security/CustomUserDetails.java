@@ -1,6 +1,5 @@
 package com.krontech.worklog.security;
 
-import com.krontech.worklog.entity.Employee;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,39 +8,45 @@ import java.util.Collection;
 import java.util.Collections;
 
 /**
- * @param employee Getter to access the underlying Employee
+ * Only used while authenticating - once the password is verified the session keeps the principal alone.
+ *
+ * @param principal Getter to access the session principal
  */
-public record CustomUserDetails(Employee employee) implements UserDetails {
+public record CustomUserDetails(UserPrincipal principal, String password, boolean active) implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Convert role to Spring Security authority (add ROLE_ prefix)
-        return Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + employee.getRole().name())
-        );
+        return authorities(principal);
     }
 
     @Override
     public String getPassword() {
-        return employee.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return employee.getEmail(); // Using email as username
+        return principal.email(); // Using email as username
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return employee.getIsActive();
+        return active;
     }
 
     @Override
     public boolean isEnabled() {
-        return employee.getIsActive();
+        return active;
     }
 
     public Integer getId() {
-        return employee.getId();
+        return principal.id();
+    }
+
+    // Convert role to Spring Security authority (add ROLE_ prefix)
+    public static Collection<? extends GrantedAuthority> authorities(UserPrincipal principal) {
+        return Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + principal.role().name())
+        );
     }
-}
\ No newline at end of file
+}
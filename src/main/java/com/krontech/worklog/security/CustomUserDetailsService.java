@@ -1,9 +1,11 @@
 package com.krontech.worklog.security;
 
-import com.krontech.worklog.entity.Employee;
+import com.krontech.worklog.dto.projection.EmployeeAccountProjection;
 import com.krontech.worklog.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,16 +13,32 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final EmployeeRepository employeeRepository;
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Employee employee = employeeRepository.findByEmail(email)
+        EmployeeAccountProjection account = employeeRepository.findAccountByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new CustomUserDetails(employee);
+        return new CustomUserDetails(
+                UserPrincipal.from(account),
+                account.getPassword(),
+                Boolean.TRUE.equals(account.getIsActive())
+        );
     }
-}
\ No newline at end of file
+
+    // Called after a successful login whose stored hash is weaker than the configured work factor
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails details = (CustomUserDetails) user;
+        employeeRepository.updatePassword(details.getId(), newPassword);
+        log.info("Rehashed password of employee {} with the current work factor", details.getId());
+
+        return new CustomUserDetails(details.principal(), newPassword, details.active());
+    }
+}
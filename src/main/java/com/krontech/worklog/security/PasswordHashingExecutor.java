@@ -0,0 +1,128 @@
+package com.krontech.worklog.security;
+
+import com.krontech.worklog.dto.response.PasswordHashingStatsResponse;
+import com.krontech.worklog.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small fixed pool with a bounded queue, so a login storm can use at most
+ * a few cores instead of every request thread. When the queue is full, or a caller waits too long for
+ * a hashing thread, the login is turned away with 503 and Retry-After rather than piling up.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+    private final Duration queueTimeout;
+    private final long retryAfterSeconds;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(
+            @Value("${worklog.auth.hashing.threads:0}") int threads,
+            @Value("${worklog.auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${worklog.auth.hashing.queue-timeout:3s}") Duration queueTimeout,
+            @Value("${worklog.auth.hashing.retry-after:2s}") Duration retryAfter) {
+        // Half the cores by default, the other half stay free for the rest of the API
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueCapacity = queueCapacity;
+        this.queueTimeout = queueTimeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> T hash(Supplier<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.addAndGet(started - submitted);
+                try {
+                    return work.get();
+                } finally {
+                    record(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Password hashing queue full ({} waiting), rejecting login", executor.getQueue().size());
+            throw overloaded();
+        }
+
+        try {
+            // Bounds queueing plus the hash itself; a task cancelled while still queued never runs
+            return future.get(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timedOut.incrementAndGet();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RuntimeException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public PasswordHashingStatsResponse stats() {
+        long count = completed.get();
+        return PasswordHashingStatsResponse.builder()
+                .threads(threads)
+                .queueCapacity(queueCapacity)
+                .queued(executor.getQueue().size())
+                .active(executor.getActiveCount())
+                .completed(count)
+                .rejected(rejected.get())
+                .timedOut(timedOut.get())
+                .averageHashMillis(count > 0 ? hashNanos.get() / 1_000_000.0 / count : 0.0)
+                .maxHashMillis(maxHashNanos.get() / 1_000_000.0)
+                .averageQueueWaitMillis(count > 0 ? queueWaitNanos.get() / 1_000_000.0 / count : 0.0)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void record(long nanos) {
+        completed.incrementAndGet();
+        hashNanos.addAndGet(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException("Too many logins at once, please retry shortly", retryAfterSeconds);
+    }
+}
@@ -5,16 +5,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 public class SecurityUtils {
 
-    public static CustomUserDetails getCurrentUser() {
+    public static UserPrincipal getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
-            return (CustomUserDetails) authentication.getPrincipal();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
         }
         return null;
     }
 
     public static Integer getCurrentUserId() {
-        CustomUserDetails user = getCurrentUser();
-        return user != null ? user.getId() : null;
+        UserPrincipal user = getCurrentUser();
+        return user != null ? user.id() : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.krontech.worklog.security;
+
+import com.krontech.worklog.dto.projection.EmployeeAccountProjection;
+import com.krontech.worklog.entity.Role;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * What the session keeps about the signed-in user: identity and the ids needed to scope queries.
+ * No entity, no password hash - authorization details that can change (team, role) are still
+ * checked against the organization snapshot.
+ */
+public record UserPrincipal(Integer id,
+                            String email,
+                            Role role,
+                            Integer departmentId,
+                            String departmentName,
+                            Integer teamLeadId,
+                            String firstName,
+                            String lastName) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static UserPrincipal from(EmployeeAccountProjection account) {
+        return new UserPrincipal(
+                account.getId(),
+                account.getEmail(),
+                account.getRole(),
+                account.getDepartmentId(),
+                account.getDepartmentName(),
+                account.getTeamLeadId(),
+                account.getFirstName(),
+                account.getLastName()
+        );
+    }
+
+    public String displayName() {
+        return firstName + " " + lastName;
+    }
+}
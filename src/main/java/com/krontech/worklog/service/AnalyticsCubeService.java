@@ -0,0 +1,130 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.cache.DepartmentCube;
+import com.krontech.worklog.cache.DepartmentCubeCache;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.request.CubeQueryRequest;
+import com.krontech.worklog.dto.response.CubeQueryResponse;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Analytics mode for directors: slices of their department over a period, answered from an
+ * in-memory cube instead of a query per slice. The first slice of a period loads the cube,
+ * later ones only scan it until a worklog of the department inside the period changes.
+ */
+@Service
+@ConditionalOnProperty(prefix = "worklog.cube", name = "enabled", havingValue = "true")
+@Slf4j
+public class AnalyticsCubeService {
+
+    private static final Map<String, DepartmentCube.Dimension> DIMENSIONS = Map.of(
+            "employee", DepartmentCube.Dimension.EMPLOYEE,
+            "team", DepartmentCube.Dimension.TEAM,
+            "worklogtype", DepartmentCube.Dimension.WORKLOG_TYPE,
+            "date", DepartmentCube.Dimension.DATE,
+            "week", DepartmentCube.Dimension.WEEK,
+            "month", DepartmentCube.Dimension.MONTH
+    );
+
+    private final DepartmentCubeCache cubeCache;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final int maxDays;
+    private final int maxGroups;
+
+    public AnalyticsCubeService(DepartmentCubeCache cubeCache,
+                                OrganizationHierarchy organizationHierarchy,
+                                @Value("${worklog.cube.max-days:400}") int maxDays,
+                                @Value("${worklog.cube.max-groups:250000}") int maxGroups) {
+        this.cubeCache = cubeCache;
+        this.organizationHierarchy = organizationHierarchy;
+        // Day offsets are stored as shorts
+        this.maxDays = Math.min(maxDays, Short.MAX_VALUE);
+        this.maxGroups = maxGroups;
+    }
+
+    public CubeQueryResponse query(Integer directorId, CubeQueryRequest request) {
+        long started = System.currentTimeMillis();
+
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(directorId);
+        if (organization.role(directorId) != Role.DIRECTOR) {
+            throw new RuntimeException("Only directors can query the department cube");
+        }
+        Integer departmentId = organization.departmentId(directorId);
+        if (departmentId == null) {
+            throw new RuntimeException("Director has no department");
+        }
+
+        LocalDate endDate = request.getEndDate() != null ? request.getEndDate() : LocalDate.now();
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : endDate.withDayOfMonth(1);
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxDays) {
+            throw new ValidationException("Cube period is limited to " + maxDays + " days");
+        }
+
+        List<String> levels = new ArrayList<>();
+        List<DepartmentCube.Dimension> dimensions = new ArrayList<>();
+        if (request.getGroupBy() != null && !request.getGroupBy().isBlank()) {
+            for (String value : request.getGroupBy().split(",")) {
+                DepartmentCube.Dimension dimension = DIMENSIONS.get(value.trim().toLowerCase(Locale.ROOT));
+                if (dimension == null) {
+                    throw new ValidationException("Unsupported groupBy: " + value.trim()
+                            + " (use employee, team, worklogType, date, week or month)");
+                }
+                if (dimensions.contains(dimension)) {
+                    throw new ValidationException("groupBy lists " + value.trim() + " twice");
+                }
+                dimensions.add(dimension);
+                levels.add(value.trim());
+            }
+        }
+
+        int topN = request.getTopN() != null ? Math.max(0, request.getTopN()) : 0;
+        DepartmentCube cube = cubeCache.get(departmentId, startDate, endDate);
+
+        DepartmentCube.Result result;
+        try {
+            result = cube.query(dimensions, request.getEmployeeIds(), request.getTeamLeadIds(),
+                    request.getWorklogTypeIds(), topN, maxGroups);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("Cube query for department {} by {} - {} of {} groups from {} rows, took {} ms",
+                departmentId, levels, result.groups().size(), result.matchedGroups(), result.rowsScanned(), duration);
+
+        return CubeQueryResponse.builder()
+                .departmentId(departmentId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .groupBy(levels)
+                .groups(result.groups().stream()
+                        .map(group -> CubeQueryResponse.Group.builder()
+                                .keys(group.keys())
+                                .hours(group.hours())
+                                .entries(group.entries())
+                                .build())
+                        .toList())
+                .matchedGroups(result.matchedGroups())
+                .totalHours(result.totalHours())
+                .rowsScanned(result.rowsScanned())
+                .cubeLoadedAt(cube.loadedAt())
+                .durationMs(duration)
+                .build();
+    }
+}
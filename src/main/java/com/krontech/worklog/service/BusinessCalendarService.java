@@ -0,0 +1,251 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.projection.HolidayDateProjection;
+import com.krontech.worklog.dto.request.HolidayCreateRequest;
+import com.krontech.worklog.dto.response.HolidayResponse;
+import com.krontech.worklog.entity.Department;
+import com.krontech.worklog.entity.Holiday;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.exception.ValidationException;
+import com.krontech.worklog.repository.DepartmentRepository;
+import com.krontech.worklog.repository.HolidayRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Working-day arithmetic: weekends and holidays (company-wide plus per department) excluded.
+ * Each (department, year) gets a prefix-sum array of working days by day of year,
+ * so counting the working days of a range is two array lookups per calendar year it spans.
+ * Directors manage their own department's holidays; company-wide ones only the employees
+ * listed in worklog.calendar.company-editors.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class BusinessCalendarService {
+
+    private final HolidayRepository holidayRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DashboardCache dashboardCache;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final JdbcTemplate jdbcTemplate;
+    private final PrimaryReads primaryReads;
+    private final Set<Integer> companyEditors;
+
+    // Replaced as a whole whenever holidays change; null until first use
+    private volatile HolidayCalendar calendar;
+
+    // Taking the EntityManagerFactory makes sure Hibernate has created the holidays table first
+    public BusinessCalendarService(HolidayRepository holidayRepository,
+                                   DepartmentRepository departmentRepository,
+                                   DashboardCache dashboardCache,
+                                   OrganizationHierarchy organizationHierarchy,
+                                   JdbcTemplate jdbcTemplate,
+                                   PrimaryReads primaryReads,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${worklog.calendar.company-editors:}") Set<Integer> companyEditors) {
+        this.holidayRepository = holidayRepository;
+        this.departmentRepository = departmentRepository;
+        this.dashboardCache = dashboardCache;
+        this.organizationHierarchy = organizationHierarchy;
+        this.jdbcTemplate = jdbcTemplate;
+        this.primaryReads = primaryReads;
+        this.companyEditors = Set.copyOf(companyEditors);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_holidays_company_date"
+                + " ON holidays (holiday_date) WHERE department_id IS NULL");
+    }
+
+    public long workingDays(LocalDate start, LocalDate end) {
+        return workingDays(null, start, end);
+    }
+
+    // Working days in [start, end] for a department, company-wide when departmentId is null
+    public long workingDays(Integer departmentId, LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        HolidayCalendar current = calendar();
+
+        long workingDays = 0;
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            int[] prefix = current.prefixSums(departmentId, year);
+            int firstDay = year == start.getYear() ? start.getDayOfYear() : 1;
+            int lastDay = year == end.getYear() ? end.getDayOfYear() : prefix.length - 1;
+            workingDays += prefix[lastDay] - prefix[firstDay - 1];
+        }
+        return workingDays;
+    }
+
+    public boolean isWorkingDay(Integer departmentId, LocalDate date) {
+        return workingDays(departmentId, date, date) == 1;
+    }
+
+    // Company-wide holidays plus the requester's own department's
+    public List<HolidayResponse> getHolidays(Integer requesterId, int year) {
+        Integer departmentId = organizationHierarchy.snapshotContaining(requesterId).departmentId(requesterId);
+        return holidayRepository.findByHolidayDateBetweenWithDepartment(
+                        LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)
+                ).stream()
+                .filter(holiday -> holiday.getDepartment() == null
+                        || holiday.getDepartment().getId().equals(departmentId))
+                .map(HolidayResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public HolidayResponse addHoliday(Integer requesterId, HolidayCreateRequest request) {
+        checkCanEdit(requesterId, request.getDepartmentId());
+
+        Department department = null;
+        if (request.getDepartmentId() != null) {
+            department = departmentRepository.findById(request.getDepartmentId())
+                    .orElseThrow(() -> new ValidationException("Department not found"));
+        } else if (holidayRepository.existsByHolidayDateAndDepartmentIsNull(request.getDate())) {
+            throw new ValidationException("There is already a company-wide holiday on " + request.getDate());
+        }
+
+        Holiday holiday = Holiday.builder()
+                .holidayDate(request.getDate())
+                .name(request.getName())
+                .department(department)
+                .build();
+        holiday = holidayRepository.save(holiday);
+
+        log.info("Holiday {} added on {} for {}", holiday.getName(), holiday.getHolidayDate(),
+                department != null ? department.getName() : "all departments");
+        reloadAfterCommit();
+
+        return HolidayResponse.from(holiday);
+    }
+
+    @Transactional
+    public void deleteHoliday(Integer requesterId, Integer holidayId) {
+        Holiday holiday = holidayRepository.findById(holidayId)
+                .orElseThrow(() -> new RuntimeException("Holiday not found"));
+        checkCanEdit(requesterId, holiday.getDepartment() != null ? holiday.getDepartment().getId() : null);
+
+        holidayRepository.delete(holiday);
+        log.info("Holiday {} on {} deleted", holiday.getName(), holiday.getHolidayDate());
+        reloadAfterCommit();
+    }
+
+    // Directors edit their own department's holidays, company-wide ones need to be a company editor
+    private void checkCanEdit(Integer requesterId, Integer departmentId) {
+        if (departmentId == null) {
+            if (!companyEditors.contains(requesterId)) {
+                throw new RuntimeException("You don't have permission to edit company-wide holidays");
+            }
+            return;
+        }
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(requesterId);
+        if (organization.role(requesterId) != Role.DIRECTOR
+                || !departmentId.equals(organization.departmentId(requesterId))) {
+            throw new RuntimeException("You don't have permission to edit this department's holidays");
+        }
+    }
+
+    private HolidayCalendar calendar() {
+        HolidayCalendar current = calendar;
+        if (current == null) {
+            synchronized (this) {
+                current = calendar;
+                if (current == null) {
+                    current = loadCalendar();
+                    calendar = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private HolidayCalendar loadCalendar() {
+        Set<LocalDate> companyHolidays = new HashSet<>();
+        Map<Integer, Set<LocalDate>> departmentHolidays = new HashMap<>();
+
+        for (HolidayDateProjection holiday : primaryReads.execute(status -> holidayRepository.findAllHolidayDates())) {
+            if (holiday.getDepartmentId() == null) {
+                companyHolidays.add(holiday.getHolidayDate());
+            } else {
+                departmentHolidays.computeIfAbsent(holiday.getDepartmentId(), id -> new HashSet<>())
+                        .add(holiday.getHolidayDate());
+            }
+        }
+
+        log.info("Business calendar loaded - {} company-wide holidays, {} departments with own holidays",
+                companyHolidays.size(), departmentHolidays.size());
+        return new HolidayCalendar(companyHolidays, departmentHolidays);
+    }
+
+    // Holidays change utilization of every dashboard that covers them, so rebuild and drop cached dashboards
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (BusinessCalendarService.this) {
+                    calendar = loadCalendar();
+                }
+                dashboardCache.clear();
+            }
+        });
+    }
+
+    private static final class HolidayCalendar {
+
+        private final Set<LocalDate> companyHolidays;
+        private final Map<Integer, Set<LocalDate>> departmentHolidays;
+
+        // Keyed by department (null = company-wide) and year, built on first use
+        private final Map<YearKey, int[]> prefixSums = new ConcurrentHashMap<>();
+
+        private HolidayCalendar(Set<LocalDate> companyHolidays, Map<Integer, Set<LocalDate>> departmentHolidays) {
+            this.companyHolidays = companyHolidays;
+            this.departmentHolidays = departmentHolidays;
+        }
+
+        // prefix[d] = working days from January 1st through day-of-year d, prefix[0] = 0
+        private int[] prefixSums(Integer departmentId, int year) {
+            // Departments without their own holidays share the company-wide tables
+            Set<LocalDate> ownHolidays = departmentId != null ? departmentHolidays.get(departmentId) : null;
+            YearKey key = new YearKey(ownHolidays != null ? departmentId : null, year);
+
+            return prefixSums.computeIfAbsent(key, k -> {
+                int[] prefix = new int[Year.of(year).length() + 1];
+                LocalDate date = LocalDate.of(year, 1, 1);
+                for (int day = 1; day < prefix.length; day++) {
+                    boolean working = date.getDayOfWeek() != DayOfWeek.SATURDAY
+                            && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                            && !companyHolidays.contains(date)
+                            && (ownHolidays == null || !ownHolidays.contains(date));
+                    prefix[day] = prefix[day - 1] + (working ? 1 : 0);
+                    date = date.plusDays(1);
+                }
+                return prefix;
+            });
+        }
+    }
+
+    private record YearKey(Integer departmentId, int year) {
+    }
+}
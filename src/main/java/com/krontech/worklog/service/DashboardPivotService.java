@@ -0,0 +1,291 @@
+package com.krontech.worklog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.exception.ValidationException;
+import com.krontech.worklog.service.WorklogExportService.Format;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates dashboard data by the dimensions in DashboardFilterRequest.groupBy ("employee",
+ * "worklogType", "date", "team", comma separated for several levels such as "team,worklogType").
+ * Each request becomes one grouped query over the daily rollups, limited to the employees the
+ * caller can see, and the grouped rows are streamed as CSV or NDJSON for the client to pivot.
+ */
+@Service
+@Slf4j
+public class DashboardPivotService {
+
+    private final OrganizationHierarchy organizationHierarchy;
+    private final ReferenceDataCache referenceData;
+    private final ObjectMapper objectMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushRows;
+
+    public DashboardPivotService(OrganizationHierarchy organizationHierarchy,
+                                 ReferenceDataCache referenceData,
+                                 ObjectMapper objectMapper,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${worklog.export.fetch-size:500}") int fetchSize,
+                                 @Value("${worklog.export.flush-rows:1000}") int flushRows) {
+        this.organizationHierarchy = organizationHierarchy;
+        this.referenceData = referenceData;
+        this.objectMapper = objectMapper;
+
+        // Own template, so the cursor fetch size does not leak into the shared JdbcTemplate
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushRows = flushRows;
+    }
+
+    public enum Dimension {
+        EMPLOYEE("employee", true, false,
+                List.of("r.employee_id", "e.first_name || ' ' || e.last_name"),
+                List.of("employeeId", "employeeName")),
+        TEAM("team", true, true,
+                List.of("e.team_lead_id", "tl.first_name || ' ' || tl.last_name"),
+                List.of("teamLeadId", "teamLeadName")),
+        WORKLOG_TYPE("worklogType", false, false,
+                List.of("r.worklog_type_id"),
+                List.of("worklogTypeId")),
+        DATE("date", false, false,
+                List.of("r.work_date"),
+                List.of("date"));
+
+        private final String key;
+        private final boolean needsEmployee;
+        private final boolean needsTeamLead;
+        private final List<String> expressions;
+        private final List<String> columns;
+
+        Dimension(String key, boolean needsEmployee, boolean needsTeamLead,
+                  List<String> expressions, List<String> columns) {
+            this.key = key;
+            this.needsEmployee = needsEmployee;
+            this.needsTeamLead = needsTeamLead;
+            this.expressions = expressions;
+            this.columns = columns;
+        }
+
+        static Dimension from(String value) {
+            String trimmed = value.trim();
+            for (Dimension dimension : values()) {
+                if (dimension.key.equalsIgnoreCase(trimmed)) {
+                    return dimension;
+                }
+            }
+            throw new ValidationException("Unsupported groupBy: " + trimmed
+                    + " (use employee, worklogType, date or team)");
+        }
+    }
+
+    // A checked request: who is included, the range and the grouping levels in order
+    public record PivotQuery(List<Dimension> dimensions, int[] employeeIds, LocalDate startDate, LocalDate endDate,
+                             String label) {
+    }
+
+    /**
+     * Validate the filters against the caller's visibility before anything is streamed.
+     * employeeId narrows to one visible employee, teamLeadId to one visible team; neither means
+     * everyone the caller can see (themselves, their team or their department).
+     */
+    public PivotQuery prepare(Integer requesterId, DashboardFilterRequest filters) {
+        LocalDate startDate = filters.getStartDate() != null ? filters.getStartDate()
+                : LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate endDate = filters.getEndDate() != null ? filters.getEndDate()
+                : LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+
+        if (filters.getGroupBy() == null || filters.getGroupBy().isBlank()) {
+            throw new ValidationException("groupBy is required");
+        }
+        Set<Dimension> dimensions = new LinkedHashSet<>();
+        for (String value : filters.getGroupBy().split(",")) {
+            if (!dimensions.add(Dimension.from(value))) {
+                throw new ValidationException("groupBy lists " + value.trim() + " twice");
+            }
+        }
+
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(requesterId);
+        if (!organization.contains(requesterId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        int[] employeeIds;
+        String label;
+        if (filters.getEmployeeId() != null) {
+            if (!organization.contains(filters.getEmployeeId())) {
+                throw new RuntimeException("Employee not found");
+            }
+            if (!organization.canView(requesterId, filters.getEmployeeId())) {
+                throw new RuntimeException("You don't have permission to view this employee's data");
+            }
+            employeeIds = new int[]{filters.getEmployeeId()};
+            label = "employee-" + filters.getEmployeeId();
+        } else if (filters.getTeamLeadId() != null) {
+            if (!organization.contains(filters.getTeamLeadId())) {
+                throw new RuntimeException("Team lead not found");
+            }
+            if (!organization.canView(requesterId, filters.getTeamLeadId())) {
+                throw new RuntimeException("You don't have permission to view this team's data");
+            }
+            employeeIds = organization.teamMembers(filters.getTeamLeadId());
+            label = "team-" + filters.getTeamLeadId();
+        } else {
+            employeeIds = organization.visibleEmployees(requesterId);
+            label = "visible-" + requesterId;
+        }
+
+        return new PivotQuery(List.copyOf(dimensions), employeeIds, startDate, endDate, label);
+    }
+
+    public String fileName(PivotQuery query, Format format) {
+        String levels = query.dimensions().stream().map(dimension -> dimension.key).collect(Collectors.joining("-"));
+        return String.format("pivot-%s-%s-%s-%s.%s", query.label(), levels,
+                query.startDate(), query.endDate(), format.getExtension());
+    }
+
+    // Runs on the async request thread, inside its own read-only transaction so the cursor stays open
+    public StreamingResponseBody stream(PivotQuery query, Format format) {
+        List<String> columns = columns(query);
+        String sql = sql(query);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("employeeIds", Arrays.stream(query.employeeIds()).boxed().toList())
+                .addValue("startDate", query.startDate())
+                .addValue("endDate", query.endDate());
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writer.write(String.join(",", columns));
+                writer.write('\n');
+            }
+
+            long[] rows = new long[1];
+            if (query.employeeIds().length > 0) {
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, parameters, resultSet -> {
+                    try {
+                        writeRow(resultSet, columns, writer, format);
+                        if (++rows[0] % flushRows == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            writer.flush();
+            log.info("Streamed {} pivot rows for {} grouped by {} from {} to {} as {}", rows[0], query.label(),
+                    query.dimensions(), query.startDate(), query.endDate(), format);
+        };
+    }
+
+    // Package-private so the generated SQL can be checked per dimension combination
+    static String sql(PivotQuery query) {
+        List<String> groups = new ArrayList<>();
+        boolean joinEmployee = false;
+        boolean joinTeamLead = false;
+        for (Dimension dimension : query.dimensions()) {
+            groups.addAll(dimension.expressions);
+            joinEmployee |= dimension.needsEmployee;
+            joinTeamLead |= dimension.needsTeamLead;
+        }
+
+        List<String> select = new ArrayList<>(groups);
+        select.add("SUM(r.total_hours)");
+        select.add("SUM(r.entry_count)");
+        select.add("COUNT(DISTINCT (r.employee_id, r.work_date))");
+
+        // Expressions come from the Dimension enum only - no request value is ever concatenated
+        String groupBy = String.join(", ", groups);
+        return "SELECT " + String.join(", ", select)
+                + " FROM worklog_daily_rollups r"
+                + (joinEmployee ? " JOIN employees e ON e.id = r.employee_id" : "")
+                + (joinTeamLead ? " LEFT JOIN employees tl ON tl.id = e.team_lead_id" : "")
+                + " WHERE r.employee_id IN (:employeeIds)"
+                + " AND r.work_date BETWEEN :startDate AND :endDate"
+                + " GROUP BY " + groupBy
+                + " ORDER BY " + groupBy;
+    }
+
+    private List<String> columns(PivotQuery query) {
+        List<String> columns = new ArrayList<>();
+        for (Dimension dimension : query.dimensions()) {
+            columns.addAll(dimension.columns);
+            // Type names are resolved from memory rather than joined
+            if (dimension == Dimension.WORKLOG_TYPE) {
+                columns.add("worklogType");
+            }
+        }
+        columns.add("hours");
+        columns.add("entries");
+        columns.add("daysWorked");
+        return columns;
+    }
+
+    private void writeRow(ResultSet resultSet, List<String> columns, Writer writer, Format format)
+            throws SQLException, IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 1;
+        for (String column : columns) {
+            Object value = switch (column) {
+                case "worklogType" -> referenceData.worklogTypeName((Integer) row.get("worklogTypeId"));
+                case "date" -> resultSet.getObject(index++, LocalDate.class);
+                case "employeeId", "teamLeadId", "worklogTypeId" -> (Integer) resultSet.getObject(index++);
+                case "hours", "entries", "daysWorked" -> resultSet.getLong(index++);
+                default -> resultSet.getString(index++);
+            };
+            row.put(column, value);
+        }
+
+        if (format == Format.CSV) {
+            writer.write(row.values().stream()
+                    .map(value -> value instanceof String text ? WorklogExportService.csvField(text)
+                            : value != null ? value.toString() : "")
+                    .collect(Collectors.joining(",")));
+        } else {
+            writer.write(objectMapper.writeValueAsString(row));
+        }
+        writer.write('\n');
+    }
+}
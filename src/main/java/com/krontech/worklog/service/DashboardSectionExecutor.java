@@ -0,0 +1,160 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.exception.ServiceUnavailableException;
+import com.krontech.worklog.instrumentation.SqlStatements;
+import com.krontech.worklog.routing.ReplicaReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs dashboard sections, either inline or concurrently on virtual threads.
+ * Each concurrent section gets its own read-only transaction, routed to a replica unless the user
+ * has just written (see ReplicaReads for what that means for caching), and a global semaphore caps how many
+ * sections hold a pooled connection at once - keep max-in-flight below the connection pool size.
+ * Sections of one dashboard share a batch and a deadline: the first failure or timeout cancels
+ * the rest, and a timeout is answered with 503.
+ */
+@Component
+@Slf4j
+public class DashboardSectionExecutor implements DisposableBean {
+
+    private final boolean concurrent;
+    private final Duration sectionTimeout;
+    private final Semaphore inFlight;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardSectionExecutor(
+            @Value("${worklog.dashboard.concurrent-sections.enabled:false}") boolean concurrent,
+            @Value("${worklog.dashboard.concurrent-sections.max-in-flight:8}") int maxInFlight,
+            @Value("${worklog.dashboard.concurrent-sections.timeout:5s}") Duration sectionTimeout,
+            PlatformTransactionManager transactionManager) {
+        this.concurrent = concurrent;
+        this.sectionTimeout = sectionTimeout;
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    public <T> T inTransaction(Supplier<T> work) {
+        return readOnlyTransaction.execute(status -> work.get());
+    }
+
+    // Sections of one dashboard - the first one to fail or time out cancels the others
+    public Batch batch() {
+        return new Batch(System.nanoTime() + sectionTimeout.toNanos());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ServiceUnavailableException timedOut(String name) {
+        log.warn("Dashboard section '{}' timed out", name);
+        return new ServiceUnavailableException("Dashboard section '" + name + "' timed out", 5);
+    }
+
+    public final class Batch {
+
+        private final long deadline;
+        private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private Batch(long deadline) {
+            this.deadline = deadline;
+        }
+
+        public <T> Section<T> submit(String name, Supplier<T> work) {
+            Callable<T> section = () -> {
+                try {
+                    // Wait for a connection slot no longer than the section itself may take
+                    long remaining = deadline - System.nanoTime();
+                    if (!inFlight.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                        throw timedOut(name);
+                    }
+                    try {
+                        return inTransaction(work);
+                    } finally {
+                        inFlight.release();
+                    }
+                } catch (RuntimeException e) {
+                    fail(e);
+                    throw e;
+                }
+            };
+            // Statements run for the section still count towards the request that asked for it, replica reads
+            // towards its dashboard, and the caller's security context comes along
+            Future<T> future = executor.submit(new DelegatingSecurityContextCallable<>(
+                    ReplicaReads.propagate(SqlStatements.propagate(section))));
+            futures.add(future);
+            if (failure.get() != null) {
+                future.cancel(true);
+            }
+
+            return new Section<>(this, name, future);
+        }
+
+        private void fail(RuntimeException e) {
+            if (failure.compareAndSet(null, e)) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    public static final class Section<T> {
+
+        private final Batch batch;
+        private final String name;
+        private final Future<T> future;
+
+        private Section(Batch batch, String name, Future<T> future) {
+            this.batch = batch;
+            this.name = name;
+            this.future = future;
+        }
+
+        public T await() {
+            try {
+                return future.get(Math.max(0, batch.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                ServiceUnavailableException timeout = timedOut(name);
+                batch.fail(timeout);
+                throw timeout;
+            } catch (CancellationException e) {
+                // Cancelled because a sibling failed first - report that failure instead
+                RuntimeException cause = batch.failure.get();
+                throw cause != null ? cause : new RuntimeException("Dashboard section '" + name + "' was cancelled");
+            } catch (InterruptedException e) {
+                batch.fail(new RuntimeException("Interrupted while loading dashboard section '" + name + "'"));
+                Thread.currentThread().interrupt();
+                throw batch.failure.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    batch.fail(runtimeException);
+                    throw runtimeException;
+                }
+                log.warn("Dashboard section '{}' failed: {}", name, e.getCause().getMessage());
+                RuntimeException failure = new RuntimeException(
+                        "Dashboard section '" + name + "' failed: " + e.getCause().getMessage());
+                batch.fail(failure);
+                throw failure;
+            }
+        }
+    }
+}
@@ -1,25 +1,36 @@
 package com.krontech.worklog.service;
 
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.cache.DashboardCacheKey;
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.cache.SealedWeekStore;
+import com.krontech.worklog.cache.SealedWeekStore.SealedPeriod;
 import com.krontech.worklog.dto.projection.*;
 import com.krontech.worklog.dto.request.DashboardFilterRequest;
 import com.krontech.worklog.dto.response.DashboardResponse;
 import com.krontech.worklog.dto.response.DashboardResponse.*;
 import com.krontech.worklog.dto.response.QuickStatsResponse;
-import com.krontech.worklog.entity.Employee;
 import com.krontech.worklog.entity.Role;
 import com.krontech.worklog.entity.Worklog;
 import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.repository.WorklogDailyRollupRepository;
 import com.krontech.worklog.repository.WorklogRepository;
+import com.krontech.worklog.routing.ReplicaReads;
+import com.krontech.worklog.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,11 +41,28 @@ public class DashboardService {
 
     private final EmployeeRepository employeeRepository;
     private final WorklogRepository worklogRepository;
-
+    private final WorklogDailyRollupRepository rollupRepository;
+    private final DashboardCache dashboardCache;
+    private final DashboardSectionExecutor sectionExecutor;
+    private final DailyComplianceTracker complianceTracker;
+    private final BusinessCalendarService businessCalendar;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final ReferenceDataCache referenceData;
+    private final SealedWeekStore sealedWeeks;
+
+    // Dashboard of an employee other than the caller - their session data is not at hand, so load it
+    @Transactional(propagation = Propagation.SUPPORTS)
     public DashboardResponse getDashboard(Integer employeeId, DashboardFilterRequest filters) {
-        Employee employee = employeeRepository.findById(employeeId)
+        UserPrincipal employee = employeeRepository.findAccountById(employeeId)
+                .map(UserPrincipal::from)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
+        return getDashboard(employee, filters);
+    }
 
+    // Not bound to a transaction: sections open their own read-only transactions,
+    // so no connection is held while concurrent sections are awaited
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public DashboardResponse getDashboard(UserPrincipal employee, DashboardFilterRequest filters) {
         // Set default date range if not provided (current week)
         if (filters.getStartDate() == null) {
             filters.setStartDate(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
@@ -43,175 +71,261 @@ public class DashboardService {
             filters.setEndDate(LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
         }
 
+        // Role and department can change during a session, so they come from the organization snapshot
+        // rather than the login - still in memory, so a cache hit costs no query at all
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(employee.id());
+        if (!organization.contains(employee.id())) {
+            throw new RuntimeException("Employee not found");
+        }
+        Role role = organization.role(employee.id());
+        Integer departmentId = organization.departmentId(employee.id());
+
+        DashboardCacheKey cacheKey = new DashboardCacheKey(
+                employee.id(), role, filters.getStartDate(), filters.getEndDate(), organization.version()
+        );
+        DashboardResponse cached = dashboardCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheGeneration = dashboardCache.generation();
+
+        // Sections read from a replica unless the user has just written
+        ReplicaReads.Tracked<DashboardSections> loaded = ReplicaReads.track(() -> sectionExecutor.isConcurrent()
+                ? loadSectionsConcurrently(employee.id(), role, departmentId,
+                        filters.getStartDate(), filters.getEndDate())
+                : sectionExecutor.inTransaction(() -> loadSections(employee.id(), role, departmentId,
+                        filters.getStartDate(), filters.getEndDate())));
+        DashboardSections sections = loaded.result();
+
         DashboardResponse.DashboardResponseBuilder responseBuilder = DashboardResponse.builder();
 
         // Build current user summary
         responseBuilder.currentUser(EmployeeSummary.builder()
-                .id(employee.getId())
-                .name(employee.getFullName())
-                .role(employee.getRole().getDisplayName())
-                .department(employee.getDepartment().getName())
+                .id(employee.id())
+                .name(employee.displayName())
+                .role(role.getDisplayName())
+                .department(referenceData.departmentName(departmentId))
                 .build());
 
-        // Determine which dashboard to show based on role
-        switch (employee.getRole()) {
-            case EMPLOYEE:
-                buildEmployeeDashboard(employee, filters, responseBuilder);
-                break;
-            case TEAM_LEAD:
-                buildTeamLeadDashboard(employee, filters, responseBuilder);
-                break;
-            case DIRECTOR:
-                buildDirectorDashboard(employee, filters, responseBuilder);
-                break;
+        mergeSections(sections, responseBuilder);
+
+        DashboardResponse response = responseBuilder.build();
+        // A replica may not have replayed the latest commits yet - serve what it returned, cache only primary reads
+        if (!loaded.fromReplica()) {
+            dashboardCache.put(cacheKey, departmentId, response, cacheGeneration);
         }
+        return response;
+    }
+
+    // Sequential mode - every section one after another in the caller's transaction
+    private DashboardSections loadSections(Integer employeeId, Role role, Integer departmentId,
+                                           LocalDate startDate, LocalDate endDate) {
+        SealedPeriod sealed = sealedWeeks.period(startDate, endDate);
+
+        return new DashboardSections(
+                buildPeriodSummary(employeeId, startDate, endDate, sealed),
+                buildTypeBreakdown(employeeId, startDate, endDate, sealed),
+                buildRecentWorklogs(employeeId, startDate, endDate),
+                role == Role.TEAM_LEAD
+                        ? buildTeamSection(employeeId, departmentId, startDate, endDate, sealed) : null,
+                role == Role.DIRECTOR
+                        ? buildDepartmentSection(employeeId, departmentId, startDate, endDate, sealed) : null
+        );
+    }
 
-        return responseBuilder.build();
+    // Concurrent mode - sections are independent read-only queries, so fetch them side by side
+    // and wait for the slowest one instead of the sum of all of them
+    private DashboardSections loadSectionsConcurrently(Integer employeeId, Role role, Integer departmentId,
+                                                       LocalDate startDate, LocalDate endDate) {
+        SealedPeriod sealed = sealedWeeks.period(startDate, endDate);
+        DashboardSectionExecutor.Batch batch = sectionExecutor.batch();
+
+        DashboardSectionExecutor.Section<PeriodSummary> periodSummary = batch.submit("periodSummary",
+                () -> buildPeriodSummary(employeeId, startDate, endDate, sealed));
+        DashboardSectionExecutor.Section<List<WorklogTypeBreakdown>> typeBreakdown = batch.submit(
+                "worklogTypeBreakdown", () -> buildTypeBreakdown(employeeId, startDate, endDate, sealed));
+        DashboardSectionExecutor.Section<List<RecentWorklog>> recentWorklogs = batch.submit(
+                "recentWorklogs", () -> buildRecentWorklogs(employeeId, startDate, endDate));
+        DashboardSectionExecutor.Section<TeamSection> team = role == Role.TEAM_LEAD
+                ? batch.submit("team",
+                        () -> buildTeamSection(employeeId, departmentId, startDate, endDate, sealed))
+                : null;
+        DashboardSectionExecutor.Section<DepartmentSection> department = role == Role.DIRECTOR
+                ? batch.submit("department",
+                        () -> buildDepartmentSection(employeeId, departmentId, startDate, endDate, sealed))
+                : null;
+
+        return new DashboardSections(
+                periodSummary.await(),
+                typeBreakdown.await(),
+                recentWorklogs.await(),
+                team != null ? team.await() : null,
+                department != null ? department.await() : null
+        );
     }
 
-    private void buildEmployeeDashboard(Employee employee, DashboardFilterRequest filters,
-                                        DashboardResponse.DashboardResponseBuilder responseBuilder) {
-        LocalDate startDate = filters.getStartDate();
-        LocalDate endDate = filters.getEndDate();
+    private void mergeSections(DashboardSections sections,
+                               DashboardResponse.DashboardResponseBuilder responseBuilder) {
+        responseBuilder.periodSummary(sections.periodSummary());
+        responseBuilder.worklogTypeBreakdown(sections.typeBreakdown());
+        responseBuilder.recentWorklogs(sections.recentWorklogs());
 
-        // Get total hours
-        Integer totalHours = worklogRepository.getTotalHoursByEmployee(employee.getId(), startDate, endDate);
-        if (totalHours == null) totalHours = 0;
+        TeamSection team = sections.team();
+        if (team != null) {
+            responseBuilder.teamMembers(team.members());
+            responseBuilder.teamStats(team.stats());
+        }
 
-        // Calculate working days in period
-        long totalDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        long weekends = calculateWeekends(startDate, endDate);
-        long workingDays = totalDays - weekends;
+        DepartmentSection department = sections.department();
+        if (department != null) {
+            responseBuilder.teamLeads(department.teamLeads());
+            responseBuilder.teamPerformanceInsights(department.insights());
+            responseBuilder.departmentStats(department.stats());
 
-        // Get days actually worked
-        List<Worklog> worklogs = worklogRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
-                employee.getId(), startDate, endDate
-        );
-        long daysWorked = worklogs.stream().map(Worklog::getWorkDate).distinct().count();
-
-        // Build period summary
-        responseBuilder.periodSummary(PeriodSummary.builder()
-                        .totalHours(totalHours)
-                        .totalDays(totalHours / 8.0)
-                        .daysWorked((int) daysWorked)
-                        .averageHoursPerDay(daysWorked > 0 ? (double) totalHours / daysWorked : 0.0)
-                        .startDate(startDate)
-                        .endDate(endDate)
-                        .build());
-
-        // Get worklog type breakdown
-        List<WorklogTypeHoursProjection> typeBreakdown = worklogRepository.getHoursByTypeForEmployee(
-                employee.getId(), startDate, endDate
+            // Directors see the department-wide breakdown instead of their own, if there is one
+            if (!department.typeBreakdown().isEmpty()) {
+                responseBuilder.worklogTypeBreakdown(department.typeBreakdown());
+            }
+        }
+    }
+
+    private PeriodSummary buildPeriodSummary(Integer employeeId, LocalDate startDate, LocalDate endDate,
+                                             SealedPeriod sealed) {
+        // Get total hours and days actually worked - sealed weeks from the store, the rest from the daily rollups
+        PeriodTotalsProjection totals = rollupRepository.getPeriodTotalsByEmployee(
+                employeeId, startDate, endDate, sealed.from(), sealed.to());
+        int totalHours = (int) (totals.getTotalHours() + sealed.hours(employeeId));
+        long daysWorked = totals.getDaysWorked() + sealed.daysWorked(employeeId);
+
+        return PeriodSummary.builder()
+                .totalHours(totalHours)
+                .totalDays(totalHours / 8.0)
+                .daysWorked((int) daysWorked)
+                .averageHoursPerDay(daysWorked > 0 ? (double) totalHours / daysWorked : 0.0)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    private List<WorklogTypeBreakdown> buildTypeBreakdown(Integer employeeId, LocalDate startDate, LocalDate endDate,
+                                                          SealedPeriod sealed) {
+        List<WorklogTypeHoursProjection> typeBreakdown = rollupRepository.getHoursByTypeForEmployee(
+                employeeId, startDate, endDate, sealed.from(), sealed.to()
         );
+        Map<String, Long> hoursByType = mergeTypeHours(typeBreakdown, sealed.hoursByType(id -> id == employeeId));
+
+        // Type hours add up to the period total, so percentages need no separate total query
+        long totalHours = hoursByType.values().stream().mapToLong(Long::longValue).sum();
 
         List<WorklogTypeBreakdown> breakdowns = new ArrayList<>();
-        for (WorklogTypeHoursProjection projection : typeBreakdown) {
-            breakdowns.add(WorklogTypeBreakdown.builder()
-                            .typeName(projection.getTypeName())
-                            .hours(projection.getHours().intValue())
-                            .percentage(totalHours > 0 ? (projection.getHours() * 100.0) / totalHours : 0.0)
-                            .build());
+        hoursByType.forEach((typeName, hours) -> breakdowns.add(WorklogTypeBreakdown.builder()
+                .typeName(typeName)
+                .hours(hours.intValue())
+                .percentage(totalHours > 0 ? (hours * 100.0) / totalHours : 0.0)
+                .build()));
+        return breakdowns;
+    }
+
+    // Live type hours plus sealed ones, highest first
+    private Map<String, Long> mergeTypeHours(List<WorklogTypeHoursProjection> live, Map<Integer, Long> sealedByTypeId) {
+        Map<String, Long> merged = new HashMap<>();
+        for (WorklogTypeHoursProjection projection : live) {
+            merged.merge(projection.getTypeName(), projection.getHours(), Long::sum);
         }
-        responseBuilder.worklogTypeBreakdown(breakdowns);
+        sealedByTypeId.forEach((typeId, hours) -> merged.merge(referenceData.worklogTypeName(typeId), hours, Long::sum));
+
+        return merged.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
 
-        // Get recent worklogs
-        List<RecentWorklog> recentLogs = worklogs.stream()
-                .limit(5)
+    private List<RecentWorklog> buildRecentWorklogs(Integer employeeId, LocalDate startDate, LocalDate endDate) {
+        List<Worklog> worklogs = worklogRepository.findTop5ByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
+                employeeId, startDate, endDate
+        );
+
+        return worklogs.stream()
                 .map(w -> RecentWorklog.builder()
                         .date(w.getWorkDate())
-                        .type(w.getWorklogType().getName())
+                        .type(referenceData.worklogTypeName(w.getWorklogType().getId()))
                         .hours(w.getHoursWorked())
                         .description(w.getDescription())
                         .projectName(w.getProjectName())
                         .build())
                 .collect(Collectors.toList());
-        responseBuilder.recentWorklogs(recentLogs);
     }
 
-    private void buildTeamLeadDashboard(Employee teamLead, DashboardFilterRequest filters,
-                                        DashboardResponse.DashboardResponseBuilder responseBuilder) {
-        // First, build the team lead's own dashboard
-        buildEmployeeDashboard(teamLead, filters, responseBuilder);
-
-        LocalDate startDate = filters.getStartDate();
-        LocalDate endDate = filters.getEndDate();
-
+    private TeamSection buildTeamSection(Integer teamLeadId, Integer departmentId,
+                                         LocalDate startDate, LocalDate endDate, SealedPeriod sealed) {
         // Get team members summary
-        List<TeamMemberProjection> teamSummaryData = worklogRepository.getTeamSummary(
-                teamLead.getId(), startDate, endDate
+        List<TeamMemberProjection> teamSummaryData = rollupRepository.getTeamSummary(
+                teamLeadId, startDate, endDate, sealed.from(), sealed.to()
         );
 
         List<TeamMemberSummary> teamMembers = new ArrayList<>();
         int totalTeamHours = 0;
         int membersWithLogs = 0;
 
-        // Calculate working days for utilization
-        long workingDays = calculateWorkingDays(startDate, endDate);
+        // Working days for utilization - weekends and the department's holidays excluded
+        long workingDays = businessCalendar.workingDays(departmentId, startDate, endDate);
 
         for (TeamMemberProjection projection : teamSummaryData) {
-            // Direct, type-safe access to fields - no casting needed!
-            Employee member = employeeRepository.findById(projection.getId()).orElse(null);
-            if (member == null) continue;
+            long memberHours = projection.getTotalHours() + sealed.hours(projection.getId());
+            long memberDays = projection.getDaysWorked() + sealed.daysWorked(projection.getId());
 
             // Track members who actually logged work
-            if (projection.getTotalHours() > 0) {
+            if (memberHours > 0) {
                 membersWithLogs++;
             }
 
             double utilizationRate = (workingDays > 0) ?
-                    (projection.getTotalHours() * 100.0) / (workingDays * 8) : 0.0;
+                    (memberHours * 100.0) / (workingDays * 8) : 0.0;
 
             teamMembers.add(TeamMemberSummary.builder()
                             .id(projection.getId())
                             .name(projection.getFirstName() + " " + projection.getLastName())
-                            .grade(member.getGrade().getTitle())
-                            .totalHours(projection.getTotalHours().intValue())
-                            .daysWorked(projection.getDaysWorked().intValue())
+                            .grade(projection.getGradeTitle())
+                            .totalHours((int) memberHours)
+                            .daysWorked((int) memberDays)
                             .utilizationRate(utilizationRate)
                             .build());
 
-            totalTeamHours += projection.getTotalHours().intValue();
+            totalTeamHours += (int) memberHours;
         }
 
-        responseBuilder.teamMembers(teamMembers);
-
         // Calculate team statistics
+        TeamStatistics teamStats = null;
         if (!teamMembers.isEmpty()) {
             double avgHoursPerMember = (double) totalTeamHours / teamMembers.size();
             double teamUtilization = (workingDays > 0) ?
                     (totalTeamHours * 100.0) / (teamMembers.size() * workingDays * 8) : 0.0;
 
-            responseBuilder.teamStats(TeamStatistics.builder()
-                            .teamSize(teamMembers.size())
-                            .totalTeamHours(totalTeamHours)
-                            .averageHoursPerMember(avgHoursPerMember)
-                            .teamUtilizationRate(teamUtilization)
-                            .build());
+            teamStats = TeamStatistics.builder()
+                    .teamSize(teamMembers.size())
+                    .totalTeamHours(totalTeamHours)
+                    .averageHoursPerMember(avgHoursPerMember)
+                    .teamUtilizationRate(teamUtilization)
+                    .build();
 
             log.info("Team lead dashboard - Team size: {}, Members with logs: {}, Total hours: {}, Utilization: {}%",
                     teamMembers.size(), membersWithLogs, totalTeamHours, teamUtilization);
         }
-    }
-
-    private void buildDirectorDashboard(Employee director, DashboardFilterRequest filters,
-                                        DashboardResponse.DashboardResponseBuilder responseBuilder) {
-        // First, build the director's own dashboard
-        buildEmployeeDashboard(director, filters, responseBuilder);
 
-        LocalDate startDate = filters.getStartDate();
-        LocalDate endDate = filters.getEndDate();
-        Integer departmentId = director.getDepartment().getId();
+        return new TeamSection(teamMembers, teamStats);
+    }
 
+    private DepartmentSection buildDepartmentSection(Integer directorId, Integer departmentId,
+                                                     LocalDate startDate, LocalDate endDate, SealedPeriod sealed) {
         // Get all employees in department
-        List<Employee> departmentEmployees = employeeRepository.findByDepartmentIdAndIsActiveTrue(departmentId);
-        List<Employee> teamLeads = departmentEmployees.stream()
+        List<DepartmentMemberProjection> departmentEmployees =
+                employeeRepository.findActiveMembersByDepartmentId(departmentId);
+        List<DepartmentMemberProjection> teamLeads = departmentEmployees.stream()
                 .filter(e -> e.getRole() == Role.TEAM_LEAD)
                 .toList();
 
         // Build team leads summary with enhanced metrics
         List<TeamLeadSummary> teamLeadSummaries = new ArrayList<>();
-        int departmentTotalHours = 0;
-        long workingDays = calculateWorkingDays(startDate, endDate);
+        long workingDays = businessCalendar.workingDays(departmentId, startDate, endDate);
 
         // Track best and worst performing teams
         TeamLeadSummary bestPerformingTeam = null;
@@ -219,34 +333,50 @@ public class DashboardService {
         double highestUtilization = 0;
         double lowestUtilization = 100;
 
-        // Use the new projection-based method for department team summary
-        List<DepartmentTeamSummaryProjection> teamSummaries =
-                worklogRepository.getDepartmentTeamSummary(departmentId, startDate, endDate);
+        // Members and hours per team lead, from the rollups after the sealed weeks
+        List<DepartmentTeamSummaryProjection> teamSummaries = rollupRepository.getDepartmentTeamSummary(
+                departmentId, startDate, endDate, sealed.from(), sealed.to());
 
         // Create a map for quick lookup
         Map<Integer, DepartmentTeamSummaryProjection> teamDataMap = teamSummaries.stream()
                 .collect(Collectors.toMap(DepartmentTeamSummaryProjection::getTeamLeadId, ts -> ts));
 
-        for (Employee teamLead : teamLeads) {
+        // Sealed hours of everyone in the department now, active or not - the same people the queries cover
+        OrganizationSnapshot organization = organizationHierarchy.snapshot();
+        IntPredicate inDepartment = id -> departmentId != null && organization.isInDepartment(id, departmentId);
+        Map<Integer, Long> sealedHours = sealed.hoursByEmployee(inDepartment);
+        sealedHours.forEach((employeeId, hours) -> {
+            DepartmentTeamSummaryProjection team = teamDataMap.get(organization.teamLeadId(employeeId));
+            if (team != null) {
+                team.setTotalHours(team.getTotalHours() + hours);
+            }
+        });
+
+        // Hours of every department employee in a single grouped query,
+        // instead of one total-hours query per lead, member and direct report
+        List<EmployeeHoursProjection> employeeHours = rollupRepository.getDepartmentEmployeeHours(
+                departmentId, startDate, endDate, sealed.from(), sealed.to());
+
+        Map<Integer, Long> hoursByEmployee = new HashMap<>();
+        Map<Integer, Integer> membersWithLogsByTeamLead = new HashMap<>();
+        for (EmployeeHoursProjection projection : employeeHours) {
+            long hours = projection.getTotalHours() + sealedHours.getOrDefault(projection.getEmployeeId(), 0L);
+            hoursByEmployee.put(projection.getEmployeeId(), hours);
+            if (projection.getTeamLeadId() != null && hours > 0) {
+                membersWithLogsByTeamLead.merge(projection.getTeamLeadId(), 1, Integer::sum);
+            }
+        }
+
+        for (DepartmentMemberProjection teamLead : teamLeads) {
             // Get team lead's own hours first
-            Integer teamLeadHours = worklogRepository.getTotalHoursByEmployee(
-                    teamLead.getId(), startDate, endDate
-            );
-            if (teamLeadHours == null) teamLeadHours = 0;
+            int teamLeadHours = hoursByEmployee.getOrDefault(teamLead.getId(), 0L).intValue();
 
             // Get team data from projection
             DepartmentTeamSummaryProjection teamData = teamDataMap.get(teamLead.getId());
 
             int teamSize = teamData != null ? teamData.getTeamSize().intValue() : 0;
             int teamMembersHours = teamData != null ? teamData.getTotalHours().intValue() : 0;
-
-            // Calculate members with logs (need additional query or tracking)
-            List<TeamMemberProjection> teamMemberData = worklogRepository.getTeamSummary(
-                    teamLead.getId(), startDate, endDate
-            );
-            int teamMembersWithLogs = (int) teamMemberData.stream()
-                    .filter(m -> m.getTotalHours() > 0)
-                    .count();
+            int teamMembersWithLogs = membersWithLogsByTeamLead.getOrDefault(teamLead.getId(), 0);
 
             // Total team hours = team lead hours + team members hours
             int totalTeamHours = teamLeadHours + teamMembersHours;
@@ -257,7 +387,7 @@ public class DashboardService {
 
             TeamLeadSummary summary = TeamLeadSummary.builder()
                     .id(teamLead.getId())
-                    .name(teamLead.getFullName())
+                    .name(teamLead.getFirstName() + " " + teamLead.getLastName())
                     .teamSize(teamSize) // Just team members count
                     .teamTotalHours(totalTeamHours) // Includes team lead
                     .teamUtilizationRate(teamUtilization)
@@ -275,37 +405,12 @@ public class DashboardService {
                 lowestUtilization = teamUtilization;
                 worstPerformingTeam = summary;
             }
-
-            departmentTotalHours += totalTeamHours;
         }
 
-        // Add director's own hours to department total
-        Integer directorHours = worklogRepository.getTotalHoursByEmployee(
-                director.getId(), startDate, endDate
-        );
-        if (directorHours == null) directorHours = 0;
-        departmentTotalHours += directorHours;
-
-        // Add hours from employees who report directly to director (if any)
-        List<Employee> directReports = departmentEmployees.stream()
-                .filter(e -> e.getRole() == Role.EMPLOYEE &&
-                        (e.getTeamLead() == null || e.getTeamLead().getId().equals(director.getId())))
-                .toList();
-
-        for (Employee directReport : directReports) {
-            Integer empHours = worklogRepository.getTotalHoursByEmployee(
-                    directReport.getId(), startDate, endDate
-            );
-            if (empHours != null) {
-                departmentTotalHours += empHours;
-            }
-        }
-
-        responseBuilder.teamLeads(teamLeadSummaries);
-
         // Add team performance insights
+        TeamPerformanceInsights insights = null;
         if (bestPerformingTeam != null && worstPerformingTeam != null) {
-            responseBuilder.teamPerformanceInsights(TeamPerformanceInsights.builder()
+            insights = TeamPerformanceInsights.builder()
                             .bestPerformingTeamId(bestPerformingTeam.getId())
                             .bestPerformingTeamName(bestPerformingTeam.getName())
                             .bestPerformingTeamUtilization(bestPerformingTeam.getTeamUtilizationRate())
@@ -313,84 +418,93 @@ public class DashboardService {
                             .worstPerformingTeamName(worstPerformingTeam.getName())
                             .worstPerformingTeamUtilization(worstPerformingTeam.getTeamUtilizationRate())
                             .utilizationGap(highestUtilization - lowestUtilization)
-                            .build());
+                            .build();
         }
 
         // Get department-wide worklog type breakdown
-        List<WorklogTypeHoursProjection> deptTypeBreakdown =
-                worklogRepository.getDepartmentWorklogTypeSummary(departmentId, startDate, endDate);
+        List<WorklogTypeHoursProjection> deptTypeBreakdown = rollupRepository.getDepartmentWorklogTypeSummary(
+                departmentId, startDate, endDate, sealed.from(), sealed.to());
+        Map<String, Long> deptHoursByType = mergeTypeHours(deptTypeBreakdown,
+                sealed.hoursByType(inDepartment));
 
         List<WorklogTypeBreakdown> deptBreakdowns = new ArrayList<>();
-        int actualDeptTotal = 0;
+        int departmentTotalHours = 0;
 
-        for (WorklogTypeHoursProjection projection : deptTypeBreakdown) {
-            actualDeptTotal += projection.getHours().intValue();
+        for (Map.Entry<String, Long> type : deptHoursByType.entrySet()) {
+            departmentTotalHours += type.getValue().intValue();
             deptBreakdowns.add(WorklogTypeBreakdown.builder()
-                            .typeName(projection.getTypeName())
-                            .hours(projection.getHours().intValue())
+                            .typeName(type.getKey())
+                            .hours(type.getValue().intValue())
                             .percentage(0.0) // Will calculate after getting total
                             .build());
         }
 
         // Update percentages with actual total
-        if (actualDeptTotal > 0) {
+        if (departmentTotalHours > 0) {
             for (WorklogTypeBreakdown breakdown : deptBreakdowns) {
-                breakdown.setPercentage((breakdown.getHours() * 100.0) / actualDeptTotal);
+                breakdown.setPercentage((breakdown.getHours() * 100.0) / departmentTotalHours);
             }
         }
 
-        departmentTotalHours = actualDeptTotal;
-
-        // Only set department breakdown if we have data
-        if (!deptBreakdowns.isEmpty()) {
-            responseBuilder.worklogTypeBreakdown(deptBreakdowns);
-        }
-
         // Calculate department statistics
         int totalEmployees = departmentEmployees.size() - 1; // Exclude director
         double deptUtilization = (workingDays > 0 && totalEmployees > 0) ?
                 (departmentTotalHours * 100.0) / (totalEmployees * workingDays * 8) : 0.0;
 
-        // Count employees who have logged work
-        int employeesWithLogs = 0;
-        for (Employee emp : departmentEmployees) {
-            if (!emp.getId().equals(director.getId())) {
-                Integer empHours = worklogRepository.getTotalHoursByEmployee(
-                        emp.getId(), startDate, endDate
-                );
-                if (empHours != null && empHours > 0) {
-                    employeesWithLogs++;
-                }
-            }
-        }
+        // Count employees who have logged work (excluding director)
+        int employeesWithLogs = (int) hoursByEmployee.entrySet().stream()
+                .filter(e -> !e.getKey().equals(directorId) && e.getValue() > 0)
+                .count();
 
         double logComplianceRate = (totalEmployees > 0) ?
                 (employeesWithLogs * 100.0 / totalEmployees) : 0.0;
 
-        responseBuilder.departmentStats(DepartmentStatistics.builder()
+        DepartmentStatistics departmentStats = DepartmentStatistics.builder()
                         .totalEmployees(totalEmployees)
                         .totalTeamLeads(teamLeads.size())
                         .departmentTotalHours(departmentTotalHours)
                         .departmentUtilizationRate(deptUtilization)
                         .employeesWithLogs(employeesWithLogs)
                         .logComplianceRate(logComplianceRate)
-                        .build());
+                        .build();
 
         log.info("Director dashboard - Department total hours: {}, Total employees: {}, Utilization: {}%, Compliance: {}%",
                 departmentTotalHours, totalEmployees, deptUtilization,
                 logComplianceRate);
+
+        return new DepartmentSection(teamLeadSummaries, insights, departmentStats, deptBreakdowns);
+    }
+
+    // Results of the independent dashboard sections, team/department are null when not applicable
+    private record DashboardSections(PeriodSummary periodSummary,
+                                     List<WorklogTypeBreakdown> typeBreakdown,
+                                     List<RecentWorklog> recentWorklogs,
+                                     TeamSection team,
+                                     DepartmentSection department) {
     }
 
+    private record TeamSection(List<TeamMemberSummary> members, TeamStatistics stats) {
+    }
+
+    private record DepartmentSection(List<TeamLeadSummary> teamLeads,
+                                     TeamPerformanceInsights insights,
+                                     DepartmentStatistics stats,
+                                     List<WorklogTypeBreakdown> typeBreakdown) {
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public DashboardResponse getEmployeeDashboard(Integer currentUserId, Integer targetEmployeeId,
                                                   DashboardFilterRequest filters) {
-        Employee currentUser = employeeRepository.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Employee targetEmployee = employeeRepository.findById(targetEmployeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(targetEmployeeId);
+        if (!organization.contains(currentUserId)) {
+            throw new RuntimeException("User not found");
+        }
+        if (!organization.contains(targetEmployeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
 
         // Verify authorization
-        if (!currentUser.canViewEmployee(targetEmployee)) {
+        if (!organization.canView(currentUserId, targetEmployeeId)) {
             throw new RuntimeException("You don't have permission to view this employee's dashboard");
         }
 
@@ -399,84 +513,57 @@ public class DashboardService {
     }
 
     public QuickStatsResponse getQuickStats(Integer employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(employeeId);
+        Role role = organization.role(employeeId);
+        if (role == null) {
+            throw new RuntimeException("Employee not found");
+        }
+        Integer departmentId = organization.departmentId(employeeId);
 
         // Current week
         LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
         LocalDate weekEnd = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
 
         // Get this week's hours
-        Integer weekHours = worklogRepository.getTotalHoursByEmployee(employeeId, weekStart, weekEnd);
-        if (weekHours == null) weekHours = 0;
+        SealedPeriod sealed = sealedWeeks.period(weekStart, weekEnd);
+        int weekHours = rollupRepository.getPeriodTotalsByEmployee(employeeId, weekStart, weekEnd,
+                        sealed.from(), sealed.to())
+                .getTotalHours().intValue();
 
         // Get today's hours
-        List<Worklog> todayLogs = worklogRepository.findByEmployeeIdAndWorkDate(employeeId, LocalDate.now());
-        int todayHours = todayLogs.stream().mapToInt(Worklog::getHoursWorked).sum();
+        PeriodTotalsProjection today = rollupRepository.getPeriodTotalsByEmployee(
+                employeeId, LocalDate.now(), LocalDate.now(), sealed.from(), sealed.to()
+        );
+        int todayHours = today.getTotalHours().intValue();
+
+        // Holidays shorten the expected week
+        int expectedWeekHours = (int) businessCalendar.workingDays(departmentId, weekStart, weekEnd) * 8;
 
         QuickStatsResponse.QuickStatsResponseBuilder statsBuilder = QuickStatsResponse.builder()
                 .todayHours(todayHours)
                 .weekHours(weekHours)
-                .remainingWeekHours(Math.max(0, 40 - weekHours))
-                .hasLoggedToday(!todayLogs.isEmpty());
+                .remainingWeekHours(Math.max(0, expectedWeekHours - weekHours))
+                .hasLoggedToday(today.getDaysWorked() > 0);
 
-        // Add role-specific stats
-        if (employee.getRole() == Role.TEAM_LEAD) {
+        // Add role-specific stats - members come from the org snapshot, who logged today from the tracker
+        if (role == Role.TEAM_LEAD) {
             // Team lead sees their direct team members
-            List<Employee> teamMembers = employeeRepository.findByTeamLeadIdAndIsActiveTrue(employeeId);
-
-            // Count how many have logged today
-            int loggedToday = 0;
-            for (Employee member : teamMembers) {
-                boolean hasLogged = worklogRepository.hasLoggedWorkForDate(member.getId(), LocalDate.now());
-                if (hasLogged) loggedToday++;
-            }
+            int[] teamMemberIds = organization.teamMembers(employeeId);
 
-            statsBuilder.teamSize(teamMembers.size());
-            statsBuilder.teamMembersLoggedToday(loggedToday);
-        } else if (employee.getRole() == Role.DIRECTOR) {
+            statsBuilder.teamSize(teamMemberIds.length);
+            statsBuilder.teamMembersLoggedToday(complianceTracker.countLoggedToday(teamMemberIds));
+        } else if (role == Role.DIRECTOR && departmentId != null) {
             // Director sees all department members (excluding self)
-            List<Employee> departmentEmployees = employeeRepository.findByDepartmentIdAndIsActiveTrue(
-                    employee.getDepartment().getId()
-            );
-
-            // Remove the director from the count
-            int teamSize = departmentEmployees.size() - 1;
-            statsBuilder.teamSize(teamSize);
-
-            // Count how many have logged today (excluding director)
-            int loggedToday = 0;
-            for (Employee member : departmentEmployees) {
-                if (!member.getId().equals(employeeId)) {
-                    boolean hasLogged = worklogRepository.hasLoggedWorkForDate(member.getId(), LocalDate.now());
-                    if (hasLogged) loggedToday++;
-                }
-            }
+            int[] departmentMemberIds = Arrays.stream(organization.departmentMembers(departmentId))
+                    .filter(id -> id != employeeId)
+                    .toArray();
 
-            statsBuilder.teamSize(teamSize);
-            statsBuilder.teamMembersLoggedToday(loggedToday);
+            statsBuilder.teamSize(departmentMemberIds.length);
+            statsBuilder.teamMembersLoggedToday(complianceTracker.countLoggedToday(departmentMemberIds));
         }
 
-        log.info("Quick stats for {} ({})", employee.getFullName(), employee.getRole());
+        log.info("Quick stats for employee {} ({})", employeeId, role);
 
         return statsBuilder.build();
     }
-
-    // Helper methods
-    private long calculateWeekends(LocalDate start, LocalDate end) {
-        long weekends = 0;
-        LocalDate date = start;
-        while (!date.isAfter(end)) {
-            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                weekends++;
-            }
-            date = date.plusDays(1);
-        }
-        return weekends;
-    }
-
-    private long calculateWorkingDays(LocalDate start, LocalDate end) {
-        long totalDays = ChronoUnit.DAYS.between(start, end) + 1;
-        return totalDays - calculateWeekends(start, end);
-    }
-}
\ No newline at end of file
+}
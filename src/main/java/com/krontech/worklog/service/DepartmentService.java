@@ -4,7 +4,6 @@ import com.krontech.worklog.dto.projection.DepartmentWithCountProjection;
 import com.krontech.worklog.dto.projection.EmployeeHierarchyProjection;
 import com.krontech.worklog.dto.response.*;
 import com.krontech.worklog.entity.Department;
-import com.krontech.worklog.entity.Employee;
 import com.krontech.worklog.entity.Role;
 import com.krontech.worklog.repository.DepartmentRepository;
 import com.krontech.worklog.repository.EmployeeRepository;
@@ -124,11 +123,10 @@ public class DepartmentService {
                 .build();
     }
 
-    public UserDepartmentResponse getUserDepartment(Integer userId) {
-        Employee employee = employeeRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-
-        Department department = employee.getDepartment();
+    // Department id comes from the session principal, the department and its director in one query
+    public UserDepartmentResponse getUserDepartment(Integer departmentId) {
+        Department department = departmentRepository.findByIdWithDirector(departmentId)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
 
         return UserDepartmentResponse.builder()
                 .id(department.getId())
@@ -1,5 +1,8 @@
 package com.krontech.worklog.service;
 
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.cache.ReferenceDataCache;
 import com.krontech.worklog.dto.request.LoginRequest;
 import com.krontech.worklog.dto.response.EmployeeResponse;
 import com.krontech.worklog.dto.response.LoginResponse;
@@ -11,6 +14,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,74 +25,85 @@ import java.util.stream.Collectors;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final ReferenceDataCache referenceData;
 
     public EmployeeResponse getEmployee(Integer id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
-        return EmployeeResponse.from(employee);
+        return EmployeeResponse.from(employee, referenceData);
     }
 
     public List<EmployeeResponse> getEmployeesVisibleToUser(Integer userId) {
-        Employee currentUser = employeeRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(userId);
+        if (!organization.contains(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        List<Employee> visibleEmployees = employeeRepository.findEmployeesVisibleToUser(
-                userId,
-                currentUser.getDepartment().getId(),
-                currentUser.getRole().name()
-        );
+        // Who is visible comes from the snapshot, only their details are loaded
+        List<Integer> visibleIds = Arrays.stream(organization.visibleEmployees(userId)).boxed().toList();
 
-        return visibleEmployees.stream()
-                .map(EmployeeResponse::from)
+        return employeeRepository.findAllById(visibleIds).stream()
+                .sorted(Comparator.comparing(Employee::getFirstName).thenComparing(Employee::getLastName))
+                .map(employee -> EmployeeResponse.from(employee, referenceData))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeIfAuthorized(Integer currentUserId, Integer targetEmployeeId) {
-        Employee currentUser = findById(currentUserId);
-        Employee targetEmployee = findById(targetEmployeeId);
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(targetEmployeeId);
+        if (!organization.contains(currentUserId) || !organization.contains(targetEmployeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
 
         // Check if current user can view target employee
-        if (!currentUser.canViewEmployee(targetEmployee)) {
+        if (!organization.canView(currentUserId, targetEmployeeId)) {
             throw new RuntimeException("You don't have permission to view this employee");
         }
 
-        return EmployeeResponse.from(targetEmployee);
+        return EmployeeResponse.from(findById(targetEmployeeId), referenceData);
     }
 
     @Transactional(readOnly = true)
     public List<EmployeeResponse> getDepartmentEmployees(Integer directorId) {
-        Employee director = findById(directorId);
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(directorId);
+        if (!organization.contains(directorId)) {
+            throw new RuntimeException("Employee not found");
+        }
 
-        if (!director.getRole().name().equals("DIRECTOR")) {
+        if (organization.role(directorId) != Role.DIRECTOR) {
             throw new RuntimeException("Only directors can view all department employees");
         }
 
         List<Employee> employees = employeeRepository.findByDepartmentIdAndIsActiveTrue(
-                director.getDepartment().getId()
+                organization.departmentId(directorId)
         );
 
         return employees.stream()
-                .map(EmployeeResponse::from)
+                .map(employee -> EmployeeResponse.from(employee, referenceData))
                 .collect(Collectors.toList());
     }
 
     public List<EmployeeResponse> getTeamMembers(Integer currentUserId, Integer teamLeadId) {
-        Employee currentUser = findById(currentUserId);
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(currentUserId);
+        Role role = organization.role(currentUserId);
+        if (role == null) {
+            throw new RuntimeException("Employee not found");
+        }
 
         // Verify authorization
-        if (currentUser.getRole() == Role.EMPLOYEE) {
+        if (role == Role.EMPLOYEE) {
             throw new RuntimeException("Only team leads and directors can view team members");
         }
 
-        if (currentUser.getRole() == Role.TEAM_LEAD && !currentUser.getId().equals(teamLeadId)) {
+        if (role == Role.TEAM_LEAD && !currentUserId.equals(teamLeadId)) {
             throw new RuntimeException("Team leads can only view their own team");
         }
 
         List<Employee> teamMembers = employeeRepository.findByTeamLeadIdAndIsActiveTrue(teamLeadId);
 
         return teamMembers.stream()
-                .map(EmployeeResponse::from)
+                .map(employee -> EmployeeResponse.from(employee, referenceData))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,308 @@
+package com.krontech.worklog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.response.QuickStatsDeltaResponse;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.exception.ServiceUnavailableException;
+import com.krontech.worklog.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes quick stats changes over Server-Sent Events instead of having clients poll.
+ * Subscribers are grouped by what they watch: their own stats, a team lead's team or a director's
+ * department. A committed worklog change is serialized once per affected group and queued on each
+ * of that group's connections. Every connection writes its queue in order off the committing thread,
+ * one event at a time, and numbers its events through the SSE id - the initial stats included - so
+ * a client can tell it missed one. A connection that falls too far behind is closed instead of
+ * buffering without bound. Open connections are capped, and an idle stream gets a heartbeat comment
+ * so proxies keep it open.
+ */
+@Service
+@Slf4j
+public class QuickStatsFeed implements DisposableBean {
+
+    private final OrganizationHierarchy organizationHierarchy;
+    private final DailyComplianceTracker complianceTracker;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    // Events a connection may have queued before it is considered gone
+    private static final int MAX_PENDING_EVENTS = 256;
+
+    private final Map<String, Set<Subscriber>> groups = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public QuickStatsFeed(OrganizationHierarchy organizationHierarchy,
+                          DailyComplianceTracker complianceTracker,
+                          ObjectMapper objectMapper,
+                          @Value("${worklog.live.max-subscribers:1000}") int maxSubscribers,
+                          @Value("${worklog.live.timeout:30m}") Duration timeout) {
+        this.organizationHierarchy = organizationHierarchy;
+        this.complianceTracker = complianceTracker;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Open a stream for the user: their own stats, plus their team (team leads) or department (directors).
+     * The initial stats are read after subscribing and sent first, everything after that arrives as deltas.
+     */
+    public SseEmitter subscribe(UserPrincipal user, Supplier<?> initialStats) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open quick stats streams", 30);
+        }
+
+        String[] keys = user.role() == Role.TEAM_LEAD ? new String[]{selfKey(user.id()), teamKey(user.id())}
+                : user.role() == Role.DIRECTOR && user.departmentId() != null
+                ? new String[]{selfKey(user.id()), departmentKey(user.departmentId())}
+                : new String[]{selfKey(user.id())};
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), keys);
+        for (String key : keys) {
+            groups.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // The emitter's callbacks only fire once it is returned to Spring MVC, so undo the subscription here
+        Object stats;
+        try {
+            stats = initialStats.get();
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+        // Deltas queued meanwhile go out first and are already part of the stats - clients start over from here
+        subscriber.enqueue("quick-stats", stats);
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(error -> remove.run());
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    // Runs after DailyComplianceTracker has applied the same change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onWorklogChanged(WorklogChangedEvent event) {
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int todayDelta = hoursOn(event.after(), today, today) - hoursOn(event.before(), today, today);
+        int weekDelta = hoursOn(event.after(), weekStart, today) - hoursOn(event.before(), weekStart, today);
+        if (todayDelta == 0 && weekDelta == 0 && !touches(event, today)) {
+            return;
+        }
+
+        boolean loggedToday = complianceTracker.hasLoggedToday(event.employeeId());
+        publish(selfKey(event.employeeId()), "quick-stats-delta", QuickStatsDeltaResponse.builder()
+                .employeeId(event.employeeId())
+                .changeType(event.changeType())
+                .todayHoursDelta(todayDelta)
+                .weekHoursDelta(weekDelta)
+                .hasLoggedToday(loggedToday)
+                .build());
+
+        // Compliance only changes with today's entries
+        if (!touches(event, today)) {
+            return;
+        }
+        OrganizationSnapshot organization = organizationHierarchy.snapshot();
+
+        if (event.teamLeadId() != null && groups.containsKey(teamKey(event.teamLeadId()))) {
+            int[] members = organization.teamMembers(event.teamLeadId());
+            publish(teamKey(event.teamLeadId()), "team-compliance",
+                    compliance(event, loggedToday, members));
+        }
+
+        if (event.departmentId() != null && groups.containsKey(departmentKey(event.departmentId()))) {
+            // Same people as quick stats: the department without its director
+            int[] members = Arrays.stream(organization.departmentMembers(event.departmentId()))
+                    .filter(id -> organization.role(id) != Role.DIRECTOR)
+                    .toArray();
+            publish(departmentKey(event.departmentId()), "team-compliance",
+                    compliance(event, loggedToday, members));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${worklog.live.heartbeat-interval:25s}",
+            initialDelayString = "${worklog.live.heartbeat-interval:25s}")
+    public void heartbeat() {
+        Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+        groups.values().forEach(all::addAll);
+        for (Subscriber subscriber : all) {
+            subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        groups.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private QuickStatsDeltaResponse compliance(WorklogChangedEvent event, boolean loggedToday, int[] members) {
+        return QuickStatsDeltaResponse.builder()
+                .employeeId(event.employeeId())
+                .changeType(event.changeType())
+                .employeeLoggedToday(loggedToday)
+                .teamSize(members.length)
+                .teamMembersLoggedToday(complianceTracker.countLoggedToday(members))
+                .build();
+    }
+
+    // Serialized once, then queued on every connection of the group
+    private void publish(String key, String eventName, QuickStatsDeltaResponse payload) {
+        Set<Subscriber> group = groups.get(key);
+        if (group == null || group.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize quick stats event for {}", key, e);
+            return;
+        }
+
+        for (Subscriber subscriber : group) {
+            subscriber.enqueue(eventName, json);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        boolean removed = false;
+        for (String key : subscriber.keys) {
+            Set<Subscriber> group = groups.get(key);
+            if (group != null && group.remove(subscriber)) {
+                removed = true;
+                if (group.isEmpty()) {
+                    groups.remove(key, group);
+                }
+            }
+        }
+        if (removed) {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    // One connection and its outgoing events, written by at most one sender thread at a time
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String[] keys;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new LinkedBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long sequence; // guarded by "this"
+
+        private Subscriber(SseEmitter emitter, String[] keys) {
+            this.emitter = emitter;
+            this.keys = keys;
+        }
+
+        // Numbered and queued under the same lock, so ids always increase along the queue
+        private void enqueue(String eventName, Object data) {
+            boolean queued;
+            synchronized (this) {
+                queued = pending.offer(SseEmitter.event().id(Long.toString(++sequence)).name(eventName).data(data));
+            }
+            afterEnqueue(queued);
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder comment) {
+            afterEnqueue(pending.offer(comment));
+        }
+
+        private void afterEnqueue(boolean queued) {
+            if (!queued) {
+                // Not keeping up - the client reconnects and starts over from fresh stats
+                pending.clear();
+                emitter.completeWithError(new IllegalStateException("Quick stats stream fell behind"));
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while ((event = pending.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away - completing the emitter triggers the removal callback
+                    pending.clear();
+                    emitter.completeWithError(e);
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag was cleared
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+
+    private static int hoursOn(WorklogChangedEvent.State state, LocalDate from, LocalDate to) {
+        return state != null && !state.workDate().isBefore(from) && !state.workDate().isAfter(to)
+                ? state.hoursWorked() : 0;
+    }
+
+    private static boolean touches(WorklogChangedEvent event, LocalDate day) {
+        return event.affectedDates().contains(day);
+    }
+
+    private static String selfKey(Integer employeeId) {
+        return "employee:" + employeeId;
+    }
+
+    private static String teamKey(Integer teamLeadId) {
+        return "team:" + teamLeadId;
+    }
+
+    private static String departmentKey(Integer departmentId) {
+        return "department:" + departmentId;
+    }
+}
@@ -0,0 +1,206 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.projection.TrendBucketProjection;
+import com.krontech.worklog.dto.response.UtilizationTrendResponse;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.exception.ValidationException;
+import com.krontech.worklog.repository.WorklogDailyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Hours, days worked and utilization per week or month over a long range, for one employee,
+ * a team or a department. One grouped query over the daily rollups covers the whole range;
+ * working days come from the in-memory business calendar.
+ * Team and department trends use the current members for every bucket.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class UtilizationTrendService {
+
+    private final WorklogDailyRollupRepository rollupRepository;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final BusinessCalendarService businessCalendar;
+    private final int maxBuckets;
+
+    public UtilizationTrendService(WorklogDailyRollupRepository rollupRepository,
+                                   OrganizationHierarchy organizationHierarchy,
+                                   BusinessCalendarService businessCalendar,
+                                   @Value("${worklog.trend.max-buckets:260}") int maxBuckets) {
+        this.rollupRepository = rollupRepository;
+        this.organizationHierarchy = organizationHierarchy;
+        this.businessCalendar = businessCalendar;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public enum Granularity {
+        WEEK(ChronoUnit.WEEKS, 52),
+        MONTH(ChronoUnit.MONTHS, 12);
+
+        private final ChronoUnit unit;
+        private final int defaultBuckets;
+
+        Granularity(ChronoUnit unit, int defaultBuckets) {
+            this.unit = unit;
+            this.defaultBuckets = defaultBuckets;
+        }
+
+        public static Granularity from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unsupported trend granularity: " + value);
+            }
+        }
+
+        LocalDate bucketStart(LocalDate date) {
+            return this == WEEK ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : date.withDayOfMonth(1);
+        }
+
+        // Matches date_trunc in the trend query
+        String sqlUnit() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Scope(String type, Integer id, int[] members, Integer departmentId) {
+    }
+
+    /**
+     * Trend for the requester, or for the employee, team or department given (at most one).
+     * Defaults to the last 52 weeks or 12 months up to today.
+     */
+    public UtilizationTrendResponse getTrend(Integer requesterId, Granularity granularity,
+                                             LocalDate startDate, LocalDate endDate,
+                                             Integer employeeId, Integer teamLeadId, Integer departmentId) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate
+                : granularity.bucketStart(end).minus(granularity.defaultBuckets - 1, granularity.unit);
+        if (end.isBefore(start)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+
+        List<LocalDate> bucketStarts = bucketStarts(granularity, start, end);
+        Scope scope = resolveScope(requesterId, employeeId, teamLeadId, departmentId);
+
+        Map<LocalDate, TrendBucketProjection> found = new HashMap<>();
+        if (scope.members().length > 0) {
+            List<Integer> members = Arrays.stream(scope.members()).boxed().toList();
+            for (TrendBucketProjection bucket : rollupRepository.getTrend(granularity.sqlUnit(), members, start, end)) {
+                found.put(bucket.getBucketStart(), bucket);
+            }
+        }
+
+        int size = bucketStarts.size();
+        int headcount = scope.members().length;
+        LocalDate[] starts = new LocalDate[size];
+        long[] hours = new long[size];
+        long[] daysWorked = new long[size];
+        long[] workingDays = new long[size];
+        double[] utilization = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            LocalDate bucket = bucketStarts.get(i);
+            // Edge buckets are cut to the range, both for the query and for working days
+            LocalDate from = bucket.isBefore(start) ? start : bucket;
+            LocalDate to = i + 1 < size ? bucketStarts.get(i + 1).minusDays(1) : end;
+
+            TrendBucketProjection row = found.get(bucket);
+            starts[i] = from;
+            hours[i] = row != null ? row.getTotalHours() : 0;
+            daysWorked[i] = row != null ? row.getDaysWorked() : 0;
+            workingDays[i] = businessCalendar.workingDays(scope.departmentId(), from, to);
+
+            long capacity = headcount * workingDays[i] * 8;
+            utilization[i] = capacity > 0 ? Math.round(hours[i] * 10000.0 / capacity) / 100.0 : 0.0;
+        }
+
+        log.info("Utilization trend for {} {} - {} {} buckets from {} to {}",
+                scope.type(), scope.id(), size, granularity.sqlUnit(), start, end);
+
+        return UtilizationTrendResponse.builder()
+                .scope(scope.type())
+                .scopeId(scope.id())
+                .granularity(granularity.sqlUnit())
+                .startDate(start)
+                .endDate(end)
+                .headcount(headcount)
+                .bucketStarts(starts)
+                .hours(hours)
+                .daysWorked(daysWorked)
+                .workingDays(workingDays)
+                .utilization(utilization)
+                .build();
+    }
+
+    // Same visibility as the dashboards: yourself, your team as team lead, your department as director
+    private Scope resolveScope(Integer requesterId, Integer employeeId, Integer teamLeadId, Integer departmentId) {
+        if ((employeeId != null ? 1 : 0) + (teamLeadId != null ? 1 : 0) + (departmentId != null ? 1 : 0) > 1) {
+            throw new ValidationException("Give at most one of employeeId, teamLeadId and departmentId");
+        }
+
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(requesterId);
+        Role role = organization.role(requesterId);
+        if (role == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        if (departmentId != null) {
+            if (role != Role.DIRECTOR || !departmentId.equals(organization.departmentId(requesterId))) {
+                throw new RuntimeException("You can only view the trend of your own department");
+            }
+            // Same people as the department dashboard: everyone but the director
+            int[] members = Arrays.stream(organization.departmentMembers(departmentId))
+                    .filter(id -> organization.role(id) != Role.DIRECTOR)
+                    .toArray();
+            return new Scope("department", departmentId, members, departmentId);
+        }
+
+        if (teamLeadId != null) {
+            if (organization.role(teamLeadId) != Role.TEAM_LEAD && organization.role(teamLeadId) != Role.DIRECTOR) {
+                throw new RuntimeException("Team lead not found");
+            }
+            if (!organization.canView(requesterId, teamLeadId)) {
+                throw new RuntimeException("You don't have permission to view this team's trend");
+            }
+            return new Scope("team", teamLeadId, organization.teamMembers(teamLeadId),
+                    organization.departmentId(teamLeadId));
+        }
+
+        int target = employeeId != null ? employeeId : requesterId;
+        if (!organization.contains(target)) {
+            throw new RuntimeException("Employee not found");
+        }
+        if (!organization.canView(requesterId, target)) {
+            throw new RuntimeException("You don't have permission to view this employee's trend");
+        }
+        return new Scope("employee", target, new int[]{target}, organization.departmentId(target));
+    }
+
+    private List<LocalDate> bucketStarts(Granularity granularity, LocalDate start, LocalDate end) {
+        LocalDate first = granularity.bucketStart(start);
+        long count = granularity.unit.between(first, granularity.bucketStart(end)) + 1;
+        if (count > maxBuckets) {
+            throw new ValidationException("Trend range is limited to " + maxBuckets + " " + granularity.sqlUnit() + "s");
+        }
+        return Stream.iterate(first, bucket -> bucket.plus(1, granularity.unit))
+                .limit(count)
+                .toList();
+    }
+}
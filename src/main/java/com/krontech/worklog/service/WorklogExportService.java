@@ -0,0 +1,281 @@
+package com.krontech.worklog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.projection.WorklogExportRow;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams team and department worklogs as CSV or NDJSON.
+ * Rows come from a forward-only cursor of flat projections and are written as they are read,
+ * so memory stays flat no matter how wide the date range is.
+ */
+@Service
+@Slf4j
+public class WorklogExportService {
+
+    private static final String CSV_HEADER =
+            "id,work_date,employee_id,employee_code,employee_name,team_lead_id,worklog_type,hours_worked,project_name,description";
+
+    private final OrganizationHierarchy organizationHierarchy;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final int flushRows;
+
+    public WorklogExportService(OrganizationHierarchy organizationHierarchy,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${worklog.export.fetch-size:500}") int fetchSize,
+                                @Value("${worklog.export.flush-rows:1000}") int flushRows) {
+        this.organizationHierarchy = organizationHierarchy;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.flushRows = flushRows;
+    }
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    // Which worklogs an export covers, checked against the requester before streaming starts
+    public record Scope(String condition, Integer id, String label) {
+    }
+
+    // Team lead (or director) exporting their direct team, optionally one member of it
+    public Scope resolveTeamScope(Integer teamLeadId, Integer employeeId) {
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(teamLeadId);
+        Role role = organization.role(teamLeadId);
+        if (role == null) {
+            throw new RuntimeException("Team lead not found");
+        }
+
+        if (role != Role.TEAM_LEAD && role != Role.DIRECTOR) {
+            throw new RuntimeException("Only team leads and directors can export team worklogs");
+        }
+
+        if (employeeId != null) {
+            if (!organization.contains(employeeId)) {
+                throw new RuntimeException("Employee not found");
+            }
+
+            if (!organization.canView(teamLeadId, employeeId)) {
+                throw new RuntimeException("Employee is not in your team");
+            }
+            return employeeScope(employeeId);
+        }
+        return new Scope("e.teamLead.id = :scopeId", teamLeadId, "team-" + teamLeadId);
+    }
+
+    // Director exporting the department, optionally narrowed to one team or one employee
+    public Scope resolveDepartmentScope(Integer directorId, Integer teamLeadId, Integer employeeId) {
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(directorId);
+        Role role = organization.role(directorId);
+        if (role == null) {
+            throw new RuntimeException("Director not found");
+        }
+
+        if (role != Role.DIRECTOR) {
+            throw new RuntimeException("Only directors can export department worklogs");
+        }
+        Integer departmentId = organization.departmentId(directorId);
+        if (departmentId == null) {
+            throw new RuntimeException("Director has no department");
+        }
+
+        if (employeeId != null) {
+            if (!organization.contains(employeeId)) {
+                throw new RuntimeException("Employee not found");
+            }
+
+            if (!organization.isInDepartment(employeeId, departmentId)) {
+                throw new RuntimeException("Employee is not in your department");
+            }
+            return employeeScope(employeeId);
+        }
+
+        if (teamLeadId != null) {
+            if (!organization.contains(teamLeadId)) {
+                throw new RuntimeException("Team lead not found");
+            }
+
+            if (!organization.isInDepartment(teamLeadId, departmentId)) {
+                throw new RuntimeException("Team lead is not in your department");
+            }
+            return new Scope("e.teamLead.id = :scopeId", teamLeadId, "team-" + teamLeadId);
+        }
+
+        return new Scope("e.department.id = :scopeId", departmentId, "department-" + departmentId);
+    }
+
+    public String fileName(Scope scope, LocalDate startDate, LocalDate endDate, Format format) {
+        return String.format("worklogs-%s-%s-%s.%s", scope.label(), startDate, endDate, format.getExtension());
+    }
+
+    // Runs on the async request thread, inside its own read-only transaction so the cursor stays open
+    public StreamingResponseBody export(Scope scope, LocalDate startDate, LocalDate endDate, Format format) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<WorklogExportRow> stream = streamRows(scope, startDate, endDate)) {
+                    return writeRows(stream.iterator(), writer, format);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            log.info("Exported {} worklogs for {} from {} to {} as {}", rows, scope.label(), startDate, endDate, format);
+        };
+    }
+
+    private Stream<WorklogExportRow> streamRows(Scope scope, LocalDate startDate, LocalDate endDate) {
+        String jpql = """
+        SELECT new com.krontech.worklog.dto.projection.WorklogExportRow(
+            w.id,
+            w.workDate,
+            e.id,
+            e.employeeCode,
+            CONCAT(e.firstName, ' ', e.lastName),
+            tl.id,
+            wt.name,
+            w.hoursWorked,
+            w.projectName,
+            w.description
+        )
+        FROM Worklog w
+        JOIN w.employee e
+        JOIN w.worklogType wt
+        LEFT JOIN e.teamLead tl
+        WHERE %s
+            AND w.workDate BETWEEN :startDate AND :endDate
+        ORDER BY w.workDate DESC, w.id DESC
+        """.formatted(scope.condition());
+
+        return entityManager.createQuery(jpql, WorklogExportRow.class)
+                .setParameter("scopeId", scope.id())
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long writeRows(Iterator<WorklogExportRow> rows, Writer writer, Format format) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        while (rows.hasNext()) {
+            WorklogExportRow row = rows.next();
+            if (format == Format.CSV) {
+                writeCsv(row, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+
+            // Push rows to the client periodically instead of buffering the whole export
+            if (++count % flushRows == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private void writeCsv(WorklogExportRow row, Writer writer) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getWorkDate().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.getEmployeeId()));
+        writer.write(',');
+        writer.write(csvField(row.getEmployeeCode()));
+        writer.write(',');
+        writer.write(csvField(row.getEmployeeName()));
+        writer.write(',');
+        writer.write(row.getTeamLeadId() != null ? row.getTeamLeadId().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getWorklogTypeName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getHoursWorked()));
+        writer.write(',');
+        writer.write(csvField(row.getProjectName()));
+        writer.write(',');
+        writer.write(csvField(row.getDescription()));
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting - only when the value contains a delimiter, quote or line break
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private Scope employeeScope(Integer employeeId) {
+        return new Scope("e.id = :scopeId", employeeId, "employee-" + employeeId);
+    }
+}
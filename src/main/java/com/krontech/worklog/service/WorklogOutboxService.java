@@ -0,0 +1,216 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.dto.response.OutboxStatusResponse;
+import com.krontech.worklog.entity.WorklogOutboxEvent;
+import com.krontech.worklog.event.WorklogChangeListener;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.repository.WorklogOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for worklog changes.
+ * WorklogService appends every change to worklog_outbox in its own transaction, so a change is
+ * recorded if and only if it commits. A background dispatcher drains the outbox in id order, in
+ * batches, and hands each batch to the WorklogChangeListener beans - the daily rollups among them -
+ * inside one transaction that also marks the batch dispatched. Woken right after each commit, polled as a fallback and drained
+ * on startup, so nothing committed before a restart is lost.
+ */
+@Service
+@Slf4j
+public class WorklogOutboxService implements DisposableBean {
+
+    // First key of the two-int advisory locks taken by the outbox
+    private static final int EMPLOYEE_LOCK_CLASS = 0x574C4F31;
+    private static final int DISPATCHER_LOCK_CLASS = 0x574C4F32;
+
+    private final WorklogOutboxRepository outboxRepository;
+    private final ObjectProvider<WorklogChangeListener> listeners;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("worklog-outbox").daemon().factory());
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public WorklogOutboxService(WorklogOutboxRepository outboxRepository,
+                                ObjectProvider<WorklogChangeListener> listeners,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${worklog.outbox.batch-size:200}") int batchSize,
+                                @Value("${worklog.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Record a change in the caller's transaction. The employee lock is held until that transaction
+     * ends, so one employee's events get ids (and are delivered) in the order they committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(WorklogChangedEvent event) {
+        outboxRepository.lockEmployee(EMPLOYEE_LOCK_CLASS, event.employeeId());
+        outboxRepository.save(WorklogOutboxEvent.of(event));
+        wakeUpAfterCommit();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<WorklogChangedEvent> events) {
+        events.stream()
+                .mapToInt(WorklogChangedEvent::employeeId)
+                .distinct()
+                .sorted()
+                .forEach(employeeId -> outboxRepository.lockEmployee(EMPLOYEE_LOCK_CLASS, employeeId));
+        outboxRepository.saveAll(events.stream().map(WorklogOutboxEvent::of).toList());
+        wakeUpAfterCommit();
+    }
+
+    // Whatever was committed but not dispatched before a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wakeUp();
+    }
+
+    // Fallback for wake-ups lost to a crash or a failed batch, and for events appended by other instances
+    @Scheduled(fixedDelayString = "${worklog.outbox.poll-interval:10s}",
+            initialDelayString = "${worklog.outbox.poll-interval:10s}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Deliver pending events until the outbox is empty. Stops at the first failing batch, which
+     * stays pending and is retried by the next wake-up.
+     */
+    public synchronized int drain() {
+        int total = 0;
+        while (true) {
+            int delivered;
+            try {
+                delivered = transaction.execute(status -> dispatchBatch());
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("Worklog outbox batch failed, will retry", e);
+                return total;
+            }
+            total += delivered;
+            if (delivered < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Deliver everything pending inside the caller's transaction, after any running batch has committed.
+     * For callers about to recompute what listeners derive from worklogs, so changes already part of
+     * the recomputed state are not applied on top of it later.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int dispatchPending() {
+        outboxRepository.lockDispatcher(DISPATCHER_LOCK_CLASS);
+        int total = 0;
+        int delivered;
+        do {
+            delivered = deliverBatch();
+            total += delivered;
+        } while (delivered == batchSize);
+        return total;
+    }
+
+    @Scheduled(cron = "${worklog.outbox.cleanup-cron:0 45 1 * * *}")
+    public int cleanup() {
+        Integer removed = transaction.execute(status ->
+                outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            log.info("Removed {} dispatched worklog outbox events", removed);
+        }
+        return removed != null ? removed : 0;
+    }
+
+    public OutboxStatusResponse status() {
+        return OutboxStatusResponse.builder()
+                .pendingEvents(outboxRepository.countPending())
+                .oldestPendingAt(outboxRepository.findOldestPending())
+                .lastDispatchedAt(outboxRepository.findLastDispatched())
+                .dispatchedSinceStart(dispatched.get())
+                .failedBatchesSinceStart(failedBatches.get())
+                .listeners(listeners.orderedStream()
+                        .map(listener -> AopUtils.getTargetClass(listener).getSimpleName())
+                        .toList())
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    private int dispatchBatch() {
+        // Another instance is draining; its own loop picks up what is pending
+        if (!outboxRepository.tryLockDispatcher(DISPATCHER_LOCK_CLASS)) {
+            return 0;
+        }
+        return deliverBatch();
+    }
+
+    private int deliverBatch() {
+        List<WorklogOutboxEvent> pending = outboxRepository.findPending(Limit.of(batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<WorklogChangedEvent> events = pending.stream().map(WorklogOutboxEvent::toEvent).toList();
+        listeners.orderedStream().forEach(listener -> listener.onWorklogChanges(events));
+
+        outboxRepository.markDispatched(pending.stream().map(WorklogOutboxEvent::getId).toList(), LocalDateTime.now());
+        dispatched.addAndGet(pending.size());
+        return pending.size();
+    }
+
+    private void wakeUpAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+    }
+
+    // Coalesces wake-ups: at most one drain waits behind the running one
+    private void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.dto.response.WorklogPartitionsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps the worklogs table range partitioned by work_date, one partition per month.
+ * Date-bounded queries only touch the months they cover, and every maintenance step works on
+ * a single month, so its cost does not grow with the amount of history.
+ * Months older than the retention window are detached into worklogs_archive, which only the
+ * historical endpoints (and rollup rebuilds) read. Retention 0 keeps everything hot.
+ */
+@Service
+@Slf4j
+public class WorklogPartitionService {
+
+    private static final String PARENT = "worklogs";
+    private static final String DEFAULT_PARTITION = "worklogs_default";
+    private static final String ARCHIVE = "worklogs_archive";
+    private static final String LEGACY = "worklogs_unpartitioned";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'worklogs_p'uuuu_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    // Taking the EntityManagerFactory makes sure Hibernate has created the worklogs table first
+    public WorklogPartitionService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${worklog.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${worklog.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = Math.max(0, retentionMonths);
+    }
+
+    // Runs before anything reads or writes worklogs
+    @PostConstruct
+    public void initialize() {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE
+                    + " (LIKE " + PARENT + ") PARTITION BY RANGE (work_date)");
+            if (!isPartitioned()) {
+                convert();
+            }
+        });
+        maintain();
+    }
+
+    /**
+     * Create the partitions for the coming months, move stray rows out of the default partition
+     * and archive months that fell out of the retention window.
+     */
+    @Scheduled(cron = "${worklog.partitions.maintenance-cron:0 15 1 * * *}")
+    public synchronized WorklogPartitionsResponse maintain() {
+        YearMonth current = YearMonth.now();
+        YearMonth archiveBefore = retentionMonths > 0 ? current.minusMonths(retentionMonths) : null;
+
+        int created = 0;
+        for (YearMonth month = current.minusMonths(1); !month.isAfter(current.plusMonths(monthsAhead));
+                month = month.plusMonths(1)) {
+            if (archiveBefore == null || !month.isBefore(archiveBefore)) {
+                created += createPartition(month) ? 1 : 0;
+            }
+        }
+
+        // Backdated entries for months without a partition land in the default one
+        for (YearMonth month : monthsInDefault()) {
+            if (archiveBefore != null && month.isBefore(archiveBefore)) {
+                created += sweepIntoArchive(month) ? 1 : 0;
+            } else {
+                created += createPartition(month) ? 1 : 0;
+            }
+        }
+
+        int archived = 0;
+        if (archiveBefore != null) {
+            for (YearMonth month : hotMonths()) {
+                if (month.isBefore(archiveBefore)) {
+                    archive(month);
+                    archived++;
+                }
+            }
+        }
+
+        if (created > 0 || archived > 0) {
+            log.info("Worklog partitions - created: {}, archived: {}", created, archived);
+        }
+        return status();
+    }
+
+    public WorklogPartitionsResponse status() {
+        List<String> hot = hotMonths().stream().map(YearMonth::toString).toList();
+        List<String> archived = months(ARCHIVE).stream().map(YearMonth::toString).toList();
+        Long defaultRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + DEFAULT_PARTITION, Long.class);
+
+        return WorklogPartitionsResponse.builder()
+                .hotMonths(hot)
+                .archivedMonths(archived)
+                .defaultPartitionRows(defaultRows)
+                .monthsAhead(monthsAhead)
+                .retentionMonths(retentionMonths)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT CAST(relkind AS VARCHAR) FROM pg_class WHERE oid = CAST(? AS regclass)", String.class, PARENT);
+        return "p".equals(kind);
+    }
+
+    // One-off move of an existing plain table: partitions are created empty and the rows routed into them,
+    // keys and indexes are added afterwards so they are built once per partition instead of row by row
+    private void convert() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.execute("LOCK TABLE " + PARENT + " IN ACCESS EXCLUSIVE MODE");
+
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(work_date) FROM " + PARENT, LocalDate.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " RENAME TO " + LEGACY);
+        jdbcTemplate.execute("CREATE TABLE " + PARENT + " (LIKE " + LEGACY + ") PARTITION BY RANGE (work_date)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + PARENT + " DEFAULT");
+        for (YearMonth month = first; !month.isAfter(YearMonth.now().plusMonths(monthsAhead));
+                month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        int rows = jdbcTemplate.update("INSERT INTO " + PARENT + " SELECT * FROM " + LEGACY);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY);
+
+        // The partition key has to be part of the primary key; ids stay unique through worklogs_seq
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " ADD CONSTRAINT worklogs_pkey PRIMARY KEY (id, work_date)");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " ADD CONSTRAINT fk_worklogs_employee"
+                + " FOREIGN KEY (employee_id) REFERENCES employees (id)");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " ADD CONSTRAINT fk_worklogs_worklog_type"
+                + " FOREIGN KEY (worklog_type_id) REFERENCES worklog_types (id)");
+        jdbcTemplate.execute("CREATE INDEX idx_worklogs_employee_work_date_id ON " + PARENT + " (employee_id, work_date, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_worklogs_work_date_id ON " + PARENT + " (work_date, id)");
+
+        log.info("Converted worklogs to monthly partitions from {} - {} rows, took {} ms",
+                first, rows, System.currentTimeMillis() - started);
+    }
+
+    // Rows of the month that are sitting in the default partition move into the new partition before it is
+    // attached; the default partition is locked meanwhile so nothing new slips in
+    private boolean createPartition(YearMonth month) {
+        String name = partitionName(month);
+        Boolean created = transaction.execute(status -> {
+            if (exists(name)) {
+                return false;
+            }
+            String bounds = bounds(month);
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT + ")");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range(month)
+                    + " RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name + " FOR VALUES " + bounds);
+            return true;
+        });
+        return Boolean.TRUE.equals(created);
+    }
+
+    // A detach only rewrites catalog entries, however many rows the month holds
+    private void archive(YearMonth month) {
+        String name = partitionName(month);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE + " ATTACH PARTITION " + name + " FOR VALUES " + bounds(month));
+        });
+        log.info("Archived worklogs of {}", month);
+    }
+
+    // Late entries for an archived month follow it into the archive
+    private boolean sweepIntoArchive(YearMonth month) {
+        String name = partitionName(month);
+        Boolean created = transaction.execute(status -> {
+            boolean exists = exists(name);
+            if (!exists) {
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + ARCHIVE + " FOR VALUES " + bounds(month));
+            }
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range(month)
+                    + " RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+            return !exists;
+        });
+        return Boolean.TRUE.equals(created);
+    }
+
+    private List<YearMonth> hotMonths() {
+        return months(PARENT);
+    }
+
+    // Months of the partitions attached to a parent, oldest first
+    private List<YearMonth> months(String parent) {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST(? AS regclass)
+                """, String.class, parent);
+
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            parseMonth(name).ifPresent(months::add);
+        }
+        return new ArrayList<>(months);
+    }
+
+    private List<YearMonth> monthsInDefault() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT CAST(date_trunc('month', work_date) AS DATE) FROM "
+                        + DEFAULT_PARTITION, LocalDate.class)
+                .stream()
+                .map(YearMonth::from)
+                .sorted()
+                .toList();
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private static Optional<YearMonth> parseMonth(String partitionName) {
+        try {
+            return Optional.of(YearMonth.parse(partitionName, PARTITION_NAME));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    private static String range(YearMonth month) {
+        return "work_date >= DATE '" + month.atDay(1) + "' AND work_date < DATE '" + month.plusMonths(1).atDay(1) + "'";
+    }
+}
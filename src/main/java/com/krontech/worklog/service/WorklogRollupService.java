@@ -0,0 +1,141 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.dto.response.RollupConsistencyResponse;
+import com.krontech.worklog.dto.response.RollupRebuildResponse;
+import com.krontech.worklog.event.WorklogChangeListener;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogRollupsChangedEvent;
+import com.krontech.worklog.repository.WorklogDailyRollupRepository;
+import com.krontech.worklog.repository.WorklogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps worklog_daily_rollups in step with the worklogs table, off the request path: worklog changes
+ * reach it through the outbox and are applied in the dispatching transaction, exactly once.
+ * Until the outbox has caught up, the rollups trail the worklogs by the changes still pending.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class WorklogRollupService implements WorklogChangeListener {
+
+    private static final int CONSISTENCY_CHECK_LIMIT = 100;
+
+    private final WorklogDailyRollupRepository rollupRepository;
+    private final WorklogRepository worklogRepository;
+    private final WorklogOutboxService worklogOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Apply a batch of changes from the outbox. Changes to the same bucket are merged first, so a batch
+     * costs one upsert per (employee, day, type) it touches.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onWorklogChanges(List<WorklogChangedEvent> events) {
+        Map<Bucket, int[]> deltas = new LinkedHashMap<>();
+        for (WorklogChangedEvent event : events) {
+            if (event.before() != null) {
+                add(deltas, event.employeeId(), event.before(), -1);
+            }
+            if (event.after() != null) {
+                add(deltas, event.employeeId(), event.after(), 1);
+            }
+        }
+        deltas.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                apply(bucket.employeeId(), bucket.workDate(), bucket.worklogTypeId(), delta[0], delta[1]);
+            }
+        });
+        eventPublisher.publishEvent(new WorklogRollupsChangedEvent(events));
+    }
+
+    @Transactional
+    public RollupRebuildResponse rebuild() {
+        long started = System.currentTimeMillis();
+
+        rollupRepository.lockWorklogsForRebuild();
+        // The backfill covers every committed change - deliver the pending ones now, not on top of it
+        worklogOutbox.dispatchPending();
+        int removed = rollupRepository.deleteAllRollups();
+        int written = rollupRepository.backfillFromWorklogs();
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("Rebuilt worklog rollups - removed: {}, written: {}, took {} ms", removed, written, duration);
+
+        return RollupRebuildResponse.builder()
+                .rowsRemoved(removed)
+                .rowsWritten(written)
+                .durationMs(duration)
+                .rebuiltAt(LocalDateTime.now())
+                .build();
+    }
+
+    public RollupConsistencyResponse checkConsistency() {
+        List<RollupConsistencyResponse.Mismatch> mismatches = rollupRepository.findMismatches(CONSISTENCY_CHECK_LIMIT)
+                .stream()
+                .map(m -> RollupConsistencyResponse.Mismatch.builder()
+                        .employeeId(m.getEmployeeId())
+                        .workDate(m.getWorkDate())
+                        .worklogTypeId(m.getWorklogTypeId())
+                        .rollupHours(m.getRollupHours())
+                        .rollupEntries(m.getRollupEntries())
+                        .actualHours(m.getActualHours())
+                        .actualEntries(m.getActualEntries())
+                        .build())
+                .toList();
+
+        if (!mismatches.isEmpty()) {
+            log.warn("Worklog rollups are out of sync with worklogs - {} mismatching buckets (limit {})",
+                    mismatches.size(), CONSISTENCY_CHECK_LIMIT);
+        }
+
+        return RollupConsistencyResponse.builder()
+                .consistent(mismatches.isEmpty())
+                .mismatchCount(mismatches.size())
+                .mismatches(mismatches)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Backfill once for databases that already had worklogs before rollups existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && worklogRepository.count() > 0) {
+            log.info("Worklog rollups are empty, backfilling from worklogs");
+            rebuild();
+        }
+    }
+
+    private void apply(Integer employeeId, LocalDate workDate, Integer worklogTypeId, int hoursDelta, int entryDelta) {
+        rollupRepository.applyDelta(employeeId, workDate, worklogTypeId, hoursDelta, entryDelta);
+        if (entryDelta < 0) {
+            rollupRepository.deleteIfEmpty(employeeId, workDate, worklogTypeId);
+        }
+    }
+
+    private static void add(Map<Bucket, int[]> deltas, Integer employeeId, WorklogChangedEvent.State state, int sign) {
+        int[] delta = deltas.computeIfAbsent(
+                new Bucket(employeeId, state.workDate(), state.worklogTypeId()), key -> new int[2]);
+        delta[0] += sign * state.hoursWorked();
+        delta[1] += sign;
+    }
+
+    private record Bucket(Integer employeeId, LocalDate workDate, Integer worklogTypeId) {
+    }
+}
@@ -1,23 +1,38 @@
 package com.krontech.worklog.service;
 
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.dto.projection.WorklogDayAggregateProjection;
+import com.krontech.worklog.dto.request.WorklogBatchCreateRequest;
 import com.krontech.worklog.dto.request.WorklogCreateRequest;
 import com.krontech.worklog.dto.request.WorklogUpdateRequest;
+import com.krontech.worklog.dto.response.WorklogBatchResponse;
+import com.krontech.worklog.dto.response.WorklogPageResponse;
 import com.krontech.worklog.dto.response.WorklogResponse;
 import com.krontech.worklog.entity.Employee;
+import com.krontech.worklog.entity.Role;
 import com.krontech.worklog.entity.Worklog;
 import com.krontech.worklog.entity.WorklogType;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogChangedEvent.ChangeType;
 import com.krontech.worklog.exception.ValidationException;
 import com.krontech.worklog.repository.EmployeeRepository;
 import com.krontech.worklog.repository.WorklogRepository;
-import com.krontech.worklog.repository.WorklogTypeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,29 +44,48 @@ public class WorklogService {
     private static final int MAX_DAILY_HOURS = 12; // Maximum hours per day
     private static final int STANDARD_DAILY_HOURS = 8; // Standard working hours
     private static final int MAX_ENTRIES_PER_TYPE = 3; // Maximum entries of same type per day
+    private static final int MAX_PAGE_SIZE = 500; // Maximum worklogs per listing page
+    private static final int INSERT_BATCH_SIZE = 50; // Inserts per JDBC batch, matches the id allocation size
 
     private final WorklogRepository worklogRepository;
     private final EmployeeRepository employeeRepository;
-    private final WorklogTypeRepository worklogTypeRepository;
-
+    private final WorklogOutboxService worklogOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrganizationHierarchy organizationHierarchy;
+    private final ReferenceDataCache referenceData;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    // One aggregate read for the employee and day; the type comes from memory and both
+    // associations are set as references, so nothing else is loaded before the insert
     @Transactional
     public WorklogResponse createWorklog(Integer employeeId, WorklogCreateRequest request) {
-        // First, validate the employee and basic constraints
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        ReferenceDataCache.WorklogTypeInfo worklogType = referenceData.worklogType(request.getWorklogTypeId());
+        if (worklogType == null) {
+            throw new RuntimeException("Worklog type not found");
+        }
 
-        WorklogType worklogType = worklogTypeRepository.findById(request.getWorklogTypeId())
-                .orElseThrow(() -> new RuntimeException("Worklog type not found"));
+        WorklogDayAggregateProjection day = worklogRepository.getDayAggregate(
+                employeeId,
+                request.getWorkDate(),
+                request.getWorklogTypeId(),
+                request.getProjectName(),
+                request.getDescription()
+        ).orElseThrow(() -> new RuntimeException("Employee not found"));
 
         // Validate work date constraints
-        validateWorkDate(request.getWorkDate(), employee);
+        validateWorkDate(request.getWorkDate(), day.getStartDate(), day.getEndDate());
 
-        validateWorklogCreation(employeeId, request);
+        if (day.getDuplicates() > 0) {
+            throw duplicateEntry();
+        }
+        validateDayLimits(employeeId, request, day.getDayHours().intValue(),
+                day.getSameTypeEntries(), worklogType.name());
 
         // If all validations pass, create the worklog
         Worklog worklog = Worklog.builder()
-                .employee(employee)
-                .worklogType(worklogType)
+                .employee(entityManager.getReference(Employee.class, employeeId))
+                .worklogType(entityManager.getReference(WorklogType.class, worklogType.id()))
                 .workDate(request.getWorkDate())
                 .hoursWorked(request.getHoursWorked())
                 .description(request.getDescription())
@@ -59,10 +93,111 @@ public class WorklogService {
                 .build();
 
         worklog = worklogRepository.save(worklog);
+        publishChange(ChangeType.CREATED, worklog.getId(), employeeId, day.getTeamLeadId(), day.getDepartmentId(),
+                null, WorklogChangedEvent.State.of(worklog));
         log.info("Created worklog {} for employee {} on {}",
                 worklog.getId(), employeeId, request.getWorkDate());
 
-        return WorklogResponse.from(worklog);
+        return WorklogResponse.from(worklog, day.getFirstName() + " " + day.getLastName(), worklogType.name());
+    }
+
+    /**
+     * Validates a whole timesheet against one read of the affected days and saves it in one transaction.
+     * Entries are checked in order, each one also against the entries accepted before it.
+     * All or nothing: if any entry fails, nothing is saved and every failure is reported by index.
+     */
+    @Transactional
+    public WorklogBatchResponse createWorklogs(Integer employeeId, WorklogBatchCreateRequest request) {
+        List<WorklogCreateRequest> entries = request.getEntries();
+
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+        // Types come from memory, the affected days from one read, whatever the size of the batch
+        Set<LocalDate> workDates = entries.stream()
+                .filter(Objects::nonNull)
+                .map(WorklogCreateRequest::getWorkDate)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<LocalDate, List<Worklog>> days = workDates.isEmpty() ? new HashMap<>()
+                : worklogRepository.findAllByEmployeeAndDates(employeeId, workDates).stream()
+                        .collect(Collectors.groupingBy(Worklog::getWorkDate, HashMap::new,
+                                Collectors.toCollection(ArrayList::new)));
+
+        List<Worklog> accepted = new ArrayList<>(entries.size());
+        List<WorklogBatchResponse.EntryError> errors = new ArrayList<>();
+
+        for (int index = 0; index < entries.size(); index++) {
+            WorklogCreateRequest entry = entries.get(index);
+            try {
+                validateEntry(entry);
+
+                ReferenceDataCache.WorklogTypeInfo worklogType = entry.getWorklogTypeId() != null
+                        ? referenceData.worklogType(entry.getWorklogTypeId()) : null;
+                if (worklogType == null) {
+                    throw new ValidationException("Worklog type not found");
+                }
+
+                validateWorkDate(entry.getWorkDate(), employee.getStartDate(), employee.getEndDate());
+
+                List<Worklog> dayWorklogs = days.computeIfAbsent(entry.getWorkDate(), date -> new ArrayList<>());
+                if (dayWorklogs.stream().anyMatch(w -> isDuplicate(w, entry))) {
+                    throw duplicateEntry();
+                }
+                validateDayLimits(employeeId, entry,
+                        dayWorklogs.stream().mapToInt(Worklog::getHoursWorked).sum(),
+                        dayWorklogs.stream().filter(w -> w.getWorklogType().getId().equals(worklogType.id())).count(),
+                        worklogType.name());
+
+                Worklog worklog = Worklog.builder()
+                        .employee(employee)
+                        .worklogType(entityManager.getReference(WorklogType.class, worklogType.id()))
+                        .workDate(entry.getWorkDate())
+                        .hoursWorked(entry.getHoursWorked())
+                        .description(entry.getDescription())
+                        .projectName(entry.getProjectName())
+                        .build();
+
+                // Later entries of the batch count this one towards their day
+                dayWorklogs.add(worklog);
+                accepted.add(worklog);
+            } catch (ValidationException e) {
+                errors.add(WorklogBatchResponse.EntryError.builder()
+                        .index(index)
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            log.info("Rejected worklog batch of {} entries for employee {}: {} invalid",
+                    entries.size(), employeeId, errors.size());
+            return WorklogBatchResponse.builder()
+                    .created(List.of())
+                    .errors(errors)
+                    .build();
+        }
+
+        // Ids come from a pooled sequence, so Hibernate can group the inserts into JDBC batches
+        entityManager.unwrap(Session.class).setJdbcBatchSize(INSERT_BATCH_SIZE);
+        List<Worklog> saved = worklogRepository.saveAll(accepted);
+        worklogRepository.flush();
+
+        List<WorklogChangedEvent> events = saved.stream()
+                .map(worklog -> changeEvent(ChangeType.CREATED, worklog.getId(), employee,
+                        null, WorklogChangedEvent.State.of(worklog)))
+                .toList();
+        worklogOutbox.append(events);
+        events.forEach(eventPublisher::publishEvent);
+        log.info("Created {} worklogs for employee {} on {} days", saved.size(), employeeId, days.size());
+
+        return WorklogBatchResponse.builder()
+                .created(saved.stream()
+                        .map(worklog -> WorklogResponse.from(worklog, employee.getFullName(),
+                                referenceData.worklogTypeName(worklog.getWorklogType().getId())))
+                        .collect(Collectors.toList()))
+                .errors(List.of())
+                .build();
     }
 
     @Transactional
@@ -80,15 +215,22 @@ public class WorklogService {
             throw new RuntimeException("Worklog older than 7 days cannot be edited");
         }
 
+        // Remember what the worklog looked like, for the change event
+        WorklogChangedEvent.State previous = WorklogChangedEvent.State.of(worklog);
+
         // Update all fields including date and type
         if (request.getWorkDate() != null) {
+            if (Worklog.isInClosedWeek(request.getWorkDate())) {
+                throw new ValidationException("Cannot move a worklog into a closed week");
+            }
             worklog.setWorkDate(request.getWorkDate());
         }
 
         if (request.getWorklogTypeId() != null) {
-            WorklogType worklogType = worklogTypeRepository.findById(request.getWorklogTypeId())
-                    .orElseThrow(() -> new RuntimeException("Invalid worklog type"));
-            worklog.setWorklogType(worklogType);
+            if (referenceData.worklogType(request.getWorklogTypeId()) == null) {
+                throw new RuntimeException("Invalid worklog type");
+            }
+            worklog.setWorklogType(entityManager.getReference(WorklogType.class, request.getWorklogTypeId()));
         }
 
         worklog.setHoursWorked(request.getHoursWorked());
@@ -96,7 +238,9 @@ public class WorklogService {
         worklog.setProjectName(request.getProjectName());
 
         worklog = worklogRepository.save(worklog);
-        return WorklogResponse.from(worklog);
+        publishChange(ChangeType.UPDATED, worklog.getId(), worklog.getEmployee(),
+                previous, WorklogChangedEvent.State.of(worklog));
+        return WorklogResponse.from(worklog, referenceData);
     }
 
     @Transactional
@@ -115,6 +259,8 @@ public class WorklogService {
         }
 
         worklogRepository.delete(worklog);
+        publishChange(ChangeType.DELETED, worklog.getId(), worklog.getEmployee(),
+                WorklogChangedEvent.State.of(worklog), null);
     }
 
     @Transactional(readOnly = true)
@@ -123,23 +269,14 @@ public class WorklogService {
         Worklog worklog = worklogRepository.findById(worklogId)
                 .orElseThrow(() -> new RuntimeException("Worklog not found"));
 
-        Employee requester = employeeRepository.findById(requesterId)
-                .orElseThrow(() -> new RuntimeException("Requester not found"));
-
-        // 1. Owner can always view
-        if (worklog.getEmployee().getId().equals(requesterId)) {
-            return WorklogResponse.from(worklog);
-        }
-
-        // 2. Team-lead can view direct reports
-        if (requester.isTeamLead() && requester.canViewEmployee(worklog.getEmployee())) {
-            return WorklogResponse.from(worklog);
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(requesterId);
+        if (!organization.contains(requesterId)) {
+            throw new RuntimeException("Requester not found");
         }
 
-        // 3. Director can view anyone in their department
-        if (requester.isDirector()
-                && requester.getDepartment().equals(worklog.getEmployee().getDepartment())) {
-            return WorklogResponse.from(worklog);
+        // Owner, the owner's team lead, or the director of the owner's department
+        if (organization.canView(requesterId, worklog.getEmployee().getId())) {
+            return WorklogResponse.from(worklog, referenceData);
         }
 
         // Otherwise → forbidden
@@ -152,146 +289,282 @@ public class WorklogService {
         );
 
         return worklogs.stream()
-                .map(WorklogResponse::from)
+                .map(worklog -> WorklogResponse.from(worklog, referenceData))
                 .collect(Collectors.toList());
     }
 
-    public List<WorklogResponse> getWorklogsForDate(Integer employeeId, LocalDate date) {
-        List<Worklog> worklogs = worklogRepository.findByEmployeeIdAndWorkDate(employeeId, date);
-
-        return worklogs.stream()
-                .map(WorklogResponse::from)
-                .collect(Collectors.toList());
-    }
-
-    // For team leads and directors to view team/department worklogs
-    public List<WorklogResponse> getTeamWorklogs(Integer teamLeadId, LocalDate startDate, LocalDate endDate) {
-        Employee teamLead = employeeRepository.findById(teamLeadId)
-                .orElseThrow(() -> new RuntimeException("Team lead not found"));
+    // Months moved out of the hot table by WorklogPartitionService; read-only, so never editable
+    @Transactional(readOnly = true)
+    public List<WorklogResponse> getArchivedWorklogs(Integer requesterId, Integer employeeId,
+                                                     LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
 
-        if (!teamLead.getRole().name().equals("TEAM_LEAD") && !teamLead.getRole().name().equals("DIRECTOR")) {
-            throw new RuntimeException("Only team leads and directors can view team worklogs");
+        Integer targetId = employeeId != null ? employeeId : requesterId;
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(requesterId);
+        if (!organization.canView(requesterId, targetId)) {
+            throw new RuntimeException("You don’t have permission to view this employee's worklogs");
         }
 
-        List<Worklog> worklogs = worklogRepository.findByTeamLeadId(teamLeadId, startDate, endDate);
+        return worklogRepository.findArchived(targetId, startDate, endDate).stream()
+                .map(w -> WorklogResponse.builder()
+                        .id(w.getId())
+                        .employeeId(w.getEmployeeId())
+                        .employeeName(w.getEmployeeName())
+                        .worklogTypeId(w.getWorklogTypeId())
+                        .worklogTypeName(referenceData.worklogTypeName(w.getWorklogTypeId()))
+                        .workDate(w.getWorkDate())
+                        .hoursWorked(w.getHoursWorked())
+                        .daysWorked(w.getHoursWorked() / 8.0)
+                        .description(w.getDescription())
+                        .projectName(w.getProjectName())
+                        .isEditable(false)
+                        .build())
+                .toList();
+    }
+
+    public List<WorklogResponse> getWorklogsForDate(Integer employeeId, LocalDate date) {
+        List<Worklog> worklogs = worklogRepository.findByEmployeeIdAndWorkDate(employeeId, date);
 
         return worklogs.stream()
-                .map(WorklogResponse::from)
+                .map(worklog -> WorklogResponse.from(worklog, referenceData))
                 .collect(Collectors.toList());
     }
 
-    public List<WorklogResponse> getTeamWorklogs(Integer teamLeadId, LocalDate startDate,
-                                                 LocalDate endDate, Integer employeeId) {
-        Employee teamLead = employeeRepository.findById(teamLeadId)
-                .orElseThrow(() -> new RuntimeException("Team lead not found"));
+    // For team leads and directors to view team/department worklogs, one keyset page at a time
+    public WorklogPageResponse getTeamWorklogs(Integer teamLeadId, LocalDate startDate, LocalDate endDate,
+                                               Integer employeeId, String cursor, int pageSize) {
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(teamLeadId);
+        Role role = organization.role(teamLeadId);
+        if (role == null) {
+            throw new RuntimeException("Team lead not found");
+        }
 
-        if (!teamLead.getRole().name().equals("TEAM_LEAD") && !teamLead.getRole().name().equals("DIRECTOR")) {
+        if (role != Role.TEAM_LEAD && role != Role.DIRECTOR) {
             throw new RuntimeException("Only team leads and directors can view team worklogs");
         }
 
+        PageCursor after = PageCursor.decode(cursor, endDate);
+        Limit limit = pageLimit(pageSize);
         List<Worklog> worklogs;
 
         if (employeeId != null) {
             // Verify the employee is in the team
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+            if (!organization.contains(employeeId)) {
+                throw new RuntimeException("Employee not found");
+            }
 
-            if (!teamLead.canViewEmployee(employee)) {
+            if (!organization.canView(teamLeadId, employeeId)) {
                 throw new RuntimeException("Employee is not in your team");
             }
 
-            worklogs = worklogRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
-                    employeeId, startDate, endDate
+            worklogs = worklogRepository.findPageByEmployeeId(
+                    employeeId, startDate, endDate, after.workDate(), after.id(), limit
             );
         } else {
-            worklogs = worklogRepository.findByTeamLeadId(teamLeadId, startDate, endDate);
+            worklogs = worklogRepository.findByTeamLeadId(
+                    teamLeadId, startDate, endDate, after.workDate(), after.id(), limit
+            );
         }
 
-        return worklogs.stream()
-                .map(WorklogResponse::from)
-                .collect(Collectors.toList());
+        return toPage(worklogs, pageSize);
     }
 
-    public List<WorklogResponse> getDepartmentWorklogs(Integer directorId, LocalDate startDate,
-                                                       LocalDate endDate, Integer teamLeadId, Integer employeeId) {
-        Employee director = employeeRepository.findById(directorId)
-                .orElseThrow(() -> new RuntimeException("Director not found"));
+    public WorklogPageResponse getDepartmentWorklogs(Integer directorId, LocalDate startDate, LocalDate endDate,
+                                                     Integer teamLeadId, Integer employeeId,
+                                                     String cursor, int pageSize) {
+        OrganizationSnapshot organization = organizationHierarchy.snapshotContaining(directorId);
+        Role role = organization.role(directorId);
+        if (role == null) {
+            throw new RuntimeException("Director not found");
+        }
 
-        if (!director.getRole().name().equals("DIRECTOR")) {
+        if (role != Role.DIRECTOR) {
             throw new RuntimeException("Only directors can view department worklogs");
         }
+        Integer departmentId = organization.departmentId(directorId);
 
+        PageCursor after = PageCursor.decode(cursor, endDate);
+        Limit limit = pageLimit(pageSize);
         List<Worklog> worklogs;
 
         if (employeeId != null) {
             // Get specific employee's worklogs
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+            if (!organization.contains(employeeId)) {
+                throw new RuntimeException("Employee not found");
+            }
 
-            if (!employee.getDepartment().getId().equals(director.getDepartment().getId())) {
+            if (departmentId == null || !organization.isInDepartment(employeeId, departmentId)) {
                 throw new RuntimeException("Employee is not in your department");
             }
 
-            worklogs = worklogRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateDesc(
-                    employeeId, startDate, endDate
+            worklogs = worklogRepository.findPageByEmployeeId(
+                    employeeId, startDate, endDate, after.workDate(), after.id(), limit
             );
         } else if (teamLeadId != null) {
             // Get specific team's worklogs
-            worklogs = worklogRepository.findByTeamLeadId(teamLeadId, startDate, endDate);
+            if (departmentId == null || !organization.isInDepartment(teamLeadId, departmentId)) {
+                throw new RuntimeException("Team lead is not in your department");
+            }
+
+            worklogs = worklogRepository.findByTeamLeadId(
+                    teamLeadId, startDate, endDate, after.workDate(), after.id(), limit
+            );
         } else {
             // Get all department worklogs
             worklogs = worklogRepository.findByDepartmentId(
-                    director.getDepartment().getId(), startDate, endDate
+                    departmentId, startDate, endDate, after.workDate(), after.id(), limit
             );
         }
 
-        return worklogs.stream()
-                .map(WorklogResponse::from)
-                .collect(Collectors.toList());
+        return toPage(worklogs, pageSize);
     }
 
-    private void validateWorkDate(LocalDate workDate, Employee employee) {
+    private Limit pageLimit(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether another page exists without a count query
+        return Limit.of(pageSize + 1);
+    }
+
+    private WorklogPageResponse toPage(List<Worklog> worklogs, int pageSize) {
+        boolean hasMore = worklogs.size() > pageSize;
+        List<Worklog> page = hasMore ? worklogs.subList(0, pageSize) : worklogs;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Worklog last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.getWorkDate(), last.getId()).encode();
+        }
+
+        return WorklogPageResponse.builder()
+                .items(page.stream()
+                        .map(worklog -> WorklogResponse.from(worklog, referenceData))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Position of the last row served, (workDate, id) - clients only ever see it base64url encoded
+    private record PageCursor(LocalDate workDate, Integer id) {
+
+        // No cursor means the first page: everything up to and including endDate
+        static PageCursor decode(String cursor, LocalDate endDate) {
+            if (cursor == null || cursor.isBlank()) {
+                return new PageCursor(endDate.plusDays(1), 0);
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new PageCursor(
+                        LocalDate.parse(decoded.substring(0, separator)),
+                        Integer.valueOf(decoded.substring(separator + 1))
+                );
+            } catch (RuntimeException e) {
+                throw new ValidationException("Invalid page cursor");
+            }
+        }
+
+        String encode() {
+            String raw = workDate + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Listeners that act after commit (caches, live stats) rely on the owner's team and department.
+    // Every change also goes to the outbox, for listeners that must not miss one
+    private void publishChange(ChangeType changeType, Integer worklogId, Employee employee,
+                               WorklogChangedEvent.State before, WorklogChangedEvent.State after) {
+        publishChange(changeEvent(changeType, worklogId, employee, before, after));
+    }
+
+    private void publishChange(ChangeType changeType, Integer worklogId, Integer employeeId,
+                               Integer teamLeadId, Integer departmentId,
+                               WorklogChangedEvent.State before, WorklogChangedEvent.State after) {
+        publishChange(new WorklogChangedEvent(
+                changeType,
+                worklogId,
+                employeeId,
+                teamLeadId,
+                departmentId,
+                before,
+                after
+        ));
+    }
+
+    private void publishChange(WorklogChangedEvent event) {
+        worklogOutbox.append(event);
+        eventPublisher.publishEvent(event);
+    }
+
+    private WorklogChangedEvent changeEvent(ChangeType changeType, Integer worklogId, Employee employee,
+                                            WorklogChangedEvent.State before, WorklogChangedEvent.State after) {
+        return new WorklogChangedEvent(
+                changeType,
+                worklogId,
+                employee.getId(),
+                employee.getTeamLead() != null ? employee.getTeamLead().getId() : null,
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                before,
+                after
+        );
+    }
+
+    // Batch entries are not validated by @Valid, so a bad entry can be reported without failing the request
+    private void validateEntry(WorklogCreateRequest entry) {
+        if (entry == null) {
+            throw new ValidationException("Entry is empty");
+        }
+        Set<ConstraintViolation<WorklogCreateRequest>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private void validateWorkDate(LocalDate workDate, LocalDate startDate, LocalDate endDate) {
         if (workDate.isAfter(LocalDate.now())) {
             throw new ValidationException("Cannot log work for future dates");
         }
 
         // Check if employee was active on that date
-        if (workDate.isBefore(employee.getStartDate())) {
+        if (workDate.isBefore(startDate)) {
             throw new ValidationException("Cannot log work before employment start date");
         }
 
-        if (employee.getEndDate() != null && workDate.isAfter(employee.getEndDate())) {
+        if (endDate != null && workDate.isAfter(endDate)) {
             throw new ValidationException("Cannot log work after employment end date");
         }
-    }
 
-    private void validateWorklogCreation(Integer employeeId, WorklogCreateRequest request) {
-        // Step 1: Check for duplicates
-        Optional<Worklog> exactDuplicate = worklogRepository.findDuplicate(
-                employeeId,
-                request.getWorkDate(),
-                request.getWorklogTypeId(),
-                request.getProjectName(),
-                request.getDescription()
-        );
-
-        if (exactDuplicate.isPresent()) {
-            throw new ValidationException(
-                    "An identical worklog entry already exists for this date. " +
-                            "Please update the existing entry or provide different details."
-            );
+        // Closed weeks are sealed into SealedWeekStore and must not change afterwards
+        if (Worklog.isInClosedWeek(workDate)) {
+            throw new ValidationException("Cannot log work for a closed week");
         }
+    }
 
-        // Step 2: Get all worklogs for the day to perform aggregate validations
-        List<Worklog> dayWorklogs = worklogRepository.findAllByEmployeeAndDate(
-                employeeId, request.getWorkDate()
+    private ValidationException duplicateEntry() {
+        return new ValidationException(
+                "An identical worklog entry already exists for this date. " +
+                        "Please update the existing entry or provide different details."
         );
+    }
 
-        // Step 3: Check total daily hours
-        int currentDayTotal = dayWorklogs.stream()
-                .mapToInt(Worklog::getHoursWorked)
-                .sum();
+    // Same match as the duplicates column of WorklogRepository.getDayAggregate, against worklogs in memory
+    private boolean isDuplicate(Worklog worklog, WorklogCreateRequest request) {
+        return worklog.getWorklogType().getId().equals(request.getWorklogTypeId())
+                && Objects.equals(worklog.getProjectName(), request.getProjectName())
+                && Objects.equals(worklog.getDescription(), request.getDescription());
+    }
 
+    // Checks against everything already logged on the entry's day (and, for batches, accepted before it)
+    private void validateDayLimits(Integer employeeId, WorklogCreateRequest request,
+                                   int currentDayTotal, long sameTypeCount, String worklogTypeName) {
+        // Check total daily hours
         int newTotal = currentDayTotal + request.getHoursWorked();
 
         if (newTotal > MAX_DAILY_HOURS) {
@@ -303,27 +576,19 @@ public class WorklogService {
             ));
         }
 
-        // Step 4: Warn if exceeding standard hours (but don't block)
+        // Warn if exceeding standard hours (but don't block)
         if (currentDayTotal >= STANDARD_DAILY_HOURS && newTotal > STANDARD_DAILY_HOURS) {
             log.warn("Employee {} logging {} hours for {}, exceeding standard {} hour day",
                     employeeId, newTotal, request.getWorkDate(), STANDARD_DAILY_HOURS);
         }
 
-        // Step 5: Check for too many entries of the same type
-        long sameTypeCount = dayWorklogs.stream()
-                .filter(w -> w.getWorklogType().getId().equals(request.getWorklogTypeId()))
-                .count();
-
+        // Check for too many entries of the same type
         if (sameTypeCount >= MAX_ENTRIES_PER_TYPE) {
             throw new ValidationException(String.format(
                     "You already have %d entries for '%s' on this date. " +
                             "Consider updating an existing entry instead of creating a new one.",
                     sameTypeCount,
-                    dayWorklogs.stream()
-                            .filter(w -> w.getWorklogType().getId().equals(request.getWorklogTypeId()))
-                            .findFirst()
-                            .map(w -> w.getWorklogType().getName())
-                            .orElse("this type")
+                    worklogTypeName
             ));
         }
     }
@@ -1,34 +1,32 @@
 package com.krontech.worklog.service;
 
+import com.krontech.worklog.cache.ReferenceDataCache;
 import com.krontech.worklog.dto.response.WorklogTypeResponse;
-import com.krontech.worklog.entity.WorklogType;
-import com.krontech.worklog.repository.WorklogTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+// Served from the reference cache - worklog types change a few times a year
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class WorklogTypeService {
 
-    private final WorklogTypeRepository worklogTypeRepository;
+    private final ReferenceDataCache referenceData;
 
     public List<WorklogTypeResponse> getActiveWorklogTypes() {
-        List<WorklogType> types = worklogTypeRepository.findByIsActiveTrue();
-
-        return types.stream()
+        return referenceData.activeWorklogTypes().stream()
                 .map(WorklogTypeResponse::from)
                 .collect(Collectors.toList());
     }
 
     public WorklogTypeResponse getWorklogType(Integer id) {
-        WorklogType type = worklogTypeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Worklog type not found"));
+        ReferenceDataCache.WorklogTypeInfo type = referenceData.worklogType(id);
+        if (type == null) {
+            throw new RuntimeException("Worklog type not found");
+        }
 
         return WorklogTypeResponse.from(type);
     }
-}
\ No newline at end of file
+}
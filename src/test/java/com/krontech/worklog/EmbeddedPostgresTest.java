@@ -0,0 +1,41 @@
+package com.krontech.worklog;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Boots the application against an embedded PostgreSQL, started once per test JVM.
+ * Test classes share the database and, with the same configuration, the application context,
+ * so each one sets up the rows it needs itself.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.open-in-view=false",
+        // Statement counting is off in production; StatementCountTest needs it
+        "worklog.sql-budget.enabled=true",
+        "logging.level.com.krontech.worklog=WARN"
+})
+public abstract class EmbeddedPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.krontech.worklog;
+
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.ReferenceDataCache;
+import com.krontech.worklog.cache.SealedWeekStore;
+import com.krontech.worklog.entity.Department;
+import com.krontech.worklog.entity.Employee;
+import com.krontech.worklog.entity.Grade;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.entity.WorklogType;
+import com.krontech.worklog.repository.DepartmentRepository;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.repository.GradeRepository;
+import com.krontech.worklog.repository.WorklogTypeRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small organization for tests against the embedded database: every table is emptied first,
+ * then each department gets a director, team leads and their members, plus a few worklog types.
+ * In-memory caches are reloaded afterwards, so they never hold rows of an earlier test.
+ */
+public final class TestOrganization {
+
+    private static final String[] WORKLOG_TYPES = {"Development", "Code Review", "Meetings"};
+
+    private final List<Integer> departmentIds = new ArrayList<>();
+    private final List<Integer> directorIds = new ArrayList<>();
+    private final List<Integer> teamLeadIds = new ArrayList<>();
+    private final List<Integer> memberIds = new ArrayList<>();
+    private final List<Integer> worklogTypeIds = new ArrayList<>();
+
+    private TestOrganization() {
+    }
+
+    public static TestOrganization create(ApplicationContext context, int departments,
+                                          int teamLeadsPerDepartment, int membersPerTeam) {
+        reset(context);
+        TestOrganization organization = new TestOrganization();
+        organization.seed(context, departments, teamLeadsPerDepartment, membersPerTeam);
+        refreshCaches(context);
+        return organization;
+    }
+
+    public static void reset(ApplicationContext context) {
+        context.getBean(JdbcTemplate.class).execute("""
+                TRUNCATE worklogs, worklogs_archive, worklog_daily_rollups, worklog_weekly_aggregates,
+                         worklog_sealed_weeks, worklog_outbox, holidays, employees, departments,
+                         worklog_types, grades
+                CASCADE
+                """);
+    }
+
+    public static void refreshCaches(ApplicationContext context) {
+        context.getBean(OrganizationHierarchy.class).rebuild();
+        context.getBean(ReferenceDataCache.class).refresh();
+        context.getBean(SealedWeekStore.class).rebuild();
+        context.getBean(DailyComplianceTracker.class).reconcile();
+        context.getBean(DashboardCache.class).clear();
+    }
+
+    public List<Integer> departmentIds() {
+        return departmentIds;
+    }
+
+    public List<Integer> directorIds() {
+        return directorIds;
+    }
+
+    public List<Integer> teamLeadIds() {
+        return teamLeadIds;
+    }
+
+    public List<Integer> memberIds() {
+        return memberIds;
+    }
+
+    public List<Integer> worklogTypeIds() {
+        return worklogTypeIds;
+    }
+
+    private void seed(ApplicationContext context, int departments, int teamLeadsPerDepartment, int membersPerTeam) {
+        GradeRepository gradeRepository = context.getBean(GradeRepository.class);
+        WorklogTypeRepository worklogTypeRepository = context.getBean(WorklogTypeRepository.class);
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+
+        Grade grade = new Grade();
+        grade.setGradeLevel(1);
+        grade.setTitle("Engineer");
+        grade = gradeRepository.save(grade);
+
+        for (int i = 0; i < WORKLOG_TYPES.length; i++) {
+            WorklogType type = new WorklogType();
+            type.setName(WORKLOG_TYPES[i]);
+            type.setCode("TYPE_" + i);
+            type.setIsActive(true);
+            worklogTypeIds.add(worklogTypeRepository.save(type).getId());
+        }
+
+        LocalDate startDate = LocalDate.now().minusYears(5);
+        int sequence = 0;
+        for (int d = 0; d < departments; d++) {
+            Department department = departmentRepository.save(Department.builder()
+                    .name("Department " + d)
+                    .code("DEPT_" + d)
+                    .employees(new ArrayList<>())
+                    .build());
+            departmentIds.add(department.getId());
+
+            Employee director = employeeRepository.save(employee(++sequence, Role.DIRECTOR, grade,
+                    department, null, startDate));
+            department.setDirector(director);
+            departmentRepository.save(department);
+            directorIds.add(director.getId());
+
+            for (int t = 0; t < teamLeadsPerDepartment; t++) {
+                Employee teamLead = employeeRepository.save(employee(++sequence, Role.TEAM_LEAD, grade,
+                        department, null, startDate));
+                teamLeadIds.add(teamLead.getId());
+
+                for (int m = 0; m < membersPerTeam; m++) {
+                    memberIds.add(employeeRepository.save(employee(++sequence, Role.EMPLOYEE, grade,
+                            department, teamLead, startDate)).getId());
+                }
+            }
+        }
+    }
+
+    private static Employee employee(int sequence, Role role, Grade grade, Department department,
+                                     Employee teamLead, LocalDate startDate) {
+        return Employee.builder()
+                .employeeCode("EMP" + sequence)
+                .firstName(role.getDisplayName())
+                .lastName(String.valueOf(sequence))
+                .email("employee" + sequence + "@test.local")
+                .password("not-a-hash")
+                .grade(grade)
+                .department(department)
+                .teamLead(teamLead)
+                .role(role)
+                .startDate(startDate)
+                .isActive(true)
+                .subordinates(new ArrayList<>())
+                .worklogs(new ArrayList<>())
+                .build();
+    }
+}
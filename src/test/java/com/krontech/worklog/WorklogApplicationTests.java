@@ -1,10 +1,8 @@
 package com.krontech.worklog;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class WorklogApplicationTests {
+class WorklogApplicationTests extends EmbeddedPostgresTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,95 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.dto.projection.EmployeeEntryCountProjection;
+import com.krontech.worklog.event.WorklogChangedEvent;
+import com.krontech.worklog.event.WorklogChangedEvent.ChangeType;
+import com.krontech.worklog.event.WorklogChangedEvent.State;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.repository.WorklogRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DailyComplianceTrackerTest {
+
+    private static final int EMPLOYEE_ID = 7;
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final WorklogRepository worklogRepository = mock(WorklogRepository.class);
+    private final DailyComplianceTracker tracker = new DailyComplianceTracker(employeeRepository, worklogRepository,
+            new PrimaryReads(mock(PlatformTransactionManager.class), false));
+
+    @BeforeEach
+    void seedEmptyDay() {
+        when(employeeRepository.findAllIds()).thenReturn(List.of(EMPLOYEE_ID, 8));
+        when(worklogRepository.countEntriesPerEmployeeForDate(any())).thenReturn(List.of());
+        tracker.seed();
+    }
+
+    @Test
+    void changeAlreadySeenByReconciliationIsNotAppliedTwice() {
+        // The worklog is committed and reconciled before its after-commit event arrives
+        databaseHasEntries(1);
+        tracker.reconcile();
+        tracker.onWorklogChanged(event(ChangeType.CREATED, null, today()));
+        assertThat(tracker.hasLoggedToday(EMPLOYEE_ID)).isTrue();
+
+        // Deleting the only entry leaves nothing logged, however often the create was seen
+        databaseHasEntries(0);
+        tracker.onWorklogChanged(event(ChangeType.DELETED, today(), null));
+
+        assertThat(tracker.hasLoggedToday(EMPLOYEE_ID)).isFalse();
+        assertThat(tracker.reconcile().getDriftedEmployees()).isZero();
+    }
+
+    @Test
+    void changeOnAnotherDayDoesNotQueryOrChangeToday() {
+        tracker.onWorklogChanged(event(ChangeType.CREATED, null, new State(LocalDate.now().minusDays(1), 1, 4)));
+
+        assertThat(tracker.hasLoggedToday(EMPLOYEE_ID)).isFalse();
+        assertThat(tracker.countLoggedToday(List.of(EMPLOYEE_ID, 8))).isZero();
+    }
+
+    @Test
+    void employeeCreatedAfterSeedingIsTracked() {
+        when(worklogRepository.hasLoggedWorkForDate(eq(99), any())).thenReturn(true);
+
+        tracker.onWorklogChanged(new WorklogChangedEvent(ChangeType.CREATED, 1, 99, null, null, null, today()));
+
+        assertThat(tracker.countLoggedToday(new int[]{EMPLOYEE_ID, 99})).isEqualTo(1);
+    }
+
+    private void databaseHasEntries(long entries) {
+        EmployeeEntryCountProjection row = new EmployeeEntryCountProjection() {
+            @Override
+            public Integer getEmployeeId() {
+                return EMPLOYEE_ID;
+            }
+
+            @Override
+            public Long getEntries() {
+                return entries;
+            }
+        };
+        when(worklogRepository.countEntriesPerEmployeeForDate(any())).thenReturn(entries > 0 ? List.of(row) : List.of());
+        when(worklogRepository.hasLoggedWorkForDate(eq(EMPLOYEE_ID), any())).thenReturn(entries > 0);
+    }
+
+    private static State today() {
+        return new State(LocalDate.now(), 1, 4);
+    }
+
+    private static WorklogChangedEvent event(ChangeType changeType, State before, State after) {
+        return new WorklogChangedEvent(changeType, 1, EMPLOYEE_ID, null, null, before, after);
+    }
+}
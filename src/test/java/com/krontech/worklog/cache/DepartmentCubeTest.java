@@ -0,0 +1,61 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.cache.DepartmentCube.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DepartmentCubeTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final int EMPLOYEES = 400;
+    private static final int DAYS = 366;
+
+    @Test
+    void manyGroupsAreSummedAcrossLeaves() {
+        DepartmentCube cube = cube();
+
+        // Far more groups than rows per leaf: every leaf scans at least as many rows as it has slots
+        DepartmentCube.Result result = cube.query(List.of(Dimension.EMPLOYEE, Dimension.DATE),
+                null, null, null, 0, 250_000);
+
+        assertThat(result.matchedGroups()).isEqualTo(EMPLOYEES * DAYS);
+        assertThat(result.totalHours()).isEqualTo(EMPLOYEES * DAYS * 8L);
+        assertThat(result.groups()).allSatisfy(group -> assertThat(group.hours()).isEqualTo(8));
+    }
+
+    @Test
+    void groupingBeyondTheLimitIsRejected() {
+        DepartmentCube cube = cube();
+
+        assertThatThrownBy(() -> cube.query(List.of(Dimension.EMPLOYEE, Dimension.DATE),
+                null, null, null, 10, EMPLOYEES * DAYS - 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("the limit is");
+    }
+
+    // One 8 hour entry per employee and day, all of one type and without team leads
+    private static DepartmentCube cube() {
+        int rows = EMPLOYEES * DAYS;
+        int[] employeeIds = new int[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employeeIds[i] = i + 1;
+        }
+        int[] employee = new int[rows];
+        short[] day = new short[rows];
+        byte[] hours = new byte[rows];
+        byte[] entries = new byte[rows];
+        for (int row = 0; row < rows; row++) {
+            employee[row] = row / DAYS;
+            day[row] = (short) (row % DAYS);
+            hours[row] = 8;
+            entries[row] = 1;
+        }
+        return new DepartmentCube(1, START, START.plusDays(DAYS - 1), 1, employeeIds, new int[EMPLOYEES],
+                new Integer[]{null}, new int[]{1}, rows, employee, day, new byte[rows], hours, entries);
+    }
+}
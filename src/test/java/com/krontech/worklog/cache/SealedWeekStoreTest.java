@@ -0,0 +1,73 @@
+package com.krontech.worklog.cache;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.controller.AdminController;
+import com.krontech.worklog.dto.response.RollupRebuildResponse;
+import com.krontech.worklog.entity.Worklog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SealedWeekStoreTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private SealedWeekStore sealedWeeks;
+
+    @Autowired
+    private AdminController adminController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 1, 1, 1);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                organization.directorIds().get(0), null, List.of(new SimpleGrantedAuthority("ROLE_DIRECTOR"))));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rollupRebuildReplacesCachedSealedWeeks() {
+        LocalDate week = Worklog.lastClosedWeek();
+        int employeeId = organization.memberIds().get(0);
+        // Cached while the week is still empty
+        assertThat(sealedWeeks.period(week, week.plusDays(6)).hours(employeeId)).isZero();
+
+        // Rows the rollups never saw, e.g. restored from a backup
+        jdbcTemplate.update("""
+                INSERT INTO worklogs (id, employee_id, worklog_type_id, work_date, hours_worked, description, created_at)
+                VALUES (9001, ?, ?, ?, 6, 'Restored', now()), (9002, ?, ?, ?, 2, 'Restored', now())
+                """, employeeId, organization.worklogTypeIds().get(0), week,
+                employeeId, organization.worklogTypeIds().get(1), week.plusDays(2));
+
+        RollupRebuildResponse response = adminController.rebuildRollups().getBody();
+
+        assertThat(response.getRowsWritten()).isEqualTo(2);
+        assertThat(response.getWeeksResealed()).isPositive();
+        SealedWeekStore.SealedPeriod period = sealedWeeks.period(week, week.plusDays(6));
+        assertThat(period.hours(employeeId)).isEqualTo(8);
+        assertThat(period.daysWorked(employeeId)).isEqualTo(2);
+    }
+}
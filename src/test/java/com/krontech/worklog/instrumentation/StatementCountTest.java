@@ -0,0 +1,128 @@
+package com.krontech.worklog.instrumentation;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.dto.response.DashboardResponse;
+import com.krontech.worklog.dto.response.WorklogResponse;
+import com.krontech.worklog.service.DashboardService;
+import com.krontech.worklog.service.WorklogOutboxService;
+import com.krontech.worklog.service.WorklogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static com.krontech.worklog.instrumentation.SqlStatements.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements of the hot paths per role. The organization has two teams of three,
+ * so a query per employee or per team would show up as a changed count.
+ * Each path runs once first, so lazily loaded in-memory data (calendar, sealed weeks) is not counted.
+ * Counting needs worklog.sql-budget.enabled=true, which EmbeddedPostgresTest sets for every test class
+ * so they keep sharing one application context.
+ */
+class StatementCountTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    private TestOrganization organization;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(context.getBean(DataSource.class)).isInstanceOf(InstrumentedDataSource.class);
+        organization = TestOrganization.create(context, 1, 2, 3);
+        for (Integer memberId : organization.memberIds()) {
+            create(memberId, LocalDate.now(), 0);
+            create(memberId, LocalDate.now().minusDays(1), 1);
+        }
+        // Rollups and the caches built on them follow from the outbox - settle them before counting
+        worklogOutbox.drain();
+    }
+
+    @Test
+    void employeeDashboard() {
+        // Account, period totals, type breakdown, recent worklogs
+        assertDashboardStatements(organization.memberIds().get(0), 4);
+    }
+
+    @Test
+    void teamLeadDashboard() {
+        // The employee sections plus one grouped team summary
+        assertDashboardStatements(organization.teamLeadIds().get(0), 5);
+    }
+
+    @Test
+    void directorDashboard() {
+        // The employee sections plus members, team summary, employee hours and type summary of the department
+        DashboardResponse response = assertDashboardStatements(organization.directorIds().get(0), 8);
+        assertThat(response.getTeamLeads()).hasSize(2);
+    }
+
+    @Test
+    void cachedDashboardOnlyLoadsTheAccount() {
+        Integer directorId = organization.directorIds().get(0);
+        dashboardService.getDashboard(directorId, filters());
+
+        assertStatementCount(1, () -> dashboardService.getDashboard(directorId, filters()));
+    }
+
+    @Test
+    void quickStatsForEveryRole() {
+        // Week and today totals - team and department counts come from memory
+        for (Integer employeeId : new Integer[]{organization.memberIds().get(0),
+                organization.teamLeadIds().get(0), organization.directorIds().get(0)}) {
+            dashboardService.getQuickStats(employeeId);
+            assertStatementCount(2, () -> dashboardService.getQuickStats(employeeId));
+        }
+    }
+
+    @Test
+    void createWorklog() {
+        // Day aggregate, insert, outbox lock and insert, compliance recheck after commit - rollups follow from the outbox
+        Integer memberId = organization.memberIds().get(0);
+        WorklogResponse created = assertStatementCount(5, () -> create(memberId, LocalDate.now(), 2));
+        assertThat(created.getId()).isNotNull();
+    }
+
+    private DashboardResponse assertDashboardStatements(Integer employeeId, int expected) {
+        dashboardService.getDashboard(employeeId, filters());
+        dashboardCache.clear();
+        return assertStatementCount(expected, () -> dashboardService.getDashboard(employeeId, filters()));
+    }
+
+    private DashboardFilterRequest filters() {
+        DashboardFilterRequest filters = new DashboardFilterRequest();
+        filters.setStartDate(LocalDate.now().minusDays(29));
+        filters.setEndDate(LocalDate.now());
+        return filters;
+    }
+
+    private WorklogResponse create(Integer employeeId, LocalDate date, int typeIndex) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(organization.worklogTypeIds().get(typeIndex));
+        request.setHoursWorked(2);
+        request.setDescription("Statement count entry");
+        return worklogService.createWorklog(employeeId, request);
+    }
+}
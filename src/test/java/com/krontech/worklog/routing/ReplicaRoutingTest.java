@@ -0,0 +1,221 @@
+package com.krontech.worklog.routing;
+
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.dto.request.WorklogBatchCreateRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.security.UserPrincipal;
+import com.krontech.worklog.service.DashboardService;
+import com.krontech.worklog.service.WorklogOutboxService;
+import com.krontech.worklog.service.WorklogService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two local instances. The replica gets the schema but never any rows, like a
+ * replica that has fallen far behind: a cache load routed there would come back empty, so every
+ * cache below that sees the primary's rows proves it read the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "worklog.datasource.replicas.enabled=true",
+        "worklog.datasource.replicas.sticky-window=1m",
+        // The DDL Hibernate runs on the primary, written out for the replica
+        "spring.jpa.properties.jakarta.persistence.schema-generation.database.action=drop-and-create",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.scripts.action=create",
+        "spring.jpa.properties.hibernate.hbm2ddl.schema-generation.script.append=false",
+        "spring.jpa.properties.hibernate.hbm2ddl.delimiter=;",
+        "logging.level.com.krontech.worklog=WARN"
+})
+class ReplicaRoutingTest {
+
+    private static final EmbeddedPostgres PRIMARY = start();
+    private static final EmbeddedPostgres REPLICA = start();
+    private static final Path REPLICA_SCHEMA = schemaFile();
+    private static boolean replicaSchemaCreated;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PRIMARY.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("worklog.datasource.replicas.urls", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.jpa.properties.jakarta.persistence.schema-generation.scripts.create-target",
+                REPLICA_SCHEMA::toString);
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    @Autowired
+    private DailyComplianceTracker complianceTracker;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    private TestOrganization organization;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        if (!replicaSchemaCreated) {
+            try (Connection replica = REPLICA.getPostgresDatabase().getConnection()) {
+                ScriptUtils.executeSqlScript(replica, new FileSystemResource(REPLICA_SCHEMA));
+            }
+            replicaSchemaCreated = true;
+        }
+        // Reloads every cache, which would already fail if one of them read the replica
+        organization = TestOrganization.create(context, 1, 1, 1);
+    }
+
+    @Test
+    void hikariSettingsApplyToThePrimaryPool() {
+        HikariDataSource primary = (HikariDataSource) replicaPool.primary();
+
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getPoolName()).isEqualTo("primary");
+        assertThat(primary.isReadOnly()).isFalse();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaUnlessTheyArePrimaryReads() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        Integer readOnlyPort = readOnly.execute(status -> serverPort());
+        Integer readWritePort = readWrite.execute(status -> serverPort());
+        Integer primaryReadPort = primaryReads.execute(status -> serverPort());
+        // Inside a replica transaction a primary read gets a transaction of its own
+        List<Integer> nestedPorts = readOnly.execute(status ->
+                List.of(serverPort(), primaryReads.execute(inner -> serverPort())));
+
+        assertThat(readOnlyPort).isEqualTo(REPLICA.getPort());
+        assertThat(readWritePort).isEqualTo(PRIMARY.getPort());
+        assertThat(primaryReadPort).isEqualTo(PRIMARY.getPort());
+        assertThat(nestedPorts).containsExactly(REPLICA.getPort(), PRIMARY.getPort());
+    }
+
+    @Test
+    void cachesRefillFromThePrimaryAfterAWrite() {
+        Integer employeeId = organization.memberIds().get(0);
+        assertThat(complianceTracker.hasLoggedToday(employeeId)).isFalse();
+
+        logFourHours(employeeId);
+
+        assertThat(complianceTracker.hasLoggedToday(employeeId)).isTrue();
+        assertThat(complianceTracker.reconcile().getEmployeesLogged()).isEqualTo(1);
+    }
+
+    @Test
+    void dashboardsReadTheReplicaAndOnlyCacheWhatThePrimaryServed() {
+        Integer employeeId = organization.memberIds().get(0);
+        UserPrincipal employee = new UserPrincipal(employeeId, "member@test", Role.EMPLOYEE,
+                organization.departmentIds().get(0), "Department", organization.teamLeadIds().get(0),
+                "Test", "Member");
+        logFourHours(employeeId);
+        // Dashboards read the rollups, which follow from the outbox
+        worklogOutbox.drain();
+
+        // Nobody has written in this session - the replica answers, and it is behind
+        assertThat(dashboardService.getDashboard(employee, new DashboardFilterRequest())
+                .getPeriodSummary().getTotalHours()).isZero();
+        assertThat(dashboardCache.stats().getSize()).isZero();
+
+        // The employee's own write keeps their reads on the primary for a while, and that answer is cached
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(employee, null, List.of()));
+        try {
+            logFourHours(employeeId);
+            worklogOutbox.drain();
+            assertThat(dashboardService.getDashboard(employee, new DashboardFilterRequest())
+                    .getPeriodSummary().getTotalHours()).isEqualTo(8);
+            assertThat(dashboardCache.stats().getSize()).isEqualTo(1);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void logFourHours(Integer employeeId) {
+        WorklogCreateRequest entry = new WorklogCreateRequest();
+        entry.setWorkDate(LocalDate.now());
+        entry.setWorklogTypeId(organization.worklogTypeIds().get(0));
+        entry.setHoursWorked(4);
+        entry.setDescription("Feature work " + UUID.randomUUID());
+        WorklogBatchCreateRequest batch = new WorklogBatchCreateRequest();
+        batch.setEntries(List.of(entry));
+        worklogService.createWorklogs(employeeId, batch);
+    }
+
+    private int serverPort() {
+        return jdbcTemplate.queryForObject("SELECT inet_server_port()", Integer.class);
+    }
+
+    private static Path schemaFile() {
+        try {
+            Path file = Files.createTempFile("replica-schema", ".sql");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
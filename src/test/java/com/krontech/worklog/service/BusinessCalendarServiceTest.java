@@ -0,0 +1,191 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.cache.DashboardCache;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.cache.OrganizationSnapshot;
+import com.krontech.worklog.dto.projection.HolidayDateProjection;
+import com.krontech.worklog.dto.request.HolidayCreateRequest;
+import com.krontech.worklog.entity.Department;
+import com.krontech.worklog.entity.Holiday;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.repository.DepartmentRepository;
+import com.krontech.worklog.repository.HolidayRepository;
+import com.krontech.worklog.routing.PrimaryReads;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessCalendarServiceTest {
+
+    private static final int DEPARTMENT_ID = 3;
+    private static final int OTHER_DEPARTMENT_ID = 4;
+    private static final int DIRECTOR_ID = 10;
+    private static final int COMPANY_EDITOR_ID = 11;
+
+    private static final LocalDate COMPANY_HOLIDAY = LocalDate.of(2024, 4, 23);
+    private static final LocalDate DEPARTMENT_HOLIDAY = LocalDate.of(2024, 12, 31);
+
+    private final HolidayRepository holidayRepository = mock(HolidayRepository.class);
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final OrganizationHierarchy organizationHierarchy = mock(OrganizationHierarchy.class);
+    private final OrganizationSnapshot organization = mock(OrganizationSnapshot.class);
+
+    private BusinessCalendarService calendar;
+
+    @BeforeEach
+    void setUp() {
+        when(holidayRepository.findAllHolidayDates()).thenReturn(List.of(
+                holiday(COMPANY_HOLIDAY, null),
+                holiday(DEPARTMENT_HOLIDAY, DEPARTMENT_ID)));
+
+        when(organizationHierarchy.snapshotContaining(any(Integer.class))).thenReturn(organization);
+        when(organization.role(DIRECTOR_ID)).thenReturn(Role.DIRECTOR);
+        when(organization.departmentId(DIRECTOR_ID)).thenReturn(DEPARTMENT_ID);
+        when(organization.role(COMPANY_EDITOR_ID)).thenReturn(Role.DIRECTOR);
+        when(organization.departmentId(COMPANY_EDITOR_ID)).thenReturn(OTHER_DEPARTMENT_ID);
+
+        calendar = new BusinessCalendarService(holidayRepository, departmentRepository, mock(DashboardCache.class),
+                organizationHierarchy, mock(JdbcTemplate.class),
+                new PrimaryReads(mock(PlatformTransactionManager.class), false), mock(EntityManagerFactory.class),
+                Set.of(COMPANY_EDITOR_ID));
+    }
+
+    @Test
+    void fullWeekHasFiveWorkingDays() {
+        assertThat(calendar.workingDays(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 10))).isEqualTo(5);
+    }
+
+    @Test
+    void companyHolidayCountsForEveryDepartment() {
+        LocalDate monday = COMPANY_HOLIDAY.with(DayOfWeek.MONDAY);
+        LocalDate sunday = COMPANY_HOLIDAY.with(DayOfWeek.SUNDAY);
+
+        assertThat(calendar.workingDays(monday, sunday)).isEqualTo(4);
+        assertThat(calendar.workingDays(DEPARTMENT_ID, monday, sunday)).isEqualTo(4);
+        assertThat(calendar.isWorkingDay(OTHER_DEPARTMENT_ID, COMPANY_HOLIDAY)).isFalse();
+    }
+
+    @Test
+    void departmentHolidayOnlyCountsForItsDepartment() {
+        assertThat(calendar.isWorkingDay(DEPARTMENT_ID, DEPARTMENT_HOLIDAY)).isFalse();
+        assertThat(calendar.isWorkingDay(OTHER_DEPARTMENT_ID, DEPARTMENT_HOLIDAY)).isTrue();
+        assertThat(calendar.isWorkingDay(null, DEPARTMENT_HOLIDAY)).isTrue();
+    }
+
+    @Test
+    void emptyRangeHasNoWorkingDays() {
+        assertThat(calendar.workingDays(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 4))).isZero();
+    }
+
+    @Test
+    void prefixSumsMatchCountingDayByDay() {
+        Random random = new Random(7);
+        LocalDate origin = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < 500; i++) {
+            // Ranges up to three years, across leap day and both holidays
+            LocalDate start = origin.plusDays(random.nextInt(3 * 366));
+            LocalDate end = start.plusDays(random.nextInt(3 * 366));
+            for (Integer departmentId : new Integer[]{null, DEPARTMENT_ID, OTHER_DEPARTMENT_ID}) {
+                assertThat(calendar.workingDays(departmentId, start, end))
+                        .as("%s to %s in department %s", start, end, departmentId)
+                        .isEqualTo(countDayByDay(departmentId, start, end));
+            }
+        }
+    }
+
+    @Test
+    void directorCannotEditAnotherDepartmentsHolidays() {
+        HolidayCreateRequest request = request(OTHER_DEPARTMENT_ID);
+
+        assertThatThrownBy(() -> calendar.addHoliday(DIRECTOR_ID, request))
+                .hasMessageContaining("permission");
+        verify(holidayRepository, never()).save(any());
+    }
+
+    @Test
+    void directorCannotDeleteCompanyWideHoliday() {
+        Holiday companyWide = Holiday.builder().id(1).holidayDate(COMPANY_HOLIDAY).name("National").build();
+        when(holidayRepository.findById(1)).thenReturn(Optional.of(companyWide));
+
+        assertThatThrownBy(() -> calendar.deleteHoliday(DIRECTOR_ID, 1))
+                .hasMessageContaining("company-wide");
+        verify(holidayRepository, never()).delete(any());
+    }
+
+    @Test
+    void companyEditorCannotAddSecondCompanyHolidayOnSameDate() {
+        when(holidayRepository.existsByHolidayDateAndDepartmentIsNull(COMPANY_HOLIDAY)).thenReturn(true);
+
+        assertThatThrownBy(() -> calendar.addHoliday(COMPANY_EDITOR_ID, request(null)))
+                .hasMessageContaining("already a company-wide holiday");
+    }
+
+    @Test
+    void directorCanAddOwnDepartmentsHoliday() {
+        Department department = Department.builder().id(DEPARTMENT_ID).name("Engineering").build();
+        when(departmentRepository.findById(DEPARTMENT_ID)).thenReturn(Optional.of(department));
+        when(holidayRepository.save(any(Holiday.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // The calendar reloads after commit, so a transaction has to be in progress
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(calendar.addHoliday(DIRECTOR_ID, request(DEPARTMENT_ID)).getDepartmentId())
+                    .isEqualTo(DEPARTMENT_ID);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static long countDayByDay(Integer departmentId, LocalDate start, LocalDate end) {
+        long count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean holiday = date.equals(COMPANY_HOLIDAY)
+                    || (date.equals(DEPARTMENT_HOLIDAY) && Integer.valueOf(DEPARTMENT_ID).equals(departmentId));
+            if (!weekend && !holiday) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static HolidayCreateRequest request(Integer departmentId) {
+        HolidayCreateRequest request = new HolidayCreateRequest();
+        request.setDate(COMPANY_HOLIDAY);
+        request.setName("Holiday");
+        request.setDepartmentId(departmentId);
+        return request;
+    }
+
+    private static HolidayDateProjection holiday(LocalDate date, Integer departmentId) {
+        return new HolidayDateProjection() {
+            @Override
+            public LocalDate getHolidayDate() {
+                return date;
+            }
+
+            @Override
+            public Integer getDepartmentId() {
+                return departmentId;
+            }
+        };
+    }
+}
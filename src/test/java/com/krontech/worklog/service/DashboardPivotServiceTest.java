@@ -0,0 +1,142 @@
+package com.krontech.worklog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.service.DashboardPivotService.Dimension;
+import com.krontech.worklog.service.DashboardPivotService.PivotQuery;
+import com.krontech.worklog.service.WorklogExportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DashboardPivotServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DashboardPivotService pivotService;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestOrganization organization;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        // Two teams of two, the team leads log work too and have no team lead of their own
+        organization = TestOrganization.create(context, 1, 2, 2);
+        today = LocalDate.now();
+        create(organization.memberIds().get(0), today, 0, 4);
+        create(organization.memberIds().get(0), today.minusDays(1), 1, 2);
+        create(organization.memberIds().get(2), today, 0, 3);
+        create(organization.teamLeadIds().get(0), today, 2, 1);
+        worklogOutbox.drain();
+    }
+
+    @Test
+    void sqlJoinsOnlyWhatTheDimensionsNeed() {
+        String byTypeAndDate = DashboardPivotService.sql(query(Dimension.WORKLOG_TYPE, Dimension.DATE));
+        assertThat(byTypeAndDate).doesNotContain("JOIN")
+                .endsWith(" GROUP BY r.worklog_type_id, r.work_date ORDER BY r.worklog_type_id, r.work_date");
+
+        String byEmployee = DashboardPivotService.sql(query(Dimension.EMPLOYEE));
+        assertThat(byEmployee).contains(" JOIN employees e ON e.id = r.employee_id")
+                .doesNotContain("employees tl")
+                .contains(" GROUP BY r.employee_id, e.first_name || ' ' || e.last_name ORDER BY ");
+
+        // The team lead is optional, so team leads' own hours are kept under an empty team
+        String byTeamAndType = DashboardPivotService.sql(query(Dimension.TEAM, Dimension.WORKLOG_TYPE));
+        assertThat(byTeamAndType).contains(" JOIN employees e ON e.id = r.employee_id"
+                        + " LEFT JOIN employees tl ON tl.id = e.team_lead_id")
+                .contains(" GROUP BY e.team_lead_id, tl.first_name || ' ' || tl.last_name, r.worklog_type_id"
+                        + " ORDER BY e.team_lead_id, tl.first_name || ' ' || tl.last_name, r.worklog_type_id");
+    }
+
+    @Test
+    void everyPairOfDimensionsRunsAndAddsUpToTheSameHours() throws IOException {
+        List<String> keys = List.of("employee", "team", "worklogType", "date");
+        for (String first : keys) {
+            for (String second : keys) {
+                if (first.equals(second)) {
+                    continue;
+                }
+                List<JsonNode> rows = pivot(first, second);
+                assertThat(rows.stream().mapToLong(row -> row.get("hours").asLong()).sum())
+                        .as("%s, %s", first, second)
+                        .isEqualTo(10);
+            }
+        }
+    }
+
+    @Test
+    void teamPivotGroupsByTeamLeadAndTypeInOrder() throws IOException {
+        List<JsonNode> rows = pivot("team", "worklogType");
+
+        List<Integer> types = organization.worklogTypeIds();
+        List<Integer> teamLeads = organization.teamLeadIds();
+        // NULL sorts last - the team lead's own entry comes after both teams
+        assertThat(rows).extracting(row -> row.get("teamLeadId").isNull() ? null : row.get("teamLeadId").asInt(),
+                        row -> row.get("worklogTypeId").asInt(), row -> row.get("hours").asLong())
+                .containsExactly(
+                        tuple(teamLeads.get(0), types.get(0), 4L),
+                        tuple(teamLeads.get(0), types.get(1), 2L),
+                        tuple(teamLeads.get(1), types.get(0), 3L),
+                        tuple(null, types.get(2), 1L));
+        assertThat(rows.get(0).get("worklogType").asText()).isEqualTo("Development");
+    }
+
+    private List<JsonNode> pivot(String... groupBy) throws IOException {
+        DashboardFilterRequest filters = new DashboardFilterRequest();
+        filters.setStartDate(today.minusDays(6));
+        filters.setEndDate(today);
+        filters.setGroupBy(String.join(",", groupBy));
+        PivotQuery query = pivotService.prepare(organization.directorIds().get(0), filters);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        pivotService.stream(query, Format.NDJSON).writeTo(output);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private PivotQuery query(Dimension... dimensions) {
+        return new PivotQuery(List.of(dimensions), new int[]{organization.memberIds().get(0)},
+                today, today, "test");
+    }
+
+    private void create(Integer employeeId, LocalDate date, int typeIndex, int hours) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(organization.worklogTypeIds().get(typeIndex));
+        request.setHoursWorked(hours);
+        request.setDescription("Pivot test entry");
+        worklogService.createWorklog(employeeId, request);
+    }
+}
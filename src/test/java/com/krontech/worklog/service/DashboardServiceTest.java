@@ -0,0 +1,81 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.dto.request.DashboardFilterRequest;
+import com.krontech.worklog.dto.response.DashboardResponse;
+import com.krontech.worklog.dto.response.DashboardResponse.TeamLeadSummary;
+import com.krontech.worklog.repository.EmployeeRepository;
+import com.krontech.worklog.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The session keeps the principal from login - role and department still follow the organization
+class DashboardServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OrganizationHierarchy organizationHierarchy;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+    private Integer directorId;
+    private UserPrincipal atLogin;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 2, 1, 1);
+        directorId = organization.directorIds().get(0);
+        atLogin = employeeRepository.findAccountById(directorId).map(UserPrincipal::from).orElseThrow();
+    }
+
+    @Test
+    void movedDirectorSeesTheNewDepartment() {
+        assertThat(teamLeadIds(dashboardService.getDashboard(atLogin, new DashboardFilterRequest())))
+                .containsExactly(organization.teamLeadIds().get(0));
+
+        jdbcTemplate.update("UPDATE employees SET department_id = ? WHERE id = ?",
+                organization.departmentIds().get(1), directorId);
+        organizationHierarchy.rebuild();
+
+        DashboardResponse dashboard = dashboardService.getDashboard(atLogin, new DashboardFilterRequest());
+        assertThat(teamLeadIds(dashboard)).containsExactly(organization.teamLeadIds().get(1));
+        assertThat(dashboard.getCurrentUser().getDepartment()).isEqualTo("Department 1");
+    }
+
+    @Test
+    void demotedDirectorLosesTheDepartmentSection() {
+        assertThat(dashboardService.getDashboard(atLogin, new DashboardFilterRequest()).getDepartmentStats())
+                .isNotNull();
+
+        jdbcTemplate.update("UPDATE employees SET role = 'EMPLOYEE' WHERE id = ?", directorId);
+        organizationHierarchy.rebuild();
+
+        DashboardResponse dashboard = dashboardService.getDashboard(atLogin, new DashboardFilterRequest());
+        assertThat(dashboard.getDepartmentStats()).isNull();
+        assertThat(dashboard.getTeamLeads()).isNull();
+        assertThat(dashboard.getCurrentUser().getRole()).isEqualTo("Employee");
+    }
+
+    private static List<Integer> teamLeadIds(DashboardResponse dashboard) {
+        return dashboard.getTeamLeads().stream().map(TeamLeadSummary::getId).toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.krontech.worklog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krontech.worklog.cache.DailyComplianceTracker;
+import com.krontech.worklog.cache.OrganizationHierarchy;
+import com.krontech.worklog.entity.Role;
+import com.krontech.worklog.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class QuickStatsFeedTest {
+
+    private static final UserPrincipal TEAM_LEAD =
+            new UserPrincipal(3, "lead@test", Role.TEAM_LEAD, 1, "Engineering", null, "Team", "Lead");
+
+    private final QuickStatsFeed feed = new QuickStatsFeed(mock(OrganizationHierarchy.class),
+            mock(DailyComplianceTracker.class), new ObjectMapper(), 1, Duration.ofMinutes(1));
+
+    @AfterEach
+    void shutDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void failedInitialStatsLeaveNoSubscription() {
+        assertThatThrownBy(() -> feed.subscribe(TEAM_LEAD, () -> {
+            throw new RuntimeException("Employee not found");
+        })).hasMessage("Employee not found");
+
+        assertThat(feed.subscriberCount()).isZero();
+        // The only slot is free again
+        assertThat(feed.subscribe(TEAM_LEAD, () -> "stats")).isNotNull();
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.dto.request.WorklogBatchCreateRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.dto.response.WorklogBatchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The timesheet batch is all or nothing - worklogs and outbox rows are written together or not at all
+class WorklogBatchTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+    private Integer employeeId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 1, 1, 1);
+        employeeId = organization.memberIds().get(0);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void validBatchSavesEveryEntry() {
+        WorklogBatchResponse response = worklogService.createWorklogs(employeeId, batch(
+                entry(today, 0, 4, "Feature work"),
+                entry(today, 0, 2, "Code cleanup"),
+                entry(today.minusDays(1), 1, 3, "Reviews")));
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getCreated()).hasSize(3);
+        assertThat(count("worklogs")).isEqualTo(3);
+        assertThat(count("worklog_outbox")).isEqualTo(3);
+        // Entries of the same bucket share one rollup row once the outbox has delivered them
+        worklogOutbox.drain();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT total_hours FROM worklog_daily_rollups
+                WHERE employee_id = ? AND work_date = ? AND worklog_type_id = ?
+                """, Integer.class, employeeId, today, organization.worklogTypeIds().get(0))).isEqualTo(6);
+    }
+
+    @Test
+    void invalidEntriesRejectTheWholeBatchAndAreReportedByIndex() {
+        WorklogBatchResponse response = worklogService.createWorklogs(employeeId, batch(
+                entry(today, 0, 8, "Feature work"),
+                entry(today.plusDays(1), 0, 2, "Planned work"),
+                entry(today, 1, 2, "Reviews"),
+                // 8 + 2 accepted before it, so 4 more breaks the 12 hour day
+                entry(today, 2, 4, "Meetings")));
+
+        assertThat(response.getCreated()).isEmpty();
+        assertThat(response.getErrors()).extracting(WorklogBatchResponse.EntryError::getIndex)
+                .containsExactly(1, 3);
+        assertThat(count("worklogs")).isZero();
+        assertThat(count("worklog_daily_rollups")).isZero();
+        assertThat(count("worklog_outbox")).isZero();
+    }
+
+    @Test
+    void failureAfterTheInsertsRollsEverythingBack() {
+        // Valid entries, but the outbox insert fails once the worklogs are already flushed
+        jdbcTemplate.execute("ALTER TABLE worklog_outbox ADD CONSTRAINT test_small_entries CHECK (after_hours < 3)");
+        try {
+            assertThatThrownBy(() -> worklogService.createWorklogs(employeeId, batch(
+                    entry(today, 0, 3, "Feature work"),
+                    entry(today, 0, 3, "Code cleanup"))))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE worklog_outbox DROP CONSTRAINT test_small_entries");
+        }
+
+        assertThat(count("worklogs")).isZero();
+        assertThat(count("worklog_daily_rollups")).isZero();
+        assertThat(count("worklog_outbox")).isZero();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static WorklogBatchCreateRequest batch(WorklogCreateRequest... entries) {
+        WorklogBatchCreateRequest request = new WorklogBatchCreateRequest();
+        request.setEntries(List.of(entries));
+        return request;
+    }
+
+    private WorklogCreateRequest entry(LocalDate date, int typeIndex, int hours, String description) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(organization.worklogTypeIds().get(typeIndex));
+        request.setHoursWorked(hours);
+        request.setDescription(description);
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.dto.request.WorklogBatchCreateRequest;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rollups are maintained from the outbox - a failed batch is rolled back as a whole and delivered again
+class WorklogOutboxServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    @Autowired
+    private WorklogRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+    private Integer employeeId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 1, 1, 1);
+        employeeId = organization.memberIds().get(0);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void failedBatchIsRolledBackAndRedeliveredOnce() {
+        // The second bucket breaks the upsert, after the first one was already written in the same batch
+        jdbcTemplate.execute("ALTER TABLE worklog_daily_rollups ADD CONSTRAINT test_small_buckets CHECK (total_hours < 5)");
+        try {
+            // One commit, so the three events are delivered as one batch
+            WorklogBatchCreateRequest batch = new WorklogBatchCreateRequest();
+            batch.setEntries(List.of(entry(0, 3, "Feature work"), entry(1, 2, "Reviews"), entry(1, 4, "More reviews")));
+            worklogService.createWorklogs(employeeId, batch);
+
+            assertThat(worklogOutbox.drain()).isZero();
+            assertThat(worklogOutbox.status().getPendingEvents()).isEqualTo(3);
+            assertThat(worklogOutbox.status().getFailedBatchesSinceStart()).isPositive();
+            assertThat(count("worklog_daily_rollups")).isZero();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE worklog_daily_rollups DROP CONSTRAINT test_small_buckets");
+        }
+
+        worklogOutbox.drain();
+
+        assertThat(worklogOutbox.status().getPendingEvents()).isZero();
+        assertThat(hours(0)).isEqualTo(3);
+        assertThat(hours(1)).isEqualTo(6);
+        assertThat(rollupService.checkConsistency().getConsistent()).isTrue();
+    }
+
+    @Test
+    void rebuildDeliversPendingEventsBeforeTheBackfill() {
+        create(0, 3, "Feature work");
+
+        rollupService.rebuild();
+
+        // Delivered inside the rebuild, so a later drain has nothing left to add on top of the backfill
+        assertThat(worklogOutbox.status().getPendingEvents()).isZero();
+        worklogOutbox.drain();
+        assertThat(hours(0)).isEqualTo(3);
+    }
+
+    private void create(int typeIndex, int hours, String description) {
+        worklogService.createWorklog(employeeId, entry(typeIndex, hours, description));
+    }
+
+    private WorklogCreateRequest entry(int typeIndex, int hours, String description) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(today);
+        request.setWorklogTypeId(organization.worklogTypeIds().get(typeIndex));
+        request.setHoursWorked(hours);
+        request.setDescription(description);
+        return request;
+    }
+
+    private Integer hours(int typeIndex) {
+        return jdbcTemplate.queryForObject("""
+                SELECT total_hours FROM worklog_daily_rollups
+                WHERE employee_id = ? AND work_date = ? AND worklog_type_id = ?
+                """, Integer.class, employeeId, today, organization.worklogTypeIds().get(typeIndex));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
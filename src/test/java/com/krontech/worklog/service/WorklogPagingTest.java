@@ -0,0 +1,142 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.dto.response.WorklogPageResponse;
+import com.krontech.worklog.dto.response.WorklogResponse;
+import com.krontech.worklog.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Keyset pages of team worklogs on (workDate, id) descending
+class WorklogPagingTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+    private Integer teamLeadId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 1, 1, 2);
+        teamLeadId = organization.teamLeadIds().get(0);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void pagesServeEveryRowOnceAcrossTiesOnWorkDate() {
+        // Several rows share each work date, so the id has to break the ties
+        for (int day = 0; day < 3; day++) {
+            for (Integer memberId : organization.memberIds()) {
+                log(memberId, today.minusDays(day), 0);
+                log(memberId, today.minusDays(day), 1);
+            }
+        }
+        log(organization.memberIds().get(0), today.minusDays(3), 2);
+
+        List<Integer> served = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        WorklogPageResponse page;
+        do {
+            page = worklogService.getTeamWorklogs(teamLeadId, today.minusDays(6), today, null, cursor, 5);
+            page.getItems().forEach(item -> served.add(item.getId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (page.getHasMore());
+
+        assertThat(pageSizes).containsExactly(5, 5, 3);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(served).containsExactlyElementsOf(jdbcTemplate.queryForList(
+                "SELECT id FROM worklogs ORDER BY work_date DESC, id DESC", Integer.class));
+    }
+
+    @Test
+    void fullLastPageReportsNoMoreRows() {
+        for (int i = 0; i < 3; i++) {
+            log(organization.memberIds().get(0), today, i);
+            log(organization.memberIds().get(1), today, i);
+        }
+
+        WorklogPageResponse first = worklogService.getTeamWorklogs(teamLeadId, today, today, null, null, 3);
+        assertThat(first.getItems()).hasSize(3);
+        assertThat(first.getHasMore()).isTrue();
+
+        // Exactly three rows are left - the extra probe row finds nothing, so no empty page follows
+        WorklogPageResponse second = worklogService.getTeamWorklogs(
+                teamLeadId, today, today, null, first.getNextCursor(), 3);
+        assertThat(second.getItems()).hasSize(3);
+        assertThat(second.getHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void firstPageStartsAtTheEndDateInclusive() {
+        Integer memberId = organization.memberIds().get(0);
+        log(memberId, today, 0);
+        log(memberId, today.minusDays(1), 0);
+        log(memberId, today.minusDays(2), 0);
+
+        WorklogPageResponse page = worklogService.getTeamWorklogs(
+                teamLeadId, today.minusDays(2), today.minusDays(1), null, null, 10);
+
+        assertThat(page.getItems()).extracting(WorklogResponse::getWorkDate)
+                .containsExactly(today.minusDays(1), today.minusDays(2));
+        assertThat(page.getHasMore()).isFalse();
+    }
+
+    @Test
+    void cursorEncodesTheLastServedPosition() {
+        Integer memberId = organization.memberIds().get(0);
+        log(memberId, today, 0);
+        log(memberId, today, 1);
+
+        WorklogPageResponse page = worklogService.getTeamWorklogs(teamLeadId, today, today, memberId, null, 1);
+        WorklogResponse last = page.getItems().get(0);
+
+        assertThat(page.getNextCursor()).doesNotContain("=", "+", "/");
+        assertThat(new String(Base64.getUrlDecoder().decode(page.getNextCursor()), StandardCharsets.UTF_8))
+                .isEqualTo(last.getWorkDate() + ":" + last.getId());
+    }
+
+    @Test
+    void malformedCursorAndPageSizeAreRejected() {
+        assertThatThrownBy(() -> worklogService.getTeamWorklogs(teamLeadId, today, today, null, "not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid page cursor");
+        assertThatThrownBy(() -> worklogService.getTeamWorklogs(teamLeadId, today, today, null, null, 0))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> worklogService.getTeamWorklogs(teamLeadId, today, today, null, null, 501))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private void log(Integer employeeId, LocalDate date, int typeIndex) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(organization.worklogTypeIds().get(typeIndex));
+        request.setHoursWorked(2);
+        request.setDescription("Paging test entry " + typeIndex);
+        worklogService.createWorklog(employeeId, request);
+    }
+}
@@ -0,0 +1,113 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Converts a plain worklogs table, as an older deployment has it, and checks nothing is lost on the way
+class WorklogPartitionServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorklogPartitionService partitionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestOrganization organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = TestOrganization.create(context, 1, 1, 1);
+    }
+
+    @Test
+    void convertsPlainTableKeepingRowsAndConstraints() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dates = List.of(today.minusMonths(5), today.minusMonths(5).plusDays(1),
+                today.minusMonths(2), today);
+        replaceWithPlainTable(dates);
+
+        partitionService.initialize();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT CAST(relkind AS VARCHAR) FROM pg_class WHERE oid = CAST('worklogs' AS regclass)",
+                String.class)).isEqualTo("p");
+        assertThat(count("worklogs")).isEqualTo(dates.size());
+        assertThat(count("worklogs_default")).isZero();
+        assertThat(count(partition(today.minusMonths(5)))).isEqualTo(2);
+        assertThat(count(partition(today.minusMonths(2)))).isEqualTo(1);
+        assertThat(count(partition(today))).isEqualTo(1);
+
+        assertThat(constraints("p")).containsExactly("worklogs_pkey");
+        assertThat(constraints("f")).containsExactlyInAnyOrder("fk_worklogs_employee", "fk_worklogs_worklog_type");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'worklogs'", String.class))
+                .contains("idx_worklogs_employee_work_date_id", "idx_worklogs_work_date_id");
+    }
+
+    @Test
+    void backdatedEntryLandsInDefaultPartitionUntilMaintained() {
+        // Older than any partition created at startup
+        LocalDate backdated = LocalDate.now().minusYears(2);
+        insert(9001, backdated);
+
+        assertThat(count("worklogs_default")).isEqualTo(1);
+        assertThat(partitionService.status().getDefaultPartitionRows()).isEqualTo(1);
+
+        partitionService.maintain();
+
+        assertThat(count("worklogs_default")).isZero();
+        assertThat(count(partition(backdated))).isEqualTo(1);
+        assertThat(count("worklogs")).isEqualTo(1);
+        assertThat(partitionService.status().getHotMonths()).contains(YearMonth.from(backdated).toString());
+    }
+
+    // Swap the partitioned table for a plain one with Hibernate's keys, as before the partitioning
+    private void replaceWithPlainTable(List<LocalDate> dates) {
+        jdbcTemplate.execute("DROP TABLE worklogs");
+        jdbcTemplate.execute("CREATE TABLE worklogs (LIKE worklogs_archive)");
+        jdbcTemplate.execute("ALTER TABLE worklogs ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("ALTER TABLE worklogs ADD FOREIGN KEY (employee_id) REFERENCES employees (id)");
+        jdbcTemplate.execute("ALTER TABLE worklogs ADD FOREIGN KEY (worklog_type_id) REFERENCES worklog_types (id)");
+        jdbcTemplate.execute("CREATE INDEX idx_worklogs_employee_work_date_id ON worklogs (employee_id, work_date, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_worklogs_work_date_id ON worklogs (work_date, id)");
+        for (int i = 0; i < dates.size(); i++) {
+            insert(9000 + i, dates.get(i));
+        }
+    }
+
+    private void insert(int id, LocalDate workDate) {
+        jdbcTemplate.update("""
+                INSERT INTO worklogs (id, employee_id, worklog_type_id, work_date, hours_worked, description, created_at)
+                VALUES (?, ?, ?, ?, 4, 'Imported', now())
+                """, id, organization.memberIds().get(0), organization.worklogTypeIds().get(0), workDate);
+    }
+
+    private List<String> constraints(String type) {
+        return jdbcTemplate.queryForList("""
+                SELECT conname FROM pg_constraint
+                WHERE conrelid = CAST('worklogs' AS regclass) AND contype = CAST(? AS "char")
+                """, String.class, type);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static String partition(LocalDate date) {
+        return String.format("worklogs_p%d_%02d", date.getYear(), date.getMonthValue());
+    }
+}
@@ -0,0 +1,135 @@
+package com.krontech.worklog.service;
+
+import com.krontech.worklog.EmbeddedPostgresTest;
+import com.krontech.worklog.TestOrganization;
+import com.krontech.worklog.dto.request.WorklogCreateRequest;
+import com.krontech.worklog.dto.request.WorklogUpdateRequest;
+import com.krontech.worklog.dto.response.RollupConsistencyResponse;
+import com.krontech.worklog.dto.response.WorklogResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorklogRollupServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private WorklogRollupService rollupService;
+
+    @Autowired
+    private WorklogOutboxService worklogOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer employeeId;
+    private Integer development;
+    private Integer meetings;
+
+    @BeforeEach
+    void setUp() {
+        TestOrganization organization = TestOrganization.create(context, 1, 1, 1);
+        employeeId = organization.memberIds().get(0);
+        development = organization.worklogTypeIds().get(0);
+        meetings = organization.worklogTypeIds().get(2);
+    }
+
+    @Test
+    void entriesOfTheSameBucketAreUpsertedIntoOneRow() {
+        LocalDate today = LocalDate.now();
+        create(today, development, 3, "Feature implementation");
+        create(today, development, 2, "Bug fix for login");
+        create(today, meetings, 1, "Daily standup meeting");
+
+        assertThat(rollup(today, development)).containsEntry("total_hours", 5).containsEntry("entry_count", 2);
+        assertThat(rollup(today, meetings)).containsEntry("total_hours", 1).containsEntry("entry_count", 1);
+        assertThat(rollupService.checkConsistency().getConsistent()).isTrue();
+    }
+
+    @Test
+    void updateMovesHoursBetweenBucketsAndDeleteRemovesEmptyRows() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        WorklogResponse created = create(today, development, 3, "Feature implementation");
+
+        // Same bucket - only the hours change
+        update(created.getId(), today, development, 5);
+        assertThat(rollup(today, development)).containsEntry("total_hours", 5).containsEntry("entry_count", 1);
+
+        // Another day and type - out of the old bucket, into the new one
+        update(created.getId(), yesterday, meetings, 4);
+        assertThat(rollups(today, development)).isEmpty();
+        assertThat(rollup(yesterday, meetings)).containsEntry("total_hours", 4).containsEntry("entry_count", 1);
+
+        worklogService.deleteWorklog(created.getId(), employeeId);
+        assertThat(rollups(yesterday, meetings)).isEmpty();
+        assertThat(rollupService.checkConsistency().getConsistent()).isTrue();
+    }
+
+    @Test
+    void consistencyCheckReportsDriftAndRebuildRepairsIt() {
+        LocalDate today = LocalDate.now();
+        create(today, development, 3, "Feature implementation");
+        worklogOutbox.drain();
+        jdbcTemplate.update("UPDATE worklog_daily_rollups SET total_hours = 7 WHERE employee_id = ?", employeeId);
+
+        RollupConsistencyResponse drifted = rollupService.checkConsistency();
+        assertThat(drifted.getConsistent()).isFalse();
+        assertThat(drifted.getMismatches()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.getEmployeeId()).isEqualTo(employeeId);
+            assertThat(mismatch.getWorkDate()).isEqualTo(today);
+            assertThat(mismatch.getRollupHours()).isEqualTo(7);
+            assertThat(mismatch.getActualHours()).isEqualTo(3);
+        });
+
+        rollupService.rebuild();
+        assertThat(rollupService.checkConsistency().getConsistent()).isTrue();
+        assertThat(rollup(today, development)).containsEntry("total_hours", 3);
+    }
+
+    private WorklogResponse create(LocalDate date, Integer typeId, int hours, String description) {
+        WorklogCreateRequest request = new WorklogCreateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(typeId);
+        request.setHoursWorked(hours);
+        request.setDescription(description);
+        return worklogService.createWorklog(employeeId, request);
+    }
+
+    private void update(Integer worklogId, LocalDate date, Integer typeId, int hours) {
+        WorklogUpdateRequest request = new WorklogUpdateRequest();
+        request.setWorkDate(date);
+        request.setWorklogTypeId(typeId);
+        request.setHoursWorked(hours);
+        request.setDescription("Updated description");
+        worklogService.updateWorklog(worklogId, employeeId, request);
+    }
+
+    private Map<String, Object> rollup(LocalDate date, Integer typeId) {
+        List<Map<String, Object>> rows = rollups(date, typeId);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    // Rollups follow the outbox, so deliver what is pending first
+    private List<Map<String, Object>> rollups(LocalDate date, Integer typeId) {
+        worklogOutbox.drain();
+        return jdbcTemplate.queryForList("""
+                SELECT total_hours, entry_count FROM worklog_daily_rollups
+                WHERE employee_id = ? AND work_date = ? AND worklog_type_id = ?
+                """, employeeId, date, typeId);
+    }
+}